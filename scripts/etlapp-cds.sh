@@ -0,0 +1,109 @@
+#!/usr/bin/env bash
+#
+# Builds an AppCDS archive for the Assignment 3 ETL pipeline and, optionally,
+# benchmarks cold launches against archived ones.
+#
+# Usage (from the repository root):
+#   scripts/etlapp-cds.sh            # compile classes and dump out/etlapp.jsa
+#   scripts/etlapp-cds.sh bench [N]  # ...then time N launches of each mode
+#   scripts/etlapp-cds.sh run        # run ETLApp from the archive
+#
+# Requires JDK 21 or later: ETLJobRunner uses virtual threads.  The tools come
+# from $JAVA_HOME/bin when JAVA_HOME is set, otherwise from PATH.
+#
+# The archive is created with -XX:ArchiveClassesAtExit (JDK 13+), which
+# records every class loaded by a training run of ETLApp on data/products.csv.
+# Later launches map the pre-parsed classes instead of loading and verifying
+# them from the jar/class files again.  The archive is only valid for the
+# exact JDK and classpath used to build it, so rebuild after either changes.
+#
+# The training run and the benchmark launches work in a temporary directory
+# holding a copy of data/products.csv, so they never overwrite the tracked
+# data/transformed_products.csv.  Only "run" writes the real output.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MIN_JDK=21
+if [ -n "${JAVA_HOME:-}" ]; then
+    JAVA="$JAVA_HOME/bin/java"
+    JAVAC="$JAVA_HOME/bin/javac"
+    JAR_TOOL="$JAVA_HOME/bin/jar"
+else
+    JAVA=java
+    JAVAC=javac
+    JAR_TOOL=jar
+fi
+
+# "java -version" prints e.g. 'openjdk version "21.0.1" ...' or '"1.8.0_392"'.
+jdk_version=$("$JAVA" -version 2>&1 | sed -n 's/.* version "\([0-9]*\).*/\1/p' | head -n 1)
+if [ -z "$jdk_version" ] || [ "$jdk_version" -lt "$MIN_JDK" ]; then
+    echo "$0: needs JDK $MIN_JDK or later, but $JAVA is version ${jdk_version:-unknown};" \
+        "set JAVA_HOME to a JDK $MIN_JDK installation" >&2
+    exit 1
+fi
+
+OUT_DIR="$PWD/out"
+CLASSES_DIR="$OUT_DIR/classes"
+# CDS refuses non-empty directories on the classpath, so launches use a jar.
+# Paths are absolute so launches from the scratch directory match the
+# classpath recorded in the archive.
+JAR="$OUT_DIR/etlapp.jar"
+ARCHIVE="$OUT_DIR/etlapp.jsa"
+MAIN_CLASS=org.howard.edu.lsp.assignment3.ETLApp
+
+# Flags that trade peak performance for startup; the feeds are tiny, so C2
+# never gets a chance to pay for itself.
+FAST_START_FLAGS="-XX:TieredStopAtLevel=1 -XX:+UseSerialGC -Xss512k"
+
+# Runs a command in a fresh directory containing only data/products.csv,
+# then deletes the directory.
+in_scratch_dir() {
+    local work status=0
+    work=$(mktemp -d)
+    mkdir "$work/data"
+    cp data/products.csv "$work/data/"
+    (cd "$work" && "$@") || status=$?
+    rm -rf "$work"
+    return "$status"
+}
+
+build() {
+    rm -rf "$CLASSES_DIR"
+    mkdir -p "$CLASSES_DIR"
+    # The tests need JUnit, which is not on this classpath.
+    local sources=()
+    for f in src/org/howard/edu/lsp/assignment3/*.java; do
+        case "$f" in
+            *Test.java) ;;
+            *) sources+=("$f") ;;
+        esac
+    done
+    "$JAVAC" -d "$CLASSES_DIR" "${sources[@]}"
+    "$JAR_TOOL" --create --file "$JAR" -C "$CLASSES_DIR" .
+    # Training run: writes the dynamic archive when the JVM exits.
+    in_scratch_dir "$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$JAR" "$MAIN_CLASS" > /dev/null
+    echo "AppCDS archive written to: $ARCHIVE"
+}
+
+case "${1:-build}" in
+    build)
+        build
+        ;;
+    run)
+        [ -f "$ARCHIVE" ] || build
+        # shellcheck disable=SC2086
+        exec "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" $FAST_START_FLAGS -cp "$JAR" "$MAIN_CLASS"
+        ;;
+    bench)
+        build
+        # shellcheck disable=SC2086
+        in_scratch_dir "$JAVA" -cp "$JAR" org.howard.edu.lsp.assignment3.StartupBenchmark \
+            "$JAR" "$ARCHIVE" "${2:-20}" $FAST_START_FLAGS
+        ;;
+    *)
+        echo "Usage: $0 [build | run | bench [N]]" >&2
+        exit 1
+        ;;
+esac
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+#
+# Compiles the Assignment 6 set library together with the Vector API kernels.
+#
+# Usage (from the repository root):
+#   scripts/vector-kernels.sh        # compile into out/vector-classes
+#
+# VectorSetKernels uses the incubating jdk.incubator.vector module (JDK 16+),
+# which javac only resolves with --add-modules, so it lives in its own source
+# root, src-vector/, and the rest of src/ compiles without the flag.  This
+# script compiles the library sources from src/ first, then src-vector/
+# against them into the same class directory.  Run with
+#
+#   java --add-modules jdk.incubator.vector -cp out/vector-classes ...
+#
+# and SetKernels.INSTANCE picks the vector kernels; without the flag, or with
+# -Dorg.howard.edu.lsp.assignment6.vector=false, it stays scalar.  The tests
+# and benchmarks need JUnit and JMH on the classpath and are not built here.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CLASSES_DIR="$PWD/out/vector-classes"
+PACKAGE_DIR=org/howard/edu/lsp/assignment6
+
+build() {
+    rm -rf "$CLASSES_DIR"
+    mkdir -p "$CLASSES_DIR"
+    local sources=()
+    for f in src/$PACKAGE_DIR/*.java; do
+        case "$f" in
+            *Test.java | *Benchmark.java) ;;
+            *) sources+=("$f") ;;
+        esac
+    done
+    javac -d "$CLASSES_DIR" "${sources[@]}"
+    javac --add-modules jdk.incubator.vector -d "$CLASSES_DIR" -cp "$CLASSES_DIR" \
+        src-vector/$PACKAGE_DIR/*.java
+    echo "Classes written to: $CLASSES_DIR"
+}
+
+case "${1:-build}" in
+    build)
+        build
+        ;;
+    *)
+        echo "Usage: $0 [build]" >&2
+        exit 1
+        ;;
+esac
@@ -0,0 +1,149 @@
+package org.howard.edu.lsp.assignment6;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link SetKernels} written with the incubating Vector API, in the
+ * widest shape the CPU supports: 256-bit vectors on AVX2, 512-bit on
+ * AVX-512. Loaded by {@link SetKernels#INSTANCE} only when the JVM runs
+ * with {@code --add-modules jdk.incubator.vector}. Compiling this file
+ * needs the same flag, so it sits in its own source root, compiled after
+ * src/ by scripts/vector-kernels.sh.
+ *
+ * <p>The word kernels count bits with a lane-wise popcount as they go, so
+ * an operation and the cardinality of its result take one pass. The
+ * intersection compares a block of each array against every rotation of
+ * the other block, keeps the matching lanes with a compress, and advances
+ * whichever block ends lower. Leftovers shorter than a vector go to the
+ * scalar kernels.</p>
+ *
+ * <p>C2 already compiles the scalar word loops to SIMD code, and large
+ * bitmaps are limited by memory bandwidth, so the word kernels run about
+ * as fast as the scalar ones. The intersection is where the gain is: the
+ * scalar merge mispredicts a branch on most steps.</p>
+ */
+final class VectorSetKernels extends SetKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * ROTATIONS[r] moves lane (k + r) mod length to lane k. Java has no
+     * generic arrays, so uses recover the element type with check(INTS).
+     */
+    private static final VectorShuffle<?>[] ROTATIONS = rotations();
+
+    private static VectorShuffle<?>[] rotations() {
+        VectorShuffle<?>[] rotations = new VectorShuffle<?>[INTS.length()];
+        for (int r = 0; r < rotations.length; r++) {
+            rotations[r] = VectorShuffle.iota(INTS, r, 1, true);
+        }
+        return rotations;
+    }
+
+    @Override
+    String name() {
+        return "vector " + LONGS.vectorBitSize() + "-bit";
+    }
+
+    // The three word kernels are spelled out rather than sharing a loop with
+    // the operator as a parameter: C2 only compiles the vector operations to
+    // SIMD instructions when the operator is a constant.
+
+    @Override
+    int or(long[] a, int aFrom, long[] b, int bFrom, long[] out, int outFrom, int n) {
+        LongVector counts = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector word = LongVector.fromArray(LONGS, a, aFrom + i)
+                    .or(LongVector.fromArray(LONGS, b, bFrom + i));
+            word.intoArray(out, outFrom + i);
+            counts = counts.add(word.lanewise(VectorOperators.BIT_COUNT));
+        }
+        return Math.toIntExact(counts.reduceLanes(VectorOperators.ADD))
+                + super.or(a, aFrom + i, b, bFrom + i, out, outFrom + i, n - i);
+    }
+
+    @Override
+    int and(long[] a, int aFrom, long[] b, int bFrom, long[] out, int outFrom, int n) {
+        LongVector counts = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector word = LongVector.fromArray(LONGS, a, aFrom + i)
+                    .and(LongVector.fromArray(LONGS, b, bFrom + i));
+            word.intoArray(out, outFrom + i);
+            counts = counts.add(word.lanewise(VectorOperators.BIT_COUNT));
+        }
+        return Math.toIntExact(counts.reduceLanes(VectorOperators.ADD))
+                + super.and(a, aFrom + i, b, bFrom + i, out, outFrom + i, n - i);
+    }
+
+    @Override
+    int andNot(long[] a, int aFrom, long[] b, int bFrom, long[] out, int outFrom, int n) {
+        LongVector counts = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector word = LongVector.fromArray(LONGS, a, aFrom + i)
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(LONGS, b, bFrom + i));
+            word.intoArray(out, outFrom + i);
+            counts = counts.add(word.lanewise(VectorOperators.BIT_COUNT));
+        }
+        return Math.toIntExact(counts.reduceLanes(VectorOperators.ADD))
+                + super.andNot(a, aFrom + i, b, bFrom + i, out, outFrom + i, n - i);
+    }
+
+    @Override
+    int bitCount(long[] words, int from, int to) {
+        LongVector counts = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            counts = counts.add(LongVector.fromArray(LONGS, words, i).lanewise(VectorOperators.BIT_COUNT));
+        }
+        return Math.toIntExact(counts.reduceLanes(VectorOperators.ADD)) + super.bitCount(words, i, to);
+    }
+
+    @Override
+    int intersect(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] out, int outFrom) {
+        // A vector store writes whole blocks, which could overwrite input
+        // not yet read when out is one of the inputs.
+        if (out == a || out == b) {
+            return super.intersect(a, aFrom, aTo, b, bFrom, bTo, out, outFrom);
+        }
+        int lanes = INTS.length();
+        int n = outFrom;
+        int i = aFrom;
+        int j = bFrom;
+        while (i <= aTo - lanes && j <= bTo - lanes) {
+            IntVector x = IntVector.fromArray(INTS, a, i);
+            IntVector y = IntVector.fromArray(INTS, b, j);
+            VectorMask<Integer> found = x.eq(y);
+            for (int r = 1; r < lanes; r++) {
+                found = found.or(x.eq(y.rearrange(ROTATIONS[r].check(INTS))));
+            }
+            int count = found.trueCount();
+            if (count > 0) {
+                IntVector matches = x.compress(found);
+                if (n + lanes <= out.length) {
+                    matches.intoArray(out, n);
+                } else {
+                    matches.intoArray(out, n, INTS.indexInRange(0, count));
+                }
+                n += count;
+            }
+            int aLast = a[i + lanes - 1];
+            int bLast = b[j + lanes - 1];
+            if (aLast <= bLast) {
+                i += lanes;
+            }
+            if (aLast >= bLast) {
+                j += lanes;
+            }
+        }
+        return n - outFrom + super.intersect(a, i, aTo, b, j, bTo, out, n);
+    }
+}
@@ -0,0 +1,430 @@
+package org.howard.edu.lsp.assignment2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential tests between the original inline Assignment 2 loop and the
+ * shared streaming engine ({@link org.howard.edu.lsp.assignment3.ETLPipeline})
+ * that {@link ETLPipeline#main(String[])} now runs on.
+ *
+ * <p>{@link #legacyRun(String, String, PrintStream)} is a frozen copy of the
+ * old {@code main}, parameterized by path.  Every test feeds the same input to
+ * both paths and asserts that the output files are byte-identical and that
+ * the printed summaries match.  Generated inputs avoid double quotes, the one
+ * character whose meaning changed (the engine parses RFC 4180 quoting; the old
+ * loop kept quotes literally).</p>
+ *
+ * <p>The other intended difference is the header: the engine finds its four
+ * columns by name, so it reads feeds whose columns are reordered or that
+ * carry extra columns, where the old loop assumed the fixed
+ * {@code ProductID,Name,Price,Category} layout and skipped every row that
+ * did not have exactly four fields.  Those cases are pinned separately
+ * below, against the engine's expected output rather than the legacy copy.</p>
+ */
+public class ETLPipelineTest {
+
+    private static final String HEADER = "ProductID,Name,Price,Category";
+
+    private static final String[] CATEGORIES = {
+        "Electronics", " Electronics ", "electronics", "Furniture",
+        "Stationery", "Other", "", "Premium Electronics"
+    };
+
+    private static final String[] NAMES = {
+        "USB Cable", "  Office Chair  ", "4K TV", "Gift Card", "mouse",
+        "Café table", "straße", "", "a b c", "Camera-X"
+    };
+
+    private Path dir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("etl-diff");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // fixed inputs
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("sample products.csv - identical output and summary")
+    public void testSampleFile() throws IOException {
+        assertSameBehaviour(HEADER + "\n"
+                + "7,USB Cable,9.99,Electronics\n"
+                + "8,  Office Chair  ,150.00, Furniture \n"
+                + "badid,Pen,1.00,Stationery\n"
+                + "14,Notebook,abc,Stationery\n"
+                + "15,TooFewFields,9.99\n"
+                + "16,Too,Many,Fields,Here\n"
+                + "\n"
+                + "9,4K TV,1200.00,Electronics\n"
+                + "10,Gift Card,10.00,Other\n"
+                + "11,Mouse,25.555,Electronics\n"
+                + "12,Table,500.00,Furniture\n"
+                + "13,Camera,556.00,Electronics");
+    }
+
+    @Test
+    @DisplayName("edge: empty file - header-only output")
+    public void testEmptyFile() throws IOException {
+        assertSameBehaviour("");
+    }
+
+    @Test
+    @DisplayName("edge: header only")
+    public void testHeaderOnly() throws IOException {
+        assertSameBehaviour(HEADER + "\n");
+    }
+
+    @Test
+    @DisplayName("edge: CRLF line endings and no trailing newline")
+    public void testCrLf() throws IOException {
+        assertSameBehaviour(HEADER + "\r\n1,a,1.00,Other\r\n\r\n2,b,600,Electronics");
+    }
+
+    @Test
+    @DisplayName("edge: missing input file - same error, no output file")
+    public void testMissingInput() {
+        String input  = dir.resolve("missing.csv").toString();
+        String legacy = dir.resolve("legacy.csv").toString();
+        String engine = dir.resolve("engine.csv").toString();
+
+        String legacyOut = capture(out -> legacyRun(input, legacy, out));
+        String engineOut = capture(out -> runEngine(input, engine, out));
+
+        assertEquals(legacyOut, engineOut);
+        assertFalse(new File(legacy).exists());
+        assertFalse(new File(engine).exists());
+    }
+
+    // ---------------------------------------------------------------
+    // header-driven columns (intended divergence from the old loop)
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("divergence: reordered header columns are mapped by name")
+    public void testReorderedColumns() throws IOException {
+        String csv = "Category,Price,Name,ProductID\n"
+                + "Electronics,600.00,4K TV,9\n"
+                + "Furniture,150.00,Office Chair,8\n"
+                + "Stationery,abc,Notebook,14\n";
+        assertEngineOutput(csv, 3, 1,
+                "9,4K TV,540.00,Premium Electronics,Premium",
+                "8,OFFICE CHAIR,150.00,Furniture,High");
+        assertLegacyDiffers(csv);
+    }
+
+    @Test
+    @DisplayName("divergence: extra header columns are ignored, rows need the header's field count")
+    public void testExtraColumns() throws IOException {
+        String csv = "ProductID,Name,Price,Category,Stock\n"
+                + "1,Pen,1.00,Stationery,40\n"
+                + "2,Mouse,25.555,Electronics,\n"
+                + "3,Lamp,20.00,Furniture\n";
+        assertEngineOutput(csv, 3, 1,
+                "1,PEN,1.00,Stationery,Low",
+                "2,MOUSE,23.00,Electronics,Medium");
+        assertLegacyDiffers(csv);
+    }
+
+    @Test
+    @DisplayName("edge: unrecognised header falls back to the fixed layout, like the old loop")
+    public void testUnknownHeader() throws IOException {
+        assertSameBehaviour("id,title,cost,kind\n"
+                + "1,a,1.00,Other\n"
+                + "2,b,600,Electronics\n"
+                + "3,c,1.00,Other,extra\n");
+    }
+
+    // ---------------------------------------------------------------
+    // generated inputs
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("randomized: 300 generated files match byte for byte")
+    public void testGeneratedInputs() throws IOException {
+        Random random = new Random(20240601L);
+        for (int i = 0; i < 300; i++) {
+            assertSameBehaviour(generate(random, random.nextInt(60)));
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // helpers
+    // ---------------------------------------------------------------
+
+    private void assertSameBehaviour(String csv) throws IOException {
+        Path input = dir.resolve("input.csv");
+        Files.write(input, csv.getBytes(StandardCharsets.UTF_8));
+        String legacy = dir.resolve("legacy.csv").toString();
+        String engine = dir.resolve("engine.csv").toString();
+
+        String legacyOut = capture(out -> legacyRun(input.toString(), legacy, out));
+        String engineOut = capture(out -> runEngine(input.toString(), engine, out));
+
+        assertEquals(legacyOut, engineOut.replace(engine, legacy), "summary for input:\n" + csv);
+        assertArrayEquals(Files.readAllBytes(Path.of(legacy)), Files.readAllBytes(Path.of(engine)),
+                "output for input:\n" + csv);
+    }
+
+    private void assertEngineOutput(String csv, int rowsRead, int rowsSkipped, String... rows)
+            throws IOException {
+        Path input = dir.resolve("input.csv");
+        Files.write(input, csv.getBytes(StandardCharsets.UTF_8));
+        Path engine = dir.resolve("engine.csv");
+
+        String summary = capture(out -> runEngine(input.toString(), engine.toString(), out));
+
+        assertTrue(summary.contains("Rows read: " + rowsRead + System.lineSeparator()), summary);
+        assertTrue(summary.contains("Rows transformed: " + rows.length + System.lineSeparator()), summary);
+        assertTrue(summary.contains("Rows skipped: " + rowsSkipped + System.lineSeparator()), summary);
+        List<String> expected = new ArrayList<>();
+        expected.add("ProductID,Name,Price,Category,PriceRange");
+        expected.addAll(Arrays.asList(rows));
+        assertEquals(expected, Files.readAllLines(engine));
+    }
+
+    private void assertLegacyDiffers(String csv) throws IOException {
+        Path input = dir.resolve("input.csv");
+        Files.write(input, csv.getBytes(StandardCharsets.UTF_8));
+        Path legacy = dir.resolve("legacy.csv");
+        Path engine = dir.resolve("engine.csv");
+
+        capture(out -> legacyRun(input.toString(), legacy.toString(), out));
+        capture(out -> runEngine(input.toString(), engine.toString(), out));
+
+        assertNotEquals(Files.readAllLines(legacy), Files.readAllLines(engine));
+    }
+
+    private static String generate(Random random, int rows) {
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < rows; i++) {
+            switch (random.nextInt(10)) {
+                case 0:
+                    sb.append(random.nextBoolean() ? "" : "   ");
+                    break;
+                case 1:
+                    sb.append(random.nextInt(100)).append(",x,1.00");
+                    break;
+                case 2:
+                    sb.append(random.nextInt(100)).append(",x,1.00,Other,extra");
+                    break;
+                case 3:
+                    sb.append(pick(random, "abc", "", "1.5", "99999999999"))
+                      .append(",x,1.00,Other");
+                    break;
+                case 4:
+                    sb.append(random.nextInt(100)).append(",x,")
+                      .append(pick(random, "abc", "", "1.2.3", "$5")).append(",Other");
+                    break;
+                default:
+                    sb.append(random.nextBoolean() ? " " : "").append(random.nextInt(10_000))
+                      .append(',').append(pick(random, NAMES))
+                      .append(',').append(price(random))
+                      .append(',').append(pick(random, CATEGORIES));
+            }
+            if (i < rows - 1 || random.nextBoolean()) {
+                sb.append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String price(Random random) {
+        BigDecimal value = BigDecimal.valueOf(random.nextInt(200_000), random.nextInt(5));
+        return random.nextInt(10) == 0 ? value.negate().toPlainString() : value.toPlainString();
+    }
+
+    private static String pick(Random random, String... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void runEngine(String input, String output, PrintStream out) {
+        PrintStream original = System.out;
+        System.setOut(out);
+        try {
+            new org.howard.edu.lsp.assignment3.ETLPipeline(input, output).run();
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    private interface Run {
+        void run(PrintStream out);
+    }
+
+    private static String capture(Run run) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        run.run(out);
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    // ---------------------------------------------------------------
+    // frozen copy of the original Assignment 2 main()
+    // ---------------------------------------------------------------
+
+    private static void legacyRun(String inputPath, String outputPath, PrintStream out) {
+        File inputFile = new File(inputPath);
+
+        if (!inputFile.exists() || !inputFile.isFile()) {
+            out.println("ERROR: Missing input file: " + inputPath);
+            return;
+        }
+
+        int rowsRead = 0;
+        int rowsSkipped = 0;
+        int rowsTransformed = 0;
+
+        File outputFile = new File(outputPath);
+        File outputDir = outputFile.getParentFile();
+        if (outputDir != null && !outputDir.exists()) {
+            outputDir.mkdirs();
+        }
+
+        BufferedReader br = null;
+        BufferedWriter bw = null;
+
+        try {
+            br = new BufferedReader(new FileReader(inputFile));
+            bw = new BufferedWriter(new FileWriter(outputFile));
+
+            String header = br.readLine();
+            bw.write("ProductID,Name,Price,Category,PriceRange");
+            bw.newLine();
+
+            if (header == null) {
+                legacySummary(out, rowsRead, rowsTransformed, rowsSkipped, outputFile.getPath());
+                return;
+            }
+
+            String line;
+            while ((line = br.readLine()) != null) {
+                rowsRead++;
+
+                if (line.trim().isEmpty()) {
+                    rowsSkipped++;
+                    continue;
+                }
+
+                String[] parts = line.split(",", -1);
+                if (parts.length != 4) {
+                    rowsSkipped++;
+                    continue;
+                }
+
+                String productIdRaw = parts[0].trim();
+                String nameRaw = parts[1].trim();
+                String priceRaw = parts[2].trim();
+                String categoryRaw = parts[3].trim();
+
+                int productId;
+                BigDecimal priceOriginal;
+
+                try {
+                    productId = Integer.parseInt(productIdRaw);
+                } catch (NumberFormatException e) {
+                    rowsSkipped++;
+                    continue;
+                }
+
+                try {
+                    priceOriginal = new BigDecimal(priceRaw);
+                } catch (NumberFormatException e) {
+                    rowsSkipped++;
+                    continue;
+                }
+
+                String nameFinal = nameRaw.toUpperCase();
+                String categoryOriginal = categoryRaw;
+
+                BigDecimal priceAfterDiscount = priceOriginal;
+                boolean wasElectronics = "Electronics".equals(categoryOriginal);
+                if (wasElectronics) {
+                    priceAfterDiscount = priceOriginal.multiply(new BigDecimal("0.90"));
+                }
+
+                BigDecimal finalRoundedPrice = priceAfterDiscount.setScale(2, RoundingMode.HALF_UP);
+
+                String categoryFinal = categoryOriginal;
+                if (wasElectronics && finalRoundedPrice.compareTo(new BigDecimal("500.00")) > 0) {
+                    categoryFinal = "Premium Electronics";
+                }
+
+                String priceRange = legacyPriceRange(finalRoundedPrice);
+
+                String outputRow = productId + "," + nameFinal + "," + finalRoundedPrice.toPlainString()
+                        + "," + categoryFinal + "," + priceRange;
+
+                bw.write(outputRow);
+                bw.newLine();
+                rowsTransformed++;
+            }
+
+            legacySummary(out, rowsRead, rowsTransformed, rowsSkipped, outputFile.getPath());
+
+        } catch (IOException e) {
+            out.println("ERROR: I/O failure while processing files.");
+        } finally {
+            try {
+                if (br != null) br.close();
+            } catch (IOException ignored) { }
+            try {
+                if (bw != null) bw.close();
+            } catch (IOException ignored) { }
+        }
+    }
+
+    private static String legacyPriceRange(BigDecimal price) {
+        if (price.compareTo(new BigDecimal("10.00")) <= 0) {
+            return "Low";
+        } else if (price.compareTo(new BigDecimal("100.00")) <= 0) {
+            return "Medium";
+        } else if (price.compareTo(new BigDecimal("500.00")) <= 0) {
+            return "High";
+        } else {
+            return "Premium";
+        }
+    }
+
+    private static void legacySummary(PrintStream out, int rowsRead, int rowsTransformed,
+                                      int rowsSkipped, String outputPath) {
+        out.println("Run Summary");
+        out.println("Rows read: " + rowsRead);
+        out.println("Rows transformed: " + rowsTransformed);
+        out.println("Rows skipped: " + rowsSkipped);
+        out.println("Output written to: " + outputPath);
+    }
+}
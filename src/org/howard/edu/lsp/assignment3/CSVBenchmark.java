@@ -0,0 +1,205 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+/**
+ * Throughput benchmark for the Extract phase's record splitting.
+ *
+ * <p>Compares the original {@code readLine()} + {@code split(",", -1)} loop
+ * with {@link CSVParser} on the same in-memory input, so disk speed does not
+ * hide the difference.  Both loops trim every field, as {@link CSVReader}
+ * does, and their field counts are checked against each other.  A third run
+ * times {@link CSVParser} on input where every name is quoted and contains a
+ * comma or an escaped quote — input the split loop cannot handle at all.
+ * Finally, on a wide file with {@value #WIDE_EXTRA_COLUMNS} extra columns,
+ * parsing every field is compared with selecting only the four columns the
+ * pipeline uses ({@link CSVParser#selectColumns(int[])}).</p>
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ *   java org.howard.edu.lsp.assignment3.CSVBenchmark [rows] [iterations]
+ * }</pre>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public class CSVBenchmark {
+
+    /** Categories used for generated rows. */
+    private static final String[] CATEGORIES =
+            {"Electronics", "Furniture", "Stationery", "Other"};
+
+    /** Untimed passes run before measuring, so the JIT has compiled both loops. */
+    private static final int WARMUP_ITERATIONS = 5;
+
+    /** Unused columns appended to every row of the wide input. */
+    private static final int WIDE_EXTRA_COLUMNS = 20;
+
+    /** Positions of the pipeline's columns in the generated input. */
+    private static final int[] PIPELINE_COLUMNS = {0, 1, 2, 3};
+
+    /**
+     * Application entry point.
+     *
+     * @param args {@code [rows] [iterations]}
+     * @throws IOException never in practice; the input is in memory
+     */
+    public static void main(String[] args) throws IOException {
+        int rows       = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        String plain  = generate(rows, false, 0);
+        String quoted = generate(rows, true, 0);
+        String wide   = generate(rows, false, WIDE_EXTRA_COLUMNS);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            splitFields(plain);
+            parserFields(plain, null);
+            parserFields(quoted, null);
+            parserFields(wide, null);
+            parserFields(wide, PIPELINE_COLUMNS);
+        }
+
+        long splitCount  = 0;
+        long parserCount = 0;
+        long splitNanos  = 0;
+        long parserNanos = 0;
+        long quotedNanos = 0;
+        long wideNanos   = 0;
+        long selectNanos = 0;
+
+        // Interleave the loops so drift in machine load affects both equally.
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            splitCount = splitFields(plain);
+            splitNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parserCount = parserFields(plain, null);
+            parserNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parserFields(quoted, null);
+            quotedNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parserFields(wide, null);
+            wideNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parserFields(wide, PIPELINE_COLUMNS);
+            selectNanos += System.nanoTime() - start;
+        }
+
+        if (splitCount != parserCount) {
+            throw new IllegalStateException("Field counts differ: split="
+                    + splitCount + " parser=" + parserCount);
+        }
+
+        System.out.println("CSV Benchmark (" + rows + " rows x " + iterations + " iterations)");
+        report("split",         plain,  rows, splitNanos  / iterations);
+        report("parser",        plain,  rows, parserNanos / iterations);
+        report("parser/quoted", quoted, rows, quotedNanos / iterations);
+        report("wide/all",      wide,   rows, wideNanos   / iterations);
+        report("wide/selected", wide,   rows, selectNanos / iterations);
+    }
+
+    /**
+     * Splits the input with the original readLine/split loop.
+     *
+     * @param csv input text
+     * @return total number of fields seen
+     * @throws IOException never in practice
+     */
+    private static long splitFields(String csv) throws IOException {
+        long count = 0;
+        try (BufferedReader br = new BufferedReader(new StringReader(csv))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split(",", -1);
+                for (String part : parts) {
+                    if (!part.trim().isEmpty()) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits the input with {@link CSVParser}.
+     *
+     * @param csv     input text
+     * @param columns columns to select, or {@code null} for every field
+     * @return total number of fields seen
+     * @throws IOException never in practice
+     */
+    private static long parserFields(String csv, int[] columns) throws IOException {
+        long count = 0;
+        try (CSVParser parser = new CSVParser(new StringReader(csv))) {
+            if (columns != null) {
+                parser.selectColumns(columns);
+            }
+            String[] parts;
+            while ((parts = parser.nextRecord()) != null) {
+                for (String part : parts) {
+                    if (part != null && !part.trim().isEmpty()) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generates a products CSV with a header and {@code rows} data rows.
+     *
+     * @param rows   number of data rows
+     * @param quoted whether names are quoted and contain a comma or a quote
+     * @param extra  number of unused columns appended to every row
+     * @return the CSV text
+     */
+    private static String generate(int rows, boolean quoted, int extra) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(rows * (48 + extra * 8));
+        sb.append("ProductID,Name,Price,Category");
+        for (int c = 0; c < extra; c++) {
+            sb.append(",Extra").append(c);
+        }
+        sb.append('\n');
+        for (int i = 1; i <= rows; i++) {
+            sb.append(i).append(',');
+            if (quoted) {
+                sb.append(i % 2 == 0 ? "\"Widget, model " : "\"Widget \"\"model\"\" ")
+                  .append(i).append('"');
+            } else {
+                sb.append("Widget model ").append(i);
+            }
+            sb.append(',').append(random.nextInt(100_000) / 100.0)
+              .append(',').append(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            for (int c = 0; c < extra; c++) {
+                sb.append(',').append(random.nextInt(1_000_000));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prints the per-row cost and throughput of one loop.
+     *
+     * @param label     name of the loop
+     * @param csv       input that was parsed
+     * @param rows      number of data rows in the input
+     * @param nanosEach average time of one pass in nanoseconds
+     */
+    private static void report(String label, String csv, int rows, long nanosEach) {
+        double nsPerRow = (double) nanosEach / rows;
+        double mbPerSec = (csv.length() / (1024.0 * 1024.0)) / (nanosEach / 1e9);
+        System.out.printf("%-14s %7.1f ns/row   %8.1f MB/s (chars)%n", label, nsPerRow, mbPerSec);
+    }
+}
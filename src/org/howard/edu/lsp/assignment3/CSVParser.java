@@ -0,0 +1,414 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Single-pass RFC 4180 record parser used by {@link CSVReader}.
+ *
+ * <p>The parser is a small state machine that walks a character buffer once
+ * and splits it into records and fields:</p>
+ * <ul>
+ *   <li>Fields are separated by {@code ,} and records by {@code \n},
+ *       {@code \r\n} or a lone {@code \r}.</li>
+ *   <li>A field that starts with {@code "} is quoted: it may contain commas,
+ *       line breaks and {@code ""} (an escaped quote) and ends at the next
+ *       lone {@code "}.</li>
+ *   <li>Malformed input is handled leniently rather than rejected: a quote in
+ *       the middle of an unquoted field is kept literally, characters after a
+ *       closing quote are appended to the field, and an unterminated quoted
+ *       field runs to the end of the input.</li>
+ * </ul>
+ *
+ * <p>Records without quotes, which are the vast majority of real rows, take
+ * a fast path that scans the buffer once and slices the fields out of a
+ * single string; only quoted records and records that straddle a buffer
+ * refill run through the full state machine.  This keeps the parser at
+ * least as fast as the {@code readLine()} + {@code split(",")} loop it
+ * replaces (see {@link CSVBenchmark}).</p>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public class CSVParser implements Closeable {
+
+    /** Number of characters read from the underlying reader at a time. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Source of characters. */
+    private final Reader in;
+
+    /** Read buffer. */
+    private final char[] buf = new char[BUFFER_SIZE];
+
+    /** Index of the next unread character in {@link #buf}. */
+    private int pos = 0;
+
+    /** Number of valid characters in {@link #buf}. */
+    private int limit = 0;
+
+    /** Accumulates quoted fields and fields spanning a buffer refill. */
+    private final StringBuilder field = new StringBuilder();
+
+    /** Fields of the record currently being parsed. */
+    private String[] fields = new String[8];
+
+    /** Number of valid entries in {@link #fields}. */
+    private int fieldCount = 0;
+
+    /** Comma positions, relative to the record start, found by the fast path. */
+    private int[] commaOffsets = new int[8];
+
+    /**
+     * For each field position, its index in the selected output, or -1 if
+     * the field is not selected; {@code null} when every field is returned.
+     */
+    private int[] slotOf = null;
+
+    /** Number of selected columns, when a selection is active. */
+    private int selectedCount = 0;
+
+    /** Number of fields in the last record returned by {@link #nextRecord()}. */
+    private int lastFieldCount = 0;
+
+    /**
+     * Constructs a parser over the given reader.  The reader is buffered
+     * internally, so there is no need to wrap it in a {@code BufferedReader}.
+     *
+     * @param in character source
+     */
+    public CSVParser(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Restricts subsequent records to the given columns.
+     *
+     * <p>After this call {@link #nextRecord()} returns an array with one
+     * entry per element of {@code columns}: entry {@code k} holds the field
+     * at position {@code columns[k]}, or {@code null} if the record is too
+     * short.  Fields that are not selected are still scanned past but are
+     * never turned into strings, which is where wide files spend most of
+     * their parsing time.</p>
+     *
+     * @param columns zero-based field positions to return, in output order
+     * @throws IllegalArgumentException if a position is negative or repeated
+     */
+    public void selectColumns(int[] columns) {
+        int max = -1;
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("Negative column position: " + column);
+            }
+            max = Math.max(max, column);
+        }
+
+        int[] slots = new int[max + 1];
+        Arrays.fill(slots, -1);
+        for (int k = 0; k < columns.length; k++) {
+            if (slots[columns[k]] >= 0) {
+                throw new IllegalArgumentException("Column selected twice: " + columns[k]);
+            }
+            slots[columns[k]] = k;
+        }
+        slotOf = slots;
+        selectedCount = columns.length;
+    }
+
+    /**
+     * Returns the number of fields in the record most recently returned by
+     * {@link #nextRecord()}, counting unselected fields too.
+     *
+     * @return field count of the last record
+     */
+    public int getFieldCount() {
+        return lastFieldCount;
+    }
+
+    /**
+     * Parses the next record.
+     *
+     * <p>An empty line yields a record with a single empty field, mirroring
+     * {@code "".split(",", -1)}.  If {@link #selectColumns(int[])} was
+     * called, only the selected fields are returned.</p>
+     *
+     * @return the fields of the next record, or {@code null} at end of input
+     * @throws IOException if the underlying reader fails
+     */
+    public String[] nextRecord() throws IOException {
+        if (pos >= limit && !fill()) {
+            return null;
+        }
+
+        String[] simple = nextSimpleRecord();
+        if (simple != null) {
+            return simple;
+        }
+
+        fieldCount = 0;
+        while (true) {
+            boolean endOfRecord;
+            if (buf[pos] == '"') {
+                pos++;
+                endOfRecord = readQuotedField();
+            } else {
+                endOfRecord = readUnquotedField();
+            }
+            if (endOfRecord) {
+                break;
+            }
+            if (pos >= limit && !fill()) {
+                // A comma right before end of input: "a," is two fields.
+                addField("");
+                break;
+            }
+        }
+
+        lastFieldCount = fieldCount;
+        if (slotOf == null) {
+            return Arrays.copyOf(fields, fieldCount);
+        }
+        String[] record = new String[selectedCount];
+        for (int f = 0; f < fieldCount && f < slotOf.length; f++) {
+            if (slotOf[f] >= 0) {
+                record[slotOf[f]] = fields[f];
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Fast path for the common record: no quotes and entirely inside the
+     * current buffer.  The record is scanned once, materialised as a single
+     * string, and the fields are sliced out of it; because Java strings are
+     * usually stored as Latin-1 bytes, slicing is cheaper than building each
+     * field from the {@code char} buffer.  With a column selection active,
+     * only the selected fields are copied out of the buffer.
+     *
+     * @return the record, or {@code null} (with nothing consumed) if the
+     *         record must go through the general state machine
+     * @throws IOException if the underlying reader fails
+     */
+    private String[] nextSimpleRecord() throws IOException {
+        int start = pos;
+        int commas = 0;
+        for (int i = start; i < limit; i++) {
+            char c = buf[i];
+            // ',', '"', '\n' and '\r' all sort at or below ',', so most
+            // characters are dismissed with a single comparison.
+            if (c > ',') {
+                continue;
+            }
+            if (c == ',') {
+                if (commas == commaOffsets.length) {
+                    commaOffsets = Arrays.copyOf(commaOffsets, commas * 2);
+                }
+                commaOffsets[commas++] = i - start;
+            } else if (c == '"') {
+                return null;
+            } else if (c == '\n' || c == '\r') {
+                int length = i - start;
+                String[] record = slotOf == null
+                        ? splitLine(start, length, commas)
+                        : extractSelected(start, length, commas);
+                lastFieldCount = commas + 1;
+                pos = i + 1;
+                if (c == '\r') {
+                    skipLineFeed();
+                }
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds every field of a fast-path record by slicing one line string.
+     *
+     * @param start  buffer offset of the record
+     * @param length record length, excluding the terminator
+     * @param commas number of commas found in the record
+     * @return all fields of the record
+     */
+    private String[] splitLine(int start, int length, int commas) {
+        String line = new String(buf, start, length);
+        String[] record = new String[commas + 1];
+        int from = 0;
+        for (int f = 0; f < commas; f++) {
+            record[f] = line.substring(from, commaOffsets[f]);
+            from = commaOffsets[f] + 1;
+        }
+        record[commas] = line.substring(from);
+        return record;
+    }
+
+    /**
+     * Builds only the selected fields of a fast-path record, straight from
+     * the buffer.
+     *
+     * @param start  buffer offset of the record
+     * @param length record length, excluding the terminator
+     * @param commas number of commas found in the record
+     * @return the selected fields, {@code null} where the record is too short
+     */
+    private String[] extractSelected(int start, int length, int commas) {
+        String[] record = new String[selectedCount];
+        int last = Math.min(commas, slotOf.length - 1);
+        for (int f = 0; f <= last; f++) {
+            int slot = slotOf[f];
+            if (slot >= 0) {
+                int from = f == 0 ? 0 : commaOffsets[f - 1] + 1;
+                int to   = f == commas ? length : commaOffsets[f];
+                record[slot] = new String(buf, start + from, to - from);
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Reads an unquoted field starting at {@link #pos}.
+     *
+     * @return {@code true} if the field ended the record, {@code false} if it
+     *         was terminated by a comma
+     * @throws IOException if the underlying reader fails
+     */
+    private boolean readUnquotedField() throws IOException {
+        int start = pos;
+        boolean spilled = false;
+        field.setLength(0);
+
+        while (true) {
+            if (pos >= limit) {
+                field.append(buf, start, pos - start);
+                spilled = true;
+                if (!fill()) {
+                    addField(field.toString());
+                    return true;
+                }
+                start = 0;
+            }
+
+            char c = buf[pos];
+            if (c <= ',' && (c == ',' || c == '\n' || c == '\r')) {
+                if (spilled) {
+                    field.append(buf, start, pos - start);
+                    addField(field.toString());
+                } else {
+                    addField(new String(buf, start, pos - start));
+                }
+                pos++;
+                if (c == ',') {
+                    return false;
+                }
+                if (c == '\r') {
+                    skipLineFeed();
+                }
+                return true;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Reads a quoted field whose opening quote has already been consumed.
+     *
+     * @return {@code true} if the field ended the record, {@code false} if it
+     *         was terminated by a comma
+     * @throws IOException if the underlying reader fails
+     */
+    private boolean readQuotedField() throws IOException {
+        field.setLength(0);
+        boolean inQuotes = true;
+
+        while (true) {
+            if (pos >= limit && !fill()) {
+                addField(field.toString());
+                return true;
+            }
+
+            if (inQuotes) {
+                // Copy the run of ordinary characters up to the next quote in one go.
+                int start = pos;
+                while (pos < limit && buf[pos] != '"') {
+                    pos++;
+                }
+                field.append(buf, start, pos - start);
+                if (pos < limit) {
+                    pos++;
+                    inQuotes = false;
+                }
+                continue;
+            }
+
+            // Just after a quote: either an escaped quote, a terminator, or
+            // (leniently) more characters belonging to the same field.
+            char c = buf[pos];
+            if (c == '"') {
+                field.append('"');
+                pos++;
+                inQuotes = true;
+            } else if (c == ',') {
+                addField(field.toString());
+                pos++;
+                return false;
+            } else if (c == '\n' || c == '\r') {
+                addField(field.toString());
+                pos++;
+                if (c == '\r') {
+                    skipLineFeed();
+                }
+                return true;
+            } else {
+                field.append(c);
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Consumes the {@code \n} of a {@code \r\n} pair, if present.
+     *
+     * @throws IOException if the underlying reader fails
+     */
+    private void skipLineFeed() throws IOException {
+        if ((pos < limit || fill()) && buf[pos] == '\n') {
+            pos++;
+        }
+    }
+
+    /**
+     * Appends a field to the current record, growing the array as needed.
+     *
+     * @param value field value
+     */
+    private void addField(String value) {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fieldCount * 2);
+        }
+        fields[fieldCount++] = value;
+    }
+
+    /**
+     * Refills the buffer from the reader.
+     *
+     * @return {@code false} at end of input
+     * @throws IOException if the underlying reader fails
+     */
+    private boolean fill() throws IOException {
+        pos = 0;
+        int n = in.read(buf, 0, buf.length);
+        limit = Math.max(n, 0);
+        return n > 0;
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if the reader cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
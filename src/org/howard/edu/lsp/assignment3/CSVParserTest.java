@@ -0,0 +1,151 @@
+package org.howard.edu.lsp.assignment3;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit 5 test cases for CSVParser and the quoting done by CSVWriter.
+ */
+public class CSVParserTest {
+
+    // ---------------------------------------------------------------
+    // quoting
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("nextRecord() - normal: quoted fields keep their commas")
+    public void testQuotedCommas() throws IOException {
+        assertEquals(List.of(List.of("1", "Desk, oak", "99.00", "Furniture")),
+                records("1,\"Desk, oak\",99.00,Furniture\n"));
+        assertEquals(List.of(List.of(",", ",,", "")), records("\",\",\",,\",\"\""));
+    }
+
+    @Test
+    @DisplayName("nextRecord() - normal: doubled quotes inside a quoted field are one quote")
+    public void testEscapedQuotes() throws IOException {
+        assertEquals(List.of(List.of("say \"hi\"", "x")), records("\"say \"\"hi\"\"\",x\n"));
+        assertEquals(List.of(List.of("\"", "\"\"")), records("\"\"\"\",\"\"\"\"\"\""));
+    }
+
+    @Test
+    @DisplayName("nextRecord() - normal: a quoted field may span lines")
+    public void testQuotedLineBreaks() throws IOException {
+        assertEquals(List.of(List.of("a", "line 1\r\nline 2"), List.of("b", "c")),
+                records("a,\"line 1\r\nline 2\"\r\nb,c\r\n"));
+    }
+
+    @Test
+    @DisplayName("nextRecord() - edge: malformed quotes are kept leniently")
+    public void testMalformedQuotes() throws IOException {
+        assertEquals(List.of(List.of("ab\"c", "d")), records("ab\"c,d\n"));
+        assertEquals(List.of(List.of("abc", "x")), records("\"ab\"c,x\n"));
+        assertEquals(List.of(List.of("open,to the end\n")), records("\"open,to the end\n"));
+    }
+
+    // ---------------------------------------------------------------
+    // empty fields and line endings
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("nextRecord() - edge: empty and trailing fields are kept")
+    public void testEmptyFields() throws IOException {
+        assertEquals(List.of(List.of("a", "", "b", "")), records("a,,b,\n"));
+        assertEquals(List.of(List.of("", "")), records(","));
+        assertEquals(List.of(List.of("a"), List.of(""), List.of("b")), records("a\n\nb\n"));
+        assertEquals(List.of(), records(""));
+    }
+
+    @Test
+    @DisplayName("nextRecord() - edge: CRLF, LF and lone CR all end a record")
+    public void testLineEndings() throws IOException {
+        List<List<String>> expected = List.of(List.of("a", "b"), List.of("c", "d"));
+        assertEquals(expected, records("a,b\r\nc,d\r\n"));
+        assertEquals(expected, records("a,b\nc,d"));
+        assertEquals(expected, records("a,b\rc,d\r"));
+        assertEquals(List.of(List.of("a", ""), List.of("")), records("a,\r\n\r\n"));
+    }
+
+    @Test
+    @DisplayName("nextRecord() - edge: records straddling the read buffer")
+    public void testBufferRefill() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        List<List<String>> expected = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String name = "name " + i + (i % 3 == 0 ? ", \"quoted\"" : "");
+            csv.append(i).append(',').append(CSVWriter.quote(name)).append(",x\r\n");
+            expected.add(List.of(String.valueOf(i), name, "x"));
+        }
+        assertEquals(expected, records(csv.toString()));
+    }
+
+    // ---------------------------------------------------------------
+    // selectColumns()
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("selectColumns() - normal: returns the chosen fields in the given order")
+    public void testSelectColumns() throws IOException {
+        try (CSVParser parser = new CSVParser(new StringReader("a,\"b,b\",c\nd\n"))) {
+            parser.selectColumns(new int[] {2, 1});
+            assertEquals(Arrays.asList("c", "b,b"), Arrays.asList(parser.nextRecord()));
+            assertEquals(3, parser.getFieldCount());
+            assertEquals(Arrays.asList(null, null), Arrays.asList(parser.nextRecord()));
+            assertEquals(1, parser.getFieldCount());
+            assertNull(parser.nextRecord());
+        }
+    }
+
+    @Test
+    @DisplayName("selectColumns() - edge: rejects negative and repeated positions")
+    public void testSelectColumnsBadArguments() throws IOException {
+        try (CSVParser parser = new CSVParser(new StringReader(""))) {
+            assertThrows(IllegalArgumentException.class, () -> parser.selectColumns(new int[] {-1}));
+            assertThrows(IllegalArgumentException.class, () -> parser.selectColumns(new int[] {1, 1}));
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // CSVWriter.quote() round trip
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("quote() - normal: quoted fields parse back to the original values")
+    public void testQuoteRoundTrip() throws IOException {
+        List<String> fields = List.of("plain", "", " spaced ", "a,b", "say \"hi\"", "\"",
+                "two\nlines", "crlf\r\nend", "cr\rend", "Café, straße");
+        StringBuilder row = new StringBuilder();
+        for (String field : fields) {
+            if (row.length() > 0) {
+                row.append(',');
+            }
+            row.append(CSVWriter.quote(field));
+        }
+        assertEquals(List.of(fields), records(row + "\r\n"));
+        assertEquals("plain", CSVWriter.quote("plain"));
+        assertEquals("\"a,b\"", CSVWriter.quote("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CSVWriter.quote("say \"hi\""));
+    }
+
+    // ---------------------------------------------------------------
+    // helpers
+    // ---------------------------------------------------------------
+
+    private static List<List<String>> records(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(new StringReader(csv))) {
+            String[] record;
+            while ((record = parser.nextRecord()) != null) {
+                records.add(Arrays.asList(record));
+            }
+        }
+        return records;
+    }
+}
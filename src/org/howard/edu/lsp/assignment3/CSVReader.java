@@ -1,6 +1,5 @@
 package org.howard.edu.lsp.assignment3;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
@@ -16,13 +15,31 @@ import java.util.List;
  * objects ready for transformation. Counters for rows read and rows skipped
  * are available after {@link #read()} completes.</p>
  *
+ * <p>Records are split by {@link CSVParser}, so quoted fields may contain
+ * commas, escaped quotes ({@code ""}) and line breaks.  A "row" is a CSV
+ * record, which can span several physical lines when a quoted field contains
+ * a line break.</p>
+ *
+ * <p>Column positions come from a {@link CSVSchema}: the header row is
+ * resolved against the schema once, and every data row must then have as
+ * many fields as the header.  Only the four mapped columns are extracted
+ * from each row.  If the header does not name the schema's columns, the
+ * reader falls back to the fixed {@code ProductID,Name,Price,Category}
+ * layout with exactly four fields per row.</p>
+ *
  * @author Abdul Nafay Saleem
  */
 public class CSVReader {
 
+    /** Field positions used when the header does not name the schema's columns. */
+    private static final int[] DEFAULT_POSITIONS = {0, 1, 2, 3};
+
     /** Path to the input CSV file. */
     private final String inputPath;
 
+    /** Names of the columns to extract. */
+    private final CSVSchema schema;
+
     /** Products successfully parsed from the file. */
     private final List<Product> products = new ArrayList<>();
 
@@ -33,12 +50,24 @@ public class CSVReader {
     private int rowsSkipped = 0;
 
     /**
-     * Constructs a CSVReader for the given file path.
+     * Constructs a CSVReader for the given file path using the default
+     * {@link CSVSchema}.
      *
      * @param inputPath relative or absolute path to the input CSV
      */
     public CSVReader(String inputPath) {
+        this(inputPath, new CSVSchema());
+    }
+
+    /**
+     * Constructs a CSVReader for the given file path and column schema.
+     *
+     * @param inputPath relative or absolute path to the input CSV
+     * @param schema    names of the columns to extract
+     */
+    public CSVReader(String inputPath, CSVSchema schema) {
         this.inputPath = inputPath;
+        this.schema    = schema;
     }
 
     /**
@@ -46,8 +75,8 @@ public class CSVReader {
      *
      * <p>The method resets internal counters on each call, so it is safe to
      * call more than once (though not necessary in normal use).  Any row that
-     * is blank, has the wrong number of fields, or contains an un-parseable
-     * ProductID or Price is counted as skipped.</p>
+     * is blank, has a different number of fields than the header, or
+     * contains an un-parseable ProductID or Price is counted as skipped.</p>
      *
      * @return {@code true} if the file existed and was opened successfully,
      *         {@code false} if the file is missing
@@ -55,41 +84,61 @@ public class CSVReader {
      */
     public boolean read() throws IOException {
         products.clear();
+        return read(products::add);
+    }
+
+    /**
+     * Reads and parses the input CSV file, handing each valid product to
+     * {@code sink} as soon as its row is parsed.
+     *
+     * <p>Nothing is collected, so {@link #getProducts()} is not affected;
+     * the row counters are reset and updated exactly as by {@link #read()}.</p>
+     *
+     * @param sink receives every successfully parsed product, in file order
+     * @return {@code true} if the file existed and was opened successfully,
+     *         {@code false} if the file is missing
+     * @throws IOException if an I/O error occurs while reading the file or
+     *                     is thrown by {@code sink}
+     */
+    public boolean read(ProductSink sink) throws IOException {
         rowsRead = 0;
         rowsSkipped = 0;
 
-        File file = new File(inputPath);
-        if (!file.exists() || !file.isFile()) {
+        if (!exists()) {
             return false;
         }
+        File file = new File(inputPath);
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String header = br.readLine(); // consume header row
+        try (CSVParser parser = new CSVParser(new FileReader(file))) {
+            String[] header = parser.nextRecord(); // consume header row
 
             if (header == null) {
                 // Completely empty file — treat as header-only, return no products
                 return true;
             }
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                rowsRead++;
+            int[] positions = schema.resolve(header);
+            int expectedFields = header.length;
+            if (positions == null) {
+                positions = DEFAULT_POSITIONS;
+                expectedFields = DEFAULT_POSITIONS.length;
+            }
+            parser.selectColumns(positions);
 
-                if (line.trim().isEmpty()) {
-                    rowsSkipped++;
-                    continue;
-                }
+            String[] parts;
+            while ((parts = parser.nextRecord()) != null) {
+                rowsRead++;
 
-                String[] parts = line.split(",", -1);
-                if (parts.length != 4) {
+                // A blank line parses as one empty field, so it fails this check too.
+                if (parser.getFieldCount() != expectedFields) {
                     rowsSkipped++;
                     continue;
                 }
 
-                String productIdRaw = parts[0].trim();
-                String nameRaw      = parts[1].trim();
-                String priceRaw     = parts[2].trim();
-                String categoryRaw  = parts[3].trim();
+                String productIdRaw = parts[CSVSchema.PRODUCT_ID].trim();
+                String nameRaw      = parts[CSVSchema.NAME].trim();
+                String priceRaw     = parts[CSVSchema.PRICE].trim();
+                String categoryRaw  = parts[CSVSchema.CATEGORY].trim();
 
                 int productId;
                 BigDecimal price;
@@ -108,13 +157,23 @@ public class CSVReader {
                     continue;
                 }
 
-                products.add(new Product(productId, nameRaw, price, categoryRaw));
+                sink.accept(new Product(productId, nameRaw, price, categoryRaw));
             }
         }
 
         return true;
     }
 
+    /**
+     * Returns whether the input file exists and is a regular file.
+     *
+     * @return {@code true} if the input file can be read
+     */
+    public boolean exists() {
+        File file = new File(inputPath);
+        return file.exists() && file.isFile();
+    }
+
     /**
      * Returns the list of products successfully parsed during the last
      * {@link #read()} call.
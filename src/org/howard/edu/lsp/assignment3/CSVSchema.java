@@ -0,0 +1,146 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.util.Arrays;
+
+/**
+ * Describes which columns the pipeline reads and writes.
+ *
+ * <p>The input side lists the header names of the four columns a
+ * {@link Product} is built from, in the order {@link #PRODUCT_ID},
+ * {@link #NAME}, {@link #PRICE}, {@link #CATEGORY}.  {@link CSVReader}
+ * resolves those names against the file's header row once, then extracts
+ * fields by position for every data row, so feeds may order their columns
+ * freely and carry extra columns that are never materialised.</p>
+ *
+ * <p>The output side lists the five header names written by
+ * {@link CSVWriter} for ProductID, Name, Price, Category and PriceRange.</p>
+ *
+ * <p>The {@linkplain #CSVSchema() default schema} matches
+ * {@code data/products.csv} and Assignment 2's output exactly.</p>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public class CSVSchema {
+
+    /** Index of the product ID in {@link #getInputColumns()} and resolved positions. */
+    public static final int PRODUCT_ID = 0;
+
+    /** Index of the product name in {@link #getInputColumns()} and resolved positions. */
+    public static final int NAME = 1;
+
+    /** Index of the price in {@link #getInputColumns()} and resolved positions. */
+    public static final int PRICE = 2;
+
+    /** Index of the category in {@link #getInputColumns()} and resolved positions. */
+    public static final int CATEGORY = 3;
+
+    /** Header names of the input columns, in the order of the index constants. */
+    private static final String[] DEFAULT_INPUT_COLUMNS =
+            {"ProductID", "Name", "Price", "Category"};
+
+    /** Header names written to the output file. */
+    private static final String[] DEFAULT_OUTPUT_COLUMNS =
+            {"ProductID", "Name", "Price", "Category", "PriceRange"};
+
+    /** Header names of the input columns. */
+    private final String[] inputColumns;
+
+    /** Header names of the output columns. */
+    private final String[] outputColumns;
+
+    /**
+     * Constructs the default schema used by {@code data/products.csv}.
+     */
+    public CSVSchema() {
+        this(DEFAULT_INPUT_COLUMNS, DEFAULT_OUTPUT_COLUMNS);
+    }
+
+    /**
+     * Constructs a schema with custom column names.
+     *
+     * @param inputColumns  four input header names, ordered ProductID, Name,
+     *                      Price, Category
+     * @param outputColumns five output header names, ordered ProductID, Name,
+     *                      Price, Category, PriceRange
+     * @throws IllegalArgumentException if either array has the wrong length
+     */
+    public CSVSchema(String[] inputColumns, String[] outputColumns) {
+        if (inputColumns.length != DEFAULT_INPUT_COLUMNS.length) {
+            throw new IllegalArgumentException("Expected " + DEFAULT_INPUT_COLUMNS.length
+                    + " input columns: " + Arrays.toString(inputColumns));
+        }
+        if (outputColumns.length != DEFAULT_OUTPUT_COLUMNS.length) {
+            throw new IllegalArgumentException("Expected " + DEFAULT_OUTPUT_COLUMNS.length
+                    + " output columns: " + Arrays.toString(outputColumns));
+        }
+        this.inputColumns  = inputColumns.clone();
+        this.outputColumns = outputColumns.clone();
+    }
+
+    /**
+     * Resolves the input columns against a header row.
+     *
+     * <p>Header names are compared case-insensitively after trimming (and
+     * after stripping a UTF-8 byte-order mark from the first name).</p>
+     *
+     * @param header fields of the header row
+     * @return the position of each input column in the header, indexed by
+     *         {@link #PRODUCT_ID}, {@link #NAME}, {@link #PRICE} and
+     *         {@link #CATEGORY}; or {@code null} if any column is missing
+     */
+    public int[] resolve(String[] header) {
+        int[] positions = new int[inputColumns.length];
+        for (int i = 0; i < inputColumns.length; i++) {
+            positions[i] = indexOf(header, inputColumns[i]);
+            if (positions[i] < 0) {
+                return null;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the position of {@code name} in {@code header}.
+     *
+     * @param header fields of the header row
+     * @param name   column name to look for
+     * @return the position, or -1 if absent
+     */
+    private static int indexOf(String[] header, String name) {
+        for (int i = 0; i < header.length; i++) {
+            String column = header[i].trim();
+            if (i == 0 && column.startsWith("\uFEFF")) {
+                column = column.substring(1).trim();
+            }
+            if (column.equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the input header names.
+     *
+     * @return copy of the four input column names
+     */
+    public String[] getInputColumns() {
+        return inputColumns.clone();
+    }
+
+    /**
+     * Returns the output header row, joined with commas.
+     *
+     * @return output header line (without a line terminator)
+     */
+    public String getOutputHeader() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < outputColumns.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(CSVWriter.quote(outputColumns[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package org.howard.edu.lsp.assignment3;
 
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -13,20 +14,51 @@ import java.util.List;
  * {@code data/transformed_products.csv}, always including the header row.
  * The output directory is created automatically if it does not exist.</p>
  *
+ * <p>Rows can be written all at once with {@link #write(List)}, or streamed
+ * with {@link #open()}, {@link #writeRow(Product)} and {@link #close()}, in
+ * which case the writer doubles as the {@link ProductSink} at the end of the
+ * pipeline.</p>
+ *
+ * <p>Fields are quoted following RFC 4180 only when they need it (they
+ * contain a comma, a quote or a line break), so ordinary rows are written
+ * exactly as before and anything {@link CSVParser} can read round-trips.</p>
+ *
  * @author Abdul Nafay Saleem
  */
-public class CSVWriter {
+public class CSVWriter implements ProductSink, Closeable {
 
     /** Path to the output CSV file. */
     private final String outputPath;
 
+    /** Supplies the header row. */
+    private final CSVSchema schema;
+
+    /** Open output stream between {@link #open()} and {@link #close()}. */
+    private BufferedWriter bw;
+
+    /** Data rows written since the last {@link #open()}. */
+    private int rowsWritten = 0;
+
     /**
-     * Constructs a CSVWriter that writes to the given file path.
+     * Constructs a CSVWriter that writes to the given file path using the
+     * default {@link CSVSchema} header.
      *
      * @param outputPath relative or absolute path for the output CSV
      */
     public CSVWriter(String outputPath) {
+        this(outputPath, new CSVSchema());
+    }
+
+    /**
+     * Constructs a CSVWriter that writes to the given file path with the
+     * header row of the given schema.
+     *
+     * @param outputPath relative or absolute path for the output CSV
+     * @param schema     supplies the output header names
+     */
+    public CSVWriter(String outputPath, CSVSchema schema) {
         this.outputPath = outputPath;
+        this.schema     = schema;
     }
 
     /**
@@ -39,6 +71,24 @@ public class CSVWriter {
      * @throws IOException if an I/O error occurs while writing
      */
     public void write(List<Product> products) throws IOException {
+        open();
+        try {
+            for (Product p : products) {
+                writeRow(p);
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Creates (or truncates) the output file and writes the header row.
+     *
+     * <p>The output directory is created if it does not already exist.</p>
+     *
+     * @throws IOException if the file cannot be created or written
+     */
+    public void open() throws IOException {
         File outputFile = new File(outputPath);
         File outputDir  = outputFile.getParentFile();
 
@@ -46,21 +96,86 @@ public class CSVWriter {
             outputDir.mkdirs();
         }
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(outputFile))) {
-            // Always write the header
-            bw.write("ProductID,Name,Price,Category,PriceRange");
-            bw.newLine();
+        bw = new BufferedWriter(new FileWriter(outputFile));
+        rowsWritten = 0;
 
-            for (Product p : products) {
-                String row = p.getProductId()
-                        + "," + p.getName()
-                        + "," + p.getPrice().toPlainString()
-                        + "," + p.getCategory()
-                        + "," + p.getPriceRange();
-                bw.write(row);
-                bw.newLine();
+        // Always write the header
+        bw.write(schema.getOutputHeader());
+        bw.newLine();
+    }
+
+    /**
+     * Writes one product as a data row.  Must be called between
+     * {@link #open()} and {@link #close()}.
+     *
+     * <p>Price values are always written with exactly two decimal places.</p>
+     *
+     * @param p fully-transformed product to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void writeRow(Product p) throws IOException {
+        String row = p.getProductId()
+                + "," + quote(p.getName())
+                + "," + p.getPrice().toPlainString()
+                + "," + quote(p.getCategory())
+                + "," + p.getPriceRange();
+        bw.write(row);
+        bw.newLine();
+        rowsWritten++;
+    }
+
+    /**
+     * Writes one product as a data row; same as {@link #writeRow(Product)}.
+     *
+     * @param product fully-transformed product to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    @Override
+    public void accept(Product product) throws IOException {
+        writeRow(product);
+    }
+
+    /**
+     * Flushes and closes the output file.  Does nothing if the writer is not
+     * open.
+     *
+     * @throws IOException if the file cannot be flushed or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (bw != null) {
+            try {
+                bw.close();
+            } finally {
+                bw = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of data rows written since the last {@link #open()}.
+     *
+     * @return rows written count
+     */
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Quotes a field for CSV output if, and only if, it contains a comma,
+     * a double quote, or a line break.  Embedded quotes are doubled.
+     *
+     * @param field raw field value
+     * @return the field, quoted when necessary
+     */
+    static String quote(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + field.replace("\"", "\"\"") + '"';
             }
         }
+        return field;
     }
 
     /**
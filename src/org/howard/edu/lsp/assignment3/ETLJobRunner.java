@@ -0,0 +1,177 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Long-lived runner that executes many {@link ETLPipeline} jobs in one JVM.
+ *
+ * <p>Each job is an (input, output) pair run on its own virtual thread, so a
+ * batch of tenant feeds pays JVM startup once instead of once per feed.  The
+ * pipelines are I/O bound, so a {@link Semaphore} caps how many of them may
+ * have files open at the same time; the remaining virtual threads simply park
+ * until a permit is released.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>{@code
+ *   java org.howard.edu.lsp.assignment3.ETLJobRunner jobs.txt [maxConcurrentJobs]
+ * }</pre>
+ *
+ * <p>where every non-blank line of {@code jobs.txt} that does not start with
+ * {@code #} has the form {@code inputPath,outputPath}.</p>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public class ETLJobRunner {
+
+    /** Number of pipelines allowed to do I/O at once when none is given. */
+    public static final int DEFAULT_MAX_CONCURRENT_JOBS = 16;
+
+    /** Upper bound on pipelines doing I/O at the same time. */
+    private final int maxConcurrentJobs;
+
+    /**
+     * Constructs a runner with {@link #DEFAULT_MAX_CONCURRENT_JOBS}.
+     */
+    public ETLJobRunner() {
+        this(DEFAULT_MAX_CONCURRENT_JOBS);
+    }
+
+    /**
+     * Constructs a runner with the given concurrency limit.
+     *
+     * @param maxConcurrentJobs maximum number of pipelines running at once
+     * @throws IllegalArgumentException if {@code maxConcurrentJobs} is not positive
+     */
+    public ETLJobRunner(int maxConcurrentJobs) {
+        if (maxConcurrentJobs <= 0) {
+            throw new IllegalArgumentException(
+                    "maxConcurrentJobs must be positive: " + maxConcurrentJobs);
+        }
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    /**
+     * Runs every pipeline and waits for all of them to finish.
+     *
+     * <p>A job that throws unexpectedly is reported as a failed
+     * {@link RunSummary}; it never prevents the other jobs from
+     * completing.</p>
+     *
+     * @param jobs pipelines to execute
+     * @return one summary per job, in the same order as {@code jobs}
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public List<RunSummary> runAll(List<ETLPipeline> jobs) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxConcurrentJobs);
+        List<Future<RunSummary>> futures = new ArrayList<>(jobs.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ETLPipeline job : jobs) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return job.execute();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<RunSummary> summaries = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            ETLPipeline job = jobs.get(i);
+            try {
+                summaries.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                summaries.add(RunSummary.failure(job.getInputPath(), job.getOutputPath(),
+                        "ERROR: " + e.getCause()));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Reads a job list file of {@code inputPath,outputPath} lines.
+     *
+     * <p>Blank lines and lines starting with {@code #} are ignored.</p>
+     *
+     * @param jobsFile path to the job list
+     * @return one pipeline per job line
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static List<ETLPipeline> readJobs(String jobsFile) throws IOException {
+        List<ETLPipeline> jobs = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(jobsFile))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = br.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = trimmed.split(",", -1);
+                if (parts.length != 2) {
+                    throw new IOException("Malformed job on line " + lineNumber + ": " + line);
+                }
+                jobs.add(new ETLPipeline(parts[0].trim(), parts[1].trim()));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Application entry point.
+     *
+     * @param args {@code jobsFile [maxConcurrentJobs]}
+     * @throws InterruptedException if interrupted while waiting for jobs
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: ETLJobRunner <jobsFile> [maxConcurrentJobs]");
+            return;
+        }
+
+        List<ETLPipeline> jobs;
+        try {
+            jobs = readJobs(args[0]);
+        } catch (IOException e) {
+            System.out.println("ERROR: Cannot read job list: " + e.getMessage());
+            return;
+        }
+
+        ETLJobRunner runner;
+        try {
+            runner = args.length == 2
+                    ? new ETLJobRunner(Integer.parseInt(args[1]))
+                    : new ETLJobRunner();
+        } catch (IllegalArgumentException e) {
+            System.out.println("ERROR: Invalid maxConcurrentJobs: " + args[1]);
+            return;
+        }
+
+        List<RunSummary> summaries = runner.runAll(jobs);
+
+        int failed = 0;
+        for (int i = 0; i < summaries.size(); i++) {
+            RunSummary summary = summaries.get(i);
+            System.out.println("Job " + (i + 1) + ": " + summary.getInputPath());
+            summary.print(System.out);
+            System.out.println();
+            if (!summary.isSuccess()) {
+                failed++;
+            }
+        }
+        System.out.println("Jobs run: " + summaries.size() + ", failed: " + failed);
+    }
+}
@@ -1,15 +1,14 @@
 package org.howard.edu.lsp.assignment3;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Orchestrates the full Extract → Transform → Load pipeline.
  *
  * <p>This class coordinates the three phases of the ETL process by delegating
  * each phase to its specialist class ({@link CSVReader}, {@link ProductTransformer},
- * and {@link CSVWriter}).  It also collects run-statistics and prints the
- * summary that matches Assignment 2's output exactly.</p>
+ * and {@link CSVWriter}).  It also collects run-statistics into a
+ * {@link RunSummary} whose printed form matches Assignment 2's output exactly.</p>
  *
  * <p>Usage:</p>
  * <pre>{@code
@@ -28,89 +27,108 @@ public class ETLPipeline {
     /** Relative path to the output CSV file. */
     private final String outputPath;
 
+    /** Column names of the input and output files. */
+    private final CSVSchema schema;
+
     /**
-     * Constructs an ETLPipeline with the specified input and output paths.
+     * Constructs an ETLPipeline with the specified input and output paths
+     * and the default {@link CSVSchema}.
      *
      * @param inputPath  path to the source CSV file
      * @param outputPath path where the transformed CSV will be written
      */
     public ETLPipeline(String inputPath, String outputPath) {
+        this(inputPath, outputPath, new CSVSchema());
+    }
+
+    /**
+     * Constructs an ETLPipeline with the specified paths and column schema.
+     *
+     * @param inputPath  path to the source CSV file
+     * @param outputPath path where the transformed CSV will be written
+     * @param schema     column names of the input and output files
+     */
+    public ETLPipeline(String inputPath, String outputPath, CSVSchema schema) {
         this.inputPath  = inputPath;
         this.outputPath = outputPath;
+        this.schema     = schema;
     }
 
     /**
-     * Executes the full ETL pipeline: Extract, Transform, and Load.
-     *
-     * <p>Steps performed:</p>
-     * <ol>
-     *   <li><strong>Extract</strong> – {@link CSVReader} reads and validates
-     *       the input file.</li>
-     *   <li><strong>Transform</strong> – {@link ProductTransformer} applies
-     *       all business rules to the parsed products.</li>
-     *   <li><strong>Load</strong> – {@link CSVWriter} writes the results to
-     *       the output file.</li>
-     *   <li>Prints a run-summary matching Assignment 2's format.</li>
-     * </ol>
+     * Executes the full ETL pipeline and prints the run summary.
      *
-     * <p>If the input file is missing, an error message is printed and the
-     * method returns without producing output.  I/O errors are caught and
-     * reported without a stack trace.</p>
+     * <p>This is the behaviour of the original single-feed entry point: the
+     * pipeline is {@linkplain #execute() executed} and its {@link RunSummary}
+     * is printed in Assignment 2's format.  If the input file is missing or
+     * an I/O error occurs, only the error message is printed (no stack
+     * trace).</p>
      */
     public void run() {
-        CSVReader reader = new CSVReader(inputPath);
+        execute().print(System.out);
+    }
 
-        // ── Extract ────────────────────────────────────────────────────────────
-        boolean fileFound;
-        try {
-            fileFound = reader.read();
-        } catch (IOException e) {
-            System.out.println("ERROR: I/O failure while processing files.");
-            return;
+    /**
+     * Executes the full ETL pipeline: Extract, Transform, and Load.
+     *
+     * <p>The three phases run as one streaming loop: each row parsed by
+     * {@link CSVReader} is transformed by {@link ProductTransformer} and
+     * written by {@link CSVWriter} before the next row is read, so memory use
+     * does not grow with the size of the input.  This is the single engine
+     * behind both this class and Assignment 2's entry point.</p>
+     *
+     * <p>Nothing is printed; failures are reported through the returned
+     * summary so that many pipelines can run side by side.  If the input
+     * file is missing, no output file is created.</p>
+     *
+     * @return the outcome of the run
+     */
+    public RunSummary execute() {
+        CSVReader reader = new CSVReader(inputPath, schema);
+        if (!reader.exists()) {
+            return RunSummary.failure(inputPath, outputPath,
+                    "ERROR: Missing input file: " + inputPath);
         }
 
-        if (!fileFound) {
-            System.out.println("ERROR: Missing input file: " + inputPath);
-            return;
-        }
+        ProductTransformer transformer = new ProductTransformer();
 
-        List<Product> products = reader.getProducts();
-        int rowsRead    = reader.getRowsRead();
-        int rowsSkipped = reader.getRowsSkipped();
+        // ── Extract → Transform → Load, one row at a time ─────────────────────
+        try (CSVWriter writer = new CSVWriter(outputPath, schema)) {
+            writer.open();
+            boolean fileFound = reader.read(product -> {
+                transformer.transform(product);
+                writer.writeRow(product);
+            });
 
-        // ── Transform ──────────────────────────────────────────────────────────
-        ProductTransformer transformer = new ProductTransformer();
-        transformer.transformAll(products);
+            if (!fileFound) {
+                // The file disappeared between the existence check and opening it.
+                return RunSummary.failure(inputPath, outputPath,
+                        "ERROR: Missing input file: " + inputPath);
+            }
 
-        // ── Load ───────────────────────────────────────────────────────────────
-        CSVWriter writer = new CSVWriter(outputPath);
-        try {
-            writer.write(products);
+            // ── Summary ────────────────────────────────────────────────────────
+            return RunSummary.success(inputPath, outputPath, reader.getRowsRead(),
+                    writer.getRowsWritten(), reader.getRowsSkipped());
         } catch (IOException e) {
-            System.out.println("ERROR: I/O failure while processing files.");
-            return;
+            return RunSummary.failure(inputPath, outputPath,
+                    "ERROR: I/O failure while processing files.");
         }
+    }
 
-        int rowsTransformed = products.size();
-
-        // ── Summary ────────────────────────────────────────────────────────────
-        printSummary(rowsRead, rowsTransformed, rowsSkipped, outputPath);
+    /**
+     * Returns the input file path this pipeline was configured with.
+     *
+     * @return input path string
+     */
+    public String getInputPath() {
+        return inputPath;
     }
 
     /**
-     * Prints the run summary to standard output.
+     * Returns the output file path this pipeline was configured with.
      *
-     * @param rowsRead        total non-header lines encountered
-     * @param rowsTransformed lines successfully transformed and written
-     * @param rowsSkipped     lines skipped due to validation errors
-     * @param outputPath      path of the output file that was written
+     * @return output path string
      */
-    private void printSummary(int rowsRead, int rowsTransformed,
-                               int rowsSkipped, String outputPath) {
-        System.out.println("Run Summary");
-        System.out.println("Rows read: "        + rowsRead);
-        System.out.println("Rows transformed: " + rowsTransformed);
-        System.out.println("Rows skipped: "     + rowsSkipped);
-        System.out.println("Output written to: "+ outputPath);
+    public String getOutputPath() {
+        return outputPath;
     }
 }
@@ -0,0 +1,23 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.IOException;
+
+/**
+ * Receives products one at a time as the Extract phase parses them.
+ *
+ * <p>Passing a sink to {@link CSVReader#read(ProductSink)} lets the pipeline
+ * stream each row through {@link ProductTransformer} and into
+ * {@link CSVWriter} without holding the whole file in memory.</p>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public interface ProductSink {
+
+    /**
+     * Handles one successfully parsed product.
+     *
+     * @param product the parsed product
+     * @throws IOException if handling the product requires I/O that fails
+     */
+    void accept(Product product) throws IOException;
+}
@@ -0,0 +1,157 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.PrintStream;
+
+/**
+ * Immutable result of a single {@link ETLPipeline} run.
+ *
+ * <p>A summary is either <em>successful</em>, carrying the row counters
+ * collected during the run, or <em>failed</em>, carrying the error message
+ * that would otherwise have been printed.  Keeping the result as a value
+ * (rather than printing straight from the pipeline) lets callers such as
+ * {@link ETLJobRunner} run many pipelines and report on them afterwards.</p>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public class RunSummary {
+
+    /** Path of the input CSV the run read from. */
+    private final String inputPath;
+
+    /** Path of the output CSV the run wrote to. */
+    private final String outputPath;
+
+    /** Total non-header lines encountered (including bad ones). */
+    private final int rowsRead;
+
+    /** Lines successfully transformed and written. */
+    private final int rowsTransformed;
+
+    /** Lines skipped due to validation failures. */
+    private final int rowsSkipped;
+
+    /** Error message for a failed run, or {@code null} on success. */
+    private final String errorMessage;
+
+    /**
+     * Constructs a RunSummary.  Use {@link #success} or {@link #failure}.
+     */
+    private RunSummary(String inputPath, String outputPath, int rowsRead,
+                       int rowsTransformed, int rowsSkipped, String errorMessage) {
+        this.inputPath       = inputPath;
+        this.outputPath      = outputPath;
+        this.rowsRead        = rowsRead;
+        this.rowsTransformed = rowsTransformed;
+        this.rowsSkipped     = rowsSkipped;
+        this.errorMessage    = errorMessage;
+    }
+
+    /**
+     * Creates the summary of a run that completed normally.
+     *
+     * @param inputPath       path of the input file
+     * @param outputPath      path of the output file that was written
+     * @param rowsRead        total non-header lines encountered
+     * @param rowsTransformed lines successfully transformed and written
+     * @param rowsSkipped     lines skipped due to validation errors
+     * @return a successful summary
+     */
+    public static RunSummary success(String inputPath, String outputPath, int rowsRead,
+                                     int rowsTransformed, int rowsSkipped) {
+        return new RunSummary(inputPath, outputPath, rowsRead,
+                rowsTransformed, rowsSkipped, null);
+    }
+
+    /**
+     * Creates the summary of a run that stopped on an error.
+     *
+     * @param inputPath    path of the input file
+     * @param outputPath   path of the output file
+     * @param errorMessage message describing the failure
+     * @return a failed summary
+     */
+    public static RunSummary failure(String inputPath, String outputPath, String errorMessage) {
+        return new RunSummary(inputPath, outputPath, 0, 0, 0, errorMessage);
+    }
+
+    /**
+     * Returns whether the run completed without an error.
+     *
+     * @return {@code true} on success
+     */
+    public boolean isSuccess() {
+        return errorMessage == null;
+    }
+
+    /**
+     * Returns the input file path.
+     *
+     * @return input path string
+     */
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    /**
+     * Returns the output file path.
+     *
+     * @return output path string
+     */
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    /**
+     * Returns the number of non-header lines encountered.
+     *
+     * @return rows read count
+     */
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Returns the number of lines transformed and written.
+     *
+     * @return rows transformed count
+     */
+    public int getRowsTransformed() {
+        return rowsTransformed;
+    }
+
+    /**
+     * Returns the number of lines skipped due to validation errors.
+     *
+     * @return rows skipped count
+     */
+    public int getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    /**
+     * Returns the error message of a failed run.
+     *
+     * @return error message, or {@code null} if the run succeeded
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Prints the summary in Assignment 2's format, or the error message if
+     * the run failed.
+     *
+     * @param out stream to print to
+     */
+    public void print(PrintStream out) {
+        if (!isSuccess()) {
+            out.println(errorMessage);
+            return;
+        }
+        out.println("Run Summary");
+        out.println("Rows read: "        + rowsRead);
+        out.println("Rows transformed: " + rowsTransformed);
+        out.println("Rows skipped: "     + rowsSkipped);
+        out.println("Output written to: "+ outputPath);
+    }
+}
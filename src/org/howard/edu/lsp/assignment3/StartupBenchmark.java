@@ -0,0 +1,116 @@
+package org.howard.edu.lsp.assignment3;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the wall-clock time of complete {@link ETLApp} launches.
+ *
+ * <p>Each mode starts a fresh JVM running {@code ETLApp} on
+ * {@code data/products.csv} and times it from process start to exit, which
+ * is what a cron-launched feed actually pays.  Three modes are compared:</p>
+ * <ol>
+ *   <li><strong>cold</strong> – default JVM flags, classes loaded and
+ *       verified from the jar.</li>
+ *   <li><strong>archived</strong> – the same launch mapping the AppCDS
+ *       archive built by {@code scripts/etlapp-cds.sh}.</li>
+ *   <li><strong>archived+tuned</strong> – the archive plus the extra
+ *       startup-oriented flags passed on the command line.</li>
+ * </ol>
+ *
+ * <p>Usage (normally via {@code scripts/etlapp-cds.sh bench}):</p>
+ * <pre>{@code
+ *   java org.howard.edu.lsp.assignment3.StartupBenchmark \
+ *        <classpath> <archive.jsa> <launches> [extra JVM flags...]
+ * }</pre>
+ *
+ * @author Abdul Nafay Saleem
+ */
+public class StartupBenchmark {
+
+    /** Fully-qualified name of the class each child JVM runs. */
+    private static final String MAIN_CLASS = ETLApp.class.getName();
+
+    /**
+     * Application entry point.
+     *
+     * @param args {@code classpath archive launches [extra JVM flags...]}
+     * @throws IOException          if a child JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for a child JVM
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.out.println("Usage: StartupBenchmark <classpath> <archive.jsa> <launches> [JVM flags...]");
+            return;
+        }
+
+        String classpath  = args[0];
+        String archive    = args[1];
+        int launches      = Integer.parseInt(args[2]);
+        List<String> extraFlags = Arrays.asList(args).subList(3, args.length);
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        List<String> cold = List.of(java, "-cp", classpath, MAIN_CLASS);
+
+        List<String> archived = List.of(java, "-XX:SharedArchiveFile=" + archive,
+                "-cp", classpath, MAIN_CLASS);
+
+        List<String> tuned = new ArrayList<>();
+        tuned.add(java);
+        tuned.add("-XX:SharedArchiveFile=" + archive);
+        tuned.addAll(extraFlags);
+        tuned.addAll(List.of("-cp", classpath, MAIN_CLASS));
+
+        System.out.println("Startup Benchmark (" + launches + " launches per mode)");
+        report("cold",           time(cold, launches));
+        report("archived",       time(archived, launches));
+        report("archived+tuned", time(tuned, launches));
+    }
+
+    /**
+     * Launches the command {@code launches} times (after one untimed warm-up
+     * launch that primes the OS file cache) and returns the sorted
+     * per-launch durations in milliseconds.
+     *
+     * @param command  command line of the child JVM
+     * @param launches number of timed launches
+     * @return sorted launch times in milliseconds
+     * @throws IOException          if the child JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static double[] time(List<String> command, int launches)
+            throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT);
+
+        pb.start().waitFor();
+
+        double[] millis = new double[launches];
+        for (int i = 0; i < launches; i++) {
+            long start = System.nanoTime();
+            int exit = pb.start().waitFor();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+            if (exit != 0) {
+                throw new IOException("Child JVM exited with status " + exit + ": " + command);
+            }
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    /**
+     * Prints min / median / max for one mode.
+     *
+     * @param mode   label of the mode
+     * @param millis sorted launch times in milliseconds
+     */
+    private static void report(String mode, double[] millis) {
+        System.out.printf("%-15s min %7.1f ms   median %7.1f ms   max %7.1f ms%n",
+                mode, millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+    }
+}
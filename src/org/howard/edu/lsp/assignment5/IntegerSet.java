@@ -1,25 +1,32 @@
 package org.howard.edu.lsp.assignment5;
 
-import java.util.ArrayList;
-import java.util.Collections;
-
 /**
  * Represents a mathematical set of integers.
  * A set cannot contain duplicates and supports standard set operations.
  * All set operations return a new IntegerSet and do not modify the originals.
+ *
+ * <p>Every method delegates to {@link org.howard.edu.lsp.assignment6.IntegerSet},
+ * the optimized implementation both assignments share, so a performance fix
+ * made there applies here too. This class only keeps the assignment 5 API.</p>
  */
 public class IntegerSet {
 
-    private ArrayList<Integer> set = new ArrayList<>();
+    private final org.howard.edu.lsp.assignment6.IntegerSet core;
 
     /** Default constructor */
-    public IntegerSet() {}
+    public IntegerSet() {
+        this(new org.howard.edu.lsp.assignment6.IntegerSet());
+    }
+
+    private IntegerSet(org.howard.edu.lsp.assignment6.IntegerSet core) {
+        this.core = core;
+    }
 
     /**
      * Clears all elements from the set.
      */
     public void clear() {
-        set.clear();
+        core.clear();
     }
 
     /**
@@ -27,7 +34,7 @@ public class IntegerSet {
      * @return size of the set
      */
     public int length() {
-        return set.size();
+        return core.length();
     }
 
     /**
@@ -37,11 +44,7 @@ public class IntegerSet {
      * @return true if equal
      */
     public boolean equals(IntegerSet b) {
-        ArrayList<Integer> copy1 = new ArrayList<>(set);
-        ArrayList<Integer> copy2 = new ArrayList<>(b.set);
-        Collections.sort(copy1);
-        Collections.sort(copy2);
-        return copy1.equals(copy2);
+        return core.equals(b.core);
     }
 
     /**
@@ -50,7 +53,7 @@ public class IntegerSet {
      * @return true if found
      */
     public boolean contains(int value) {
-        return set.contains(value);
+        return core.contains(value);
     }
 
     /**
@@ -59,8 +62,7 @@ public class IntegerSet {
      * @throws IllegalStateException if the set is empty
      */
     public int largest() {
-        if (isEmpty()) throw new IllegalStateException("Set is empty");
-        return Collections.max(set);
+        return core.largest();
     }
 
     /**
@@ -69,8 +71,7 @@ public class IntegerSet {
      * @throws IllegalStateException if the set is empty
      */
     public int smallest() {
-        if (isEmpty()) throw new IllegalStateException("Set is empty");
-        return Collections.min(set);
+        return core.smallest();
     }
 
     /**
@@ -78,9 +79,7 @@ public class IntegerSet {
      * @param item the integer to add
      */
     public void add(int item) {
-        if (!set.contains(item)) {
-            set.add(item);
-        }
+        core.add(item);
     }
 
     /**
@@ -88,7 +87,7 @@ public class IntegerSet {
      * @param item the integer to remove
      */
     public void remove(int item) {
-        set.remove(Integer.valueOf(item));
+        core.remove(item);
     }
 
     /**
@@ -97,14 +96,7 @@ public class IntegerSet {
      * @return union of the two sets
      */
     public IntegerSet union(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(set);
-        for (int item : intSetb.set) {
-            if (!result.set.contains(item)) {
-                result.set.add(item);
-            }
-        }
-        return result;
+        return new IntegerSet(core.union(intSetb.core));
     }
 
     /**
@@ -113,10 +105,7 @@ public class IntegerSet {
      * @return intersection of the two sets
      */
     public IntegerSet intersect(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(set);
-        result.set.retainAll(intSetb.set);
-        return result;
+        return new IntegerSet(core.intersect(intSetb.core));
     }
 
     /**
@@ -125,10 +114,7 @@ public class IntegerSet {
      * @return difference (this - intSetb)
      */
     public IntegerSet diff(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(set);
-        result.set.removeAll(intSetb.set);
-        return result;
+        return new IntegerSet(core.diff(intSetb.core));
     }
 
     /**
@@ -137,10 +123,7 @@ public class IntegerSet {
      * @return complement (intSetb - this)
      */
     public IntegerSet complement(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(intSetb.set);
-        result.set.removeAll(set);
-        return result;
+        return new IntegerSet(core.complement(intSetb.core));
     }
 
     /**
@@ -148,7 +131,7 @@ public class IntegerSet {
      * @return true if empty
      */
     public boolean isEmpty() {
-        return set.isEmpty();
+        return core.isEmpty();
     }
 
     /**
@@ -158,8 +141,6 @@ public class IntegerSet {
      */
     @Override
     public String toString() {
-        ArrayList<Integer> sorted = new ArrayList<>(set);
-        Collections.sort(sorted);
-        return sorted.toString();
+        return core.toString();
     }
 }
\ No newline at end of file
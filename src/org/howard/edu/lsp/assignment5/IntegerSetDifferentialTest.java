@@ -0,0 +1,138 @@
+package org.howard.edu.lsp.assignment5;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Runs random operation sequences against IntegerSet and against the
+ * original ArrayList implementation, and checks that every result matches.
+ */
+public class IntegerSetDifferentialTest {
+
+    /** The ArrayList implementation IntegerSet had before it delegated to assignment 6. */
+    private static final class ListSet {
+
+        private final ArrayList<Integer> set = new ArrayList<>();
+
+        void add(int item) {
+            if (!set.contains(item)) {
+                set.add(item);
+            }
+        }
+
+        void remove(int item) {
+            set.remove(Integer.valueOf(item));
+        }
+
+        ListSet union(ListSet b) {
+            ListSet result = new ListSet();
+            result.set.addAll(set);
+            for (int item : b.set) {
+                if (!result.set.contains(item)) {
+                    result.set.add(item);
+                }
+            }
+            return result;
+        }
+
+        ListSet intersect(ListSet b) {
+            ListSet result = new ListSet();
+            result.set.addAll(set);
+            result.set.retainAll(b.set);
+            return result;
+        }
+
+        ListSet diff(ListSet b) {
+            ListSet result = new ListSet();
+            result.set.addAll(set);
+            result.set.removeAll(b.set);
+            return result;
+        }
+
+        boolean equals(ListSet b) {
+            ArrayList<Integer> copy1 = new ArrayList<>(set);
+            ArrayList<Integer> copy2 = new ArrayList<>(b.set);
+            Collections.sort(copy1);
+            Collections.sort(copy2);
+            return copy1.equals(copy2);
+        }
+
+        @Override
+        public String toString() {
+            ArrayList<Integer> sorted = new ArrayList<>(set);
+            Collections.sort(sorted);
+            return sorted.toString();
+        }
+    }
+
+    /** Checks every query on one pair of sets. */
+    private static void assertMatches(ListSet expected, IntegerSet actual, String where) {
+        assertEquals(expected.toString(), actual.toString(), where);
+        assertEquals(expected.set.size(), actual.length(), where);
+        assertEquals(expected.set.isEmpty(), actual.isEmpty(), where);
+        if (expected.set.isEmpty()) {
+            assertThrows(IllegalStateException.class, actual::largest);
+            assertThrows(IllegalStateException.class, actual::smallest);
+        } else {
+            assertEquals((int) Collections.max(expected.set), actual.largest(), where);
+            assertEquals((int) Collections.min(expected.set), actual.smallest(), where);
+        }
+    }
+
+    // ── random operation sequences ───────────────────────────────────────
+    @Test
+    @DisplayName("Test random operations match the ArrayList implementation")
+    public void testRandomOperations() {
+        Random random = new Random(48);
+        int[] extremes = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1};
+        for (int round = 0; round < 200; round++) {
+            int bound = round % 4 == 0 ? 1 << 20 : 64;
+            ListSet[] expected = {new ListSet(), new ListSet()};
+            IntegerSet[] actual = {new IntegerSet(), new IntegerSet()};
+            for (int step = 0; step < 150; step++) {
+                int s = random.nextInt(2);
+                int value = random.nextInt(20) == 0 ? extremes[random.nextInt(extremes.length)]
+                        : random.nextInt(bound) - bound / 2;
+                String where = "round " + round + " step " + step;
+                switch (random.nextInt(10)) {
+                    case 0:
+                    case 1:
+                    case 2:
+                    case 3:
+                        expected[s].add(value);
+                        actual[s].add(value);
+                        break;
+                    case 4:
+                    case 5:
+                        expected[s].remove(value);
+                        actual[s].remove(value);
+                        break;
+                    case 6:
+                        assertEquals(expected[s].set.contains(value), actual[s].contains(value), where);
+                        break;
+                    case 7:
+                        if (random.nextInt(20) == 0) {
+                            expected[s].set.clear();
+                            actual[s].clear();
+                        }
+                        break;
+                    default:
+                        assertMatches(expected[0].union(expected[1]), actual[0].union(actual[1]), where + " union");
+                        assertMatches(expected[0].intersect(expected[1]), actual[0].intersect(actual[1]),
+                                where + " intersect");
+                        assertMatches(expected[0].diff(expected[1]), actual[0].diff(actual[1]), where + " diff");
+                        assertMatches(expected[1].diff(expected[0]), actual[0].complement(actual[1]),
+                                where + " complement");
+                        assertEquals(expected[0].equals(expected[1]), actual[0].equals(actual[1]), where);
+                        assertTrue(actual[s].equals(actual[s].union(new IntegerSet())), where);
+                }
+                assertMatches(expected[s], actual[s], where);
+            }
+        }
+    }
+}
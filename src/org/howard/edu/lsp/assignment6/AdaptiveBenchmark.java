@@ -0,0 +1,125 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH suite comparing {@link IntegerSet.Representation#ADAPTIVE} against the
+ * fixed representations on the three set shapes it has to handle.
+ *
+ * <ul>
+ *   <li>{@code TINY}: 16 values in [0, 1000),</li>
+ *   <li>{@code DENSE}: 50,000 values in [0, 100,000),</li>
+ *   <li>{@code SPARSE}: 50,000 values spread over [-2^26, 2^26).</li>
+ * </ul>
+ *
+ * <p>For each shape, ADAPTIVE should be within a small factor of the best
+ * fixed representation on every operation. Run with, for example:</p>
+ * <pre>
+ *   java -cp &lt;classes+jmh&gt; org.openjdk.jmh.Main AdaptiveBenchmark -p shape=SPARSE
+ * </pre>
+ *
+ * <p>LIST is left out: it is quadratic to build at these sizes;
+ * {@link IntegerSetBenchmark} covers it.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdaptiveBenchmark {
+
+    /** Set shapes: element count and value range. */
+    public enum Shape {
+        TINY(16, 0, 1000),
+        DENSE(50_000, 0, 100_000),
+        SPARSE(50_000, -(1 << 26), 1 << 26);
+
+        final int size;
+        final int from;
+        final int to;
+
+        Shape(int size, int from, int to) {
+            this.size = size;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    @Param({"TINY", "DENSE", "SPARSE"})
+    public Shape shape;
+
+    @Param({"ADAPTIVE", "SORTED_ARRAY", "HASH", "BITMAP", "ROARING"})
+    public IntegerSet.Representation representation;
+
+    private int[] values;
+    private int[] otherValues;
+    private int[] probes;
+    private IntegerSet a;
+    private IntegerSet b;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = random.ints(shape.from, shape.to).distinct().limit(shape.size).toArray();
+        otherValues = random.ints(shape.from, shape.to).distinct().limit(shape.size).toArray();
+        probes = random.ints(1024, shape.from, shape.to).toArray();
+        a = fill(values);
+        b = fill(otherValues);
+    }
+
+    private IntegerSet fill(int[] source) {
+        IntegerSet set = new IntegerSet(representation);
+        for (int value : source) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntegerSet build() {
+        return fill(values);
+    }
+
+    @Benchmark
+    public void contains(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(a.contains(probe));
+        }
+    }
+
+    @Benchmark
+    public IntegerSet union() {
+        return a.union(b);
+    }
+
+    @Benchmark
+    public IntegerSet intersect() {
+        return a.intersect(b);
+    }
+
+    @Benchmark
+    public IntegerSet diff() {
+        return a.diff(b);
+    }
+
+    @Benchmark
+    public int extremes() {
+        return a.largest() - a.smallest();
+    }
+}
@@ -0,0 +1,398 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Representation that picks its backing store from the set's size and
+ * value range and migrates as they change.
+ *
+ * <ul>
+ *   <li>small sets live in a {@link SortedArrayStore},</li>
+ *   <li>large dense sets in a {@link BitmapStore},</li>
+ *   <li>large sparse sets in a {@link HashStore}.</li>
+ * </ul>
+ *
+ * <p>The thresholds come from {@link AdaptiveThresholds}. {@code lo} and
+ * {@code hi} bound the elements; add keeps them exact, remove may leave them
+ * loose, so they are recomputed whenever the store is re-evaluated. Set
+ * operations run on the current backing stores (so the same-type fast
+ * paths apply) and the result is re-evaluated before it is returned.</p>
+ */
+class AdaptiveStore extends IntStore {
+
+    private final AdaptiveThresholds thresholds;
+    private IntStore delegate;
+    private long lo;
+    private long hi;
+    /** Size below which a remove triggers a full re-evaluation: half the recent peak. */
+    private int recheckBelow;
+
+    /**
+     * Creates an empty store.
+     * @param thresholds when to switch representations
+     */
+    AdaptiveStore(AdaptiveThresholds thresholds) {
+        this(thresholds, new SortedArrayStore());
+    }
+
+    private AdaptiveStore(AdaptiveThresholds thresholds, IntStore delegate) {
+        this.thresholds = thresholds;
+        this.delegate = delegate;
+        // Results computed with another representation's store are taken over first.
+        if (!adoptable(delegate)) {
+            migrate(new HashStore());
+        }
+        adapt();
+    }
+
+    /**
+     * Returns the store currently holding the elements.
+     * @return backing store
+     */
+    IntStore delegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the representation currently in use.
+     * @return SORTED_ARRAY, HASH or BITMAP
+     */
+    IntegerSet.Representation current() {
+        if (delegate instanceof BitmapStore) {
+            return IntegerSet.Representation.BITMAP;
+        }
+        if (delegate instanceof HashStore) {
+            return IntegerSet.Representation.HASH;
+        }
+        return IntegerSet.Representation.SORTED_ARRAY;
+    }
+
+    /**
+     * Recomputes the bounds and moves to the best representation for them,
+     * with hysteresis so a set near a threshold does not keep migrating.
+     */
+    private void adapt() {
+        int n = delegate.size();
+        if (n == 0) {
+            lo = 0;
+            hi = 0;
+        } else {
+            lo = delegate.min();
+            hi = delegate.max();
+        }
+        recheckBelow = n / 2;
+        int smallMax = thresholds.getSmallMax();
+        if (delegate instanceof SortedArrayStore) {
+            if (n > smallMax) {
+                migrate(thresholds.dense(n, lo, hi) ? new BitmapStore() : new HashStore());
+            }
+        } else if (n <= smallMax / 2) {
+            migrate(new SortedArrayStore());
+        } else if (delegate instanceof BitmapStore) {
+            if (thresholds.sparse(n, lo, hi)) {
+                migrate(new HashStore());
+            }
+        } else if (thresholds.dense(n, lo, hi)) {
+            migrate(new BitmapStore());
+        }
+    }
+
+    private void migrate(IntStore target) {
+        delegate.forEach(target::add);
+        delegate = target;
+    }
+
+    @Override
+    int size() {
+        return delegate.size();
+    }
+
+    @Override
+    boolean contains(int value) {
+        return delegate.contains(value);
+    }
+
+    @Override
+    boolean add(int value) {
+        int n = delegate.size();
+        boolean outside = n == 0 || value < lo || value > hi;
+        // Leave the bitmap before it grows to cover a far-away value.
+        if (outside && n > 0 && delegate instanceof BitmapStore
+                && thresholds.sparse(n + 1, Math.min(lo, value), Math.max(hi, value))) {
+            migrate(new HashStore());
+        }
+        if (!delegate.add(value)) {
+            return false;
+        }
+        if (n == 0) {
+            lo = value;
+            hi = value;
+        } else if (outside) {
+            lo = Math.min(lo, value);
+            hi = Math.max(hi, value);
+        }
+        n++;
+        recheckBelow = Math.max(recheckBelow, n / 2);
+        if (delegate instanceof SortedArrayStore) {
+            if (n > thresholds.getSmallMax()) {
+                migrate(thresholds.dense(n, lo, hi) ? new BitmapStore() : new HashStore());
+            }
+        } else if (delegate instanceof HashStore && thresholds.dense(n, lo, hi)) {
+            migrate(new BitmapStore());
+        }
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        if (!delegate.remove(value)) {
+            return false;
+        }
+        if (delegate.size() < recheckBelow) {
+            adapt();
+        }
+        return true;
+    }
+
+    // Bulk operations switch representation up front when the batch clearly
+    // calls for it (so a bitmap never grows to cover a far-away batch, and
+    // a large batch skips the sorted array), run on the backing store, and
+    // then re-evaluate.
+
+    /**
+     * Prepares for adding up to {@code added} values lying in [batchLo, batchHi].
+     */
+    private void beforeBulkAdd(long added, long batchLo, long batchHi) {
+        int n = delegate.size();
+        long newLo = n == 0 ? batchLo : Math.min(lo, batchLo);
+        long newHi = n == 0 ? batchHi : Math.max(hi, batchHi);
+        int atMost = (int) Math.min(n + added, Integer.MAX_VALUE);
+        if (atMost <= thresholds.getSmallMax()) {
+            return;
+        }
+        if (delegate instanceof BitmapStore) {
+            if (thresholds.sparse(atMost, newLo, newHi)) {
+                migrate(new HashStore());
+            }
+        } else if (thresholds.dense(atMost, newLo, newHi)) {
+            migrate(new BitmapStore());
+        } else if (delegate instanceof SortedArrayStore) {
+            migrate(new HashStore());
+        }
+    }
+
+    @Override
+    void addAll(int[] batch) {
+        if (batch.length == 0) {
+            return;
+        }
+        int batchLo = batch[0];
+        int batchHi = batch[0];
+        for (int value : batch) {
+            batchLo = Math.min(batchLo, value);
+            batchHi = Math.max(batchHi, value);
+        }
+        beforeBulkAdd(batch.length, batchLo, batchHi);
+        delegate.addAll(batch);
+        adapt();
+    }
+
+    @Override
+    void addRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        beforeBulkAdd((long) to - from, from, to - 1);
+        delegate.addRange(from, to);
+        adapt();
+    }
+
+    @Override
+    void removeAll(int[] batch) {
+        delegate.removeAll(batch);
+        adapt();
+    }
+
+    @Override
+    void unionInPlace(IntStore other) {
+        IntStore b = unwrap(other);
+        if (b.size() == 0) {
+            return;
+        }
+        beforeBulkAdd(b.size(), b.min(), b.max());
+        delegate.unionInPlace(b);
+        adapt();
+    }
+
+    @Override
+    void unionAll(IntStore[] operands) {
+        IntStore[] stores = new IntStore[operands.length];
+        long added = 0;
+        long batchLo = Long.MAX_VALUE;
+        long batchHi = Long.MIN_VALUE;
+        for (int i = 0; i < operands.length; i++) {
+            stores[i] = unwrap(operands[i]);
+            if (stores[i].size() > 0) {
+                added += stores[i].size();
+                batchLo = Math.min(batchLo, stores[i].min());
+                batchHi = Math.max(batchHi, stores[i].max());
+            }
+        }
+        if (added == 0) {
+            return;
+        }
+        beforeBulkAdd(added, batchLo, batchHi);
+        delegate.unionAll(stores);
+        adapt();
+    }
+
+    @Override
+    void intersectInPlace(IntStore other) {
+        delegate.intersectInPlace(unwrap(other));
+        adapt();
+    }
+
+    @Override
+    void diffInPlace(IntStore other) {
+        delegate.diffInPlace(unwrap(other));
+        adapt();
+    }
+
+    @Override
+    void removeMatching(IntPredicate filter) {
+        delegate.removeMatching(filter);
+        adapt();
+    }
+
+    @Override
+    void clear() {
+        delegate = new SortedArrayStore();
+        lo = 0;
+        hi = 0;
+        recheckBelow = 0;
+    }
+
+    @Override
+    int min() {
+        return delegate.min();
+    }
+
+    @Override
+    int max() {
+        return delegate.max();
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    boolean isSorted() {
+        return delegate.isSorted();
+    }
+
+    @Override
+    int[] toSortedArray() {
+        return delegate.toSortedArray();
+    }
+
+    @Override
+    Spliterator.OfInt spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    IntStore copy() {
+        return new AdaptiveStore(thresholds, delegate.copy());
+    }
+
+    @Override
+    IntStore empty() {
+        return new AdaptiveStore(thresholds);
+    }
+
+    /** Returns true if the store is one of the kinds this class switches between. */
+    private static boolean adoptable(IntStore store) {
+        return store instanceof SortedArrayStore || store instanceof HashStore
+                || store instanceof BitmapStore;
+    }
+
+    private static IntStore unwrap(IntStore store) {
+        return store instanceof AdaptiveStore ? ((AdaptiveStore) store).delegate : store;
+    }
+
+    @Override
+    IntStore union(IntStore other) {
+        IntStore b = unwrap(other);
+        // Union is symmetric; let the larger operand receive the smaller one.
+        IntStore result = b.size() > delegate.size() && adoptable(b)
+                ? b.union(delegate) : delegate.union(b);
+        return new AdaptiveStore(thresholds, result);
+    }
+
+    @Override
+    IntStore intersect(IntStore other) {
+        return new AdaptiveStore(thresholds, delegate.intersect(unwrap(other)));
+    }
+
+    @Override
+    IntStore diff(IntStore other) {
+        return new AdaptiveStore(thresholds, delegate.diff(unwrap(other)));
+    }
+
+    @Override
+    IntStore complement(IntStore other) {
+        return new AdaptiveStore(thresholds, unwrap(other).diff(delegate));
+    }
+
+    @Override
+    IntStore parallel(Op op, IntStore other) {
+        IntStore b = unwrap(other);
+        IntStore result = op == Op.UNION && b.size() > delegate.size() && adoptable(b)
+                ? b.parallel(op, delegate) : delegate.parallel(op, b);
+        return new AdaptiveStore(thresholds, result);
+    }
+
+    @Override
+    int intersectionSize(IntStore other) {
+        return delegate.intersectionSize(unwrap(other));
+    }
+
+    @Override
+    boolean intersects(IntStore other) {
+        return delegate.intersects(unwrap(other));
+    }
+
+    @Override
+    boolean isSubsetOf(IntStore other) {
+        return delegate.isSubsetOf(unwrap(other));
+    }
+
+    @Override
+    boolean anyMatch(IntPredicate filter) {
+        return delegate.anyMatch(filter);
+    }
+
+    @Override
+    int rank(int value) {
+        return delegate.rank(value);
+    }
+
+    @Override
+    int select(int k) {
+        return delegate.select(k);
+    }
+
+    @Override
+    void forEachInRange(int lo, int hi, IntConsumer action) {
+        delegate.forEachInRange(lo, hi, action);
+    }
+
+    @Override
+    boolean sameElements(IntStore other) {
+        return delegate.sameElements(unwrap(other));
+    }
+}
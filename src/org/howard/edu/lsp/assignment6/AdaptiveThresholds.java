@@ -0,0 +1,68 @@
+package org.howard.edu.lsp.assignment6;
+
+/**
+ * Tuning knobs for {@link IntegerSet.Representation#ADAPTIVE} sets.
+ *
+ * <p>An adaptive set stays a sorted array while it has at most
+ * {@code smallMax} elements. Past that it becomes a bitmap when the value
+ * range is at most {@code bitsPerElement} bits per element (a bitmap then
+ * costs no more than {@code bitsPerElement / 8} bytes per element), and a
+ * hash set otherwise. To avoid flip-flopping near a threshold, it only goes
+ * back to a hash set when the range is twice as sparse, and back to a sorted
+ * array when it shrinks to half of {@code smallMax}.</p>
+ */
+public final class AdaptiveThresholds {
+
+    /** Defaults: sorted array up to 64 elements, bitmap at 64 bits per element or denser. */
+    public static final AdaptiveThresholds DEFAULT = new AdaptiveThresholds(64, 64);
+
+    private final int smallMax;
+    private final int bitsPerElement;
+
+    /**
+     * Creates a set of thresholds.
+     * @param smallMax largest size kept as a sorted array
+     * @param bitsPerElement largest value range per element at which a bitmap is used
+     * @throws IllegalArgumentException if smallMax is negative or bitsPerElement is not positive
+     */
+    public AdaptiveThresholds(int smallMax, int bitsPerElement) {
+        if (smallMax < 0) {
+            throw new IllegalArgumentException("smallMax must not be negative: " + smallMax);
+        }
+        if (bitsPerElement <= 0) {
+            throw new IllegalArgumentException("bitsPerElement must be positive: " + bitsPerElement);
+        }
+        this.smallMax = smallMax;
+        this.bitsPerElement = bitsPerElement;
+    }
+
+    /**
+     * Returns the largest size kept as a sorted array.
+     * @return element count
+     */
+    public int getSmallMax() {
+        return smallMax;
+    }
+
+    /**
+     * Returns the value range per element at or below which a bitmap is used.
+     * @return bits per element
+     */
+    public int getBitsPerElement() {
+        return bitsPerElement;
+    }
+
+    /**
+     * Returns true if a bitmap over [lo, hi] is dense enough for n elements.
+     */
+    boolean dense(int n, long lo, long hi) {
+        return hi - lo + 1 <= (long) n * bitsPerElement;
+    }
+
+    /**
+     * Returns true if a bitmap over [lo, hi] is sparse enough to leave.
+     */
+    boolean sparse(int n, long lo, long hi) {
+        return hi - lo + 1 > (long) n * bitsPerElement * 2;
+    }
+}
@@ -0,0 +1,158 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of a serialized {@link IntegerSet}, and the encoder for it.
+ * {@link MappedIntegerSet} reads the layout in place.
+ *
+ * <p>All numbers are big-endian. Every encoding starts with a 20-byte header:</p>
+ * <pre>
+ *   0  int   magic "ISET"
+ *   4  byte  version (1)
+ *   5  byte  encoding (SPARSE or DENSE)
+ *   6  short reserved (0)
+ *   8  int   element count
+ *  12  int   smallest element (0 when empty)
+ *  16  int   largest element (0 when empty)
+ * </pre>
+ *
+ * <p>DENSE continues with the bitmap the set would have as a
+ * {@link IntegerSet.Representation#BITMAP}: an int base (a multiple of 64),
+ * an int word count, 4 bytes of padding so the words are 8-byte aligned, and
+ * the words. Bit {@code i} of word {@code w} means {@code base + 64*w + i}.</p>
+ *
+ * <p>SPARSE cuts the ascending elements into blocks of {@link #BLOCK}. It
+ * continues with an int block count, then one index entry per block (the
+ * block's first element and the byte offset of its deltas from the start of
+ * the delta area), then the delta area: for each block, the gaps to the
+ * following elements minus one, as unsigned LEB128 varints. A lookup binary
+ * searches the index and decodes at most one block.</p>
+ *
+ * <p>The encoder writes whichever of the two is smaller.</p>
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0x49534554;
+    static final byte VERSION = 1;
+    static final byte SPARSE = 0;
+    static final byte DENSE = 1;
+
+    static final int VERSION_OFFSET = 4;
+    static final int ENCODING_OFFSET = 5;
+    static final int COUNT_OFFSET = 8;
+    static final int MIN_OFFSET = 12;
+    static final int MAX_OFFSET = 16;
+    static final int HEADER_BYTES = 20;
+
+    /** DENSE: base, word count, padding, words. */
+    static final int BASE_OFFSET = 20;
+    static final int WORD_COUNT_OFFSET = 24;
+    static final int WORDS_OFFSET = 32;
+
+    /** SPARSE: block count, index of (first element, delta offset) pairs, deltas. */
+    static final int BLOCK_COUNT_OFFSET = 20;
+    static final int INDEX_OFFSET = 24;
+    static final int INDEX_ENTRY_BYTES = 8;
+
+    /** Elements per sparse block: the most a lookup has to decode. */
+    static final int BLOCK = 64;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Encodes ascending, distinct values.
+     * @param values the elements in ascending order
+     * @return the serialized set
+     */
+    static byte[] encode(int[] values) {
+        int n = values.length;
+        long denseBytes = WORDS_OFFSET + 8L * wordCount(values);
+        long sparseBytes = INDEX_OFFSET + (long) INDEX_ENTRY_BYTES * blockCount(n) + deltaBytes(values);
+        boolean dense = n > 0 && denseBytes < sparseBytes;
+        long total = dense ? denseBytes : sparseBytes;
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Set too large to serialize: " + total + " bytes");
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) total);
+        out.putInt(MAGIC).put(VERSION).put(dense ? DENSE : SPARSE).putShort((short) 0);
+        out.putInt(n).putInt(n == 0 ? 0 : values[0]).putInt(n == 0 ? 0 : values[n - 1]);
+        if (dense) {
+            writeDense(values, out);
+        } else {
+            writeSparse(values, out);
+        }
+        return out.array();
+    }
+
+    /** First word boundary at or below the value, as a long so it cannot overflow. */
+    static long wordStart(int value) {
+        return Math.floorDiv((long) value, 64) * 64;
+    }
+
+    private static int wordCount(int[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long start = wordStart(values[0]);
+        return (int) (((long) values[values.length - 1] - start) / 64 + 1);
+    }
+
+    private static int blockCount(int n) {
+        return (n + BLOCK - 1) / BLOCK;
+    }
+
+    private static long deltaBytes(int[] values) {
+        long bytes = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (i % BLOCK != 0) {
+                bytes += varintLength((long) values[i] - values[i - 1] - 1);
+            }
+        }
+        return bytes;
+    }
+
+    private static int varintLength(long value) {
+        int length = 1;
+        while (value >= 0x80) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeDense(int[] values, ByteBuffer out) {
+        long start = wordStart(values[0]);
+        int words = wordCount(values);
+        out.putInt((int) start).putInt(words).putInt(0);
+        long[] bits = new long[words];
+        for (int value : values) {
+            bits[(int) ((value - start) >>> 6)] |= 1L << value;
+        }
+        for (long word : bits) {
+            out.putLong(word);
+        }
+    }
+
+    private static void writeSparse(int[] values, ByteBuffer out) {
+        int blocks = blockCount(values.length);
+        out.putInt(blocks);
+        int deltas = INDEX_OFFSET + blocks * INDEX_ENTRY_BYTES;
+        out.position(deltas);
+        for (int b = 0; b < blocks; b++) {
+            int first = b * BLOCK;
+            int entry = INDEX_OFFSET + b * INDEX_ENTRY_BYTES;
+            out.putInt(entry, values[first]);
+            out.putInt(entry + 4, out.position() - deltas);
+            for (int i = first + 1; i < Math.min(first + BLOCK, values.length); i++) {
+                long gap = (long) values[i] - values[i - 1] - 1;
+                while (gap >= 0x80) {
+                    out.put((byte) (gap | 0x80));
+                    gap >>>= 7;
+                }
+                out.put((byte) gap);
+            }
+        }
+    }
+}
@@ -0,0 +1,740 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Word-array bitset representation.
+ *
+ * <p>Bit {@code i} of {@code words[w]} is set when {@code base + 64*w + i}
+ * is in the set. The covered range starts at {@code base} (a multiple of 64,
+ * possibly negative) and grows in either direction as values are added,
+ * at least doubling each time so growth is amortized O(1).
+ * add, contains and remove are O(1); union, intersect, diff and complement
+ * are word-wise OR, AND and ANDNOT over the overlapping ranges.</p>
+ *
+ * <p>Memory is proportional to the value range, not the element count
+ * (one bit per value between the smallest and largest element), so this
+ * representation suits dense sets. Spanning the full int range costs 512 MB.</p>
+ *
+ * <p>Because {@code base} is a multiple of 64, a value's bit within its word
+ * is simply {@code value & 63}, which is what {@code 1L << value} uses.</p>
+ */
+class BitmapStore extends IntStore {
+
+    private static final long[] NO_WORDS = new long[0];
+
+    /** Lowest value the int range allows as a base; a multiple of 64. */
+    private static final long MIN_START = Integer.MIN_VALUE;
+
+    /** One past the highest int value; a multiple of 64. */
+    private static final long MAX_END = Integer.MAX_VALUE + 1L;
+
+    /** Smallest number of result words worth a parallel segment of its own. */
+    private static final int MIN_WORDS_PER_SEGMENT = 1024;
+
+    /** Smallest run of words a spliterator will split off. */
+    private static final int MIN_WORDS_PER_SPLIT = 256;
+
+    /** Words per entry of the rank directory; a power of two. */
+    private static final int RANK_BLOCK_WORDS = 8;
+
+    private long[] words;
+    private int base;
+    private int cardinality;
+
+    /**
+     * Rank directory: entry b counts the bits in the words before word
+     * {@code b * RANK_BLOCK_WORDS}. Built by the first order query and
+     * dropped by any change, so updates stay O(1).
+     */
+    private int[] ranks;
+
+    /** Creates an empty store. */
+    BitmapStore() {
+        this(NO_WORDS, 0, 0);
+    }
+
+    private BitmapStore(long[] words, int base, int cardinality) {
+        this.words = words;
+        this.base = base;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Returns the index of the word holding the value, or -1 if the value
+     * lies outside the covered range.
+     */
+    private int wordIndex(int value) {
+        long offset = (long) value - base;
+        if (offset < 0 || offset >= (long) words.length << 6) {
+            return -1;
+        }
+        return (int) (offset >>> 6);
+    }
+
+    /** Exclusive end of the covered range. */
+    private long end() {
+        return base + ((long) words.length << 6);
+    }
+
+    @Override
+    int size() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(int value) {
+        int w = wordIndex(value);
+        return w >= 0 && (words[w] & (1L << value)) != 0;
+    }
+
+    @Override
+    boolean add(int value) {
+        int w = wordIndex(value);
+        if (w < 0) {
+            grow(value);
+            w = wordIndex(value);
+        }
+        long bit = 1L << value;
+        if ((words[w] & bit) != 0) {
+            return false;
+        }
+        words[w] |= bit;
+        cardinality++;
+        ranks = null;
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        int w = wordIndex(value);
+        if (w < 0) {
+            return false;
+        }
+        long bit = 1L << value;
+        if ((words[w] & bit) == 0) {
+            return false;
+        }
+        words[w] &= ~bit;
+        cardinality--;
+        ranks = null;
+        return true;
+    }
+
+    @Override
+    void clear() {
+        words = NO_WORDS;
+        base = 0;
+        cardinality = 0;
+        ranks = null;
+    }
+
+    /**
+     * Extends the covered range so it includes the value.
+     * @param value a value outside the current range
+     */
+    private void grow(int value) {
+        ranks = null;
+        long wordStart = Math.floorDiv((long) value, 64L) * 64L;
+        if (words.length == 0) {
+            words = new long[1];
+            base = (int) wordStart;
+            return;
+        }
+        long start = base;
+        long end = end();
+        long slack = (long) words.length << 6;
+        long newStart = start;
+        long newEnd = end;
+        if (wordStart < start) {
+            newStart = Math.max(Math.min(wordStart, start - slack), MIN_START);
+        } else {
+            newEnd = Math.min(Math.max(wordStart + 64, end + slack), MAX_END);
+        }
+        long[] grown = new long[(int) ((newEnd - newStart) >>> 6)];
+        System.arraycopy(words, 0, grown, (int) ((start - newStart) >>> 6), words.length);
+        words = grown;
+        base = (int) newStart;
+    }
+
+    /**
+     * Extends the covered range, at most once per direction, so it
+     * includes [lo, hi].
+     */
+    private void cover(int lo, int hi) {
+        // Every caller sets bits next.
+        ranks = null;
+        if (words.length == 0) {
+            long start = Math.floorDiv((long) lo, 64L) * 64L;
+            long end = Math.floorDiv((long) hi, 64L) * 64L + 64L;
+            words = new long[(int) ((end - start) >>> 6)];
+            base = (int) start;
+            return;
+        }
+        if (lo < base) {
+            grow(lo);
+        }
+        if (hi >= end()) {
+            grow(hi);
+        }
+    }
+
+    @Override
+    void addAll(int[] batch) {
+        if (batch.length == 0) {
+            return;
+        }
+        int lo = batch[0];
+        int hi = batch[0];
+        for (int value : batch) {
+            lo = Math.min(lo, value);
+            hi = Math.max(hi, value);
+        }
+        cover(lo, hi);
+        for (int value : batch) {
+            int w = (int) (((long) value - base) >>> 6);
+            long before = words[w];
+            words[w] = before | (1L << value);
+            if (words[w] != before) {
+                cardinality++;
+            }
+        }
+    }
+
+    @Override
+    void addRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        cover(from, to - 1);
+        long lo = (long) from - base;
+        long hi = (long) to - base - 1;
+        int first = (int) (lo >>> 6);
+        int last = (int) (hi >>> 6);
+        for (int w = first; w <= last; w++) {
+            long mask = -1L;
+            if (w == first) {
+                mask &= -1L << lo;
+            }
+            if (w == last) {
+                mask &= -1L >>> (63 - (hi & 63));
+            }
+            long before = words[w];
+            words[w] = before | mask;
+            cardinality += Long.bitCount(words[w]) - Long.bitCount(before);
+        }
+    }
+
+    @Override
+    void unionInPlace(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            super.unionInPlace(other);
+            return;
+        }
+        BitmapStore b = (BitmapStore) other;
+        if (b.cardinality == 0) {
+            return;
+        }
+        cover(b.min(), b.max());
+        int offset = (int) (((long) b.base - base) >> 6);
+        for (int i = 0; i < b.words.length; i++) {
+            // Zero words of b may lie outside this range; only set bits were covered.
+            if (b.words[i] != 0) {
+                long before = words[offset + i];
+                words[offset + i] = before | b.words[i];
+                cardinality += Long.bitCount(words[offset + i]) - Long.bitCount(before);
+            }
+        }
+    }
+
+    @Override
+    void unionAll(IntStore[] operands) {
+        // Cover the combined range up front instead of regrowing per operand.
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (IntStore operand : operands) {
+            if (operand.size() > 0) {
+                lo = Math.min(lo, operand.min());
+                hi = Math.max(hi, operand.max());
+            }
+        }
+        if (lo <= hi) {
+            cover((int) lo, (int) hi);
+        }
+        super.unionAll(operands);
+    }
+
+    @Override
+    void intersectInPlace(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            super.intersectInPlace(other);
+            return;
+        }
+        BitmapStore b = (BitmapStore) other;
+        ranks = null;
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        if (start >= end) {
+            Arrays.fill(words, 0);
+            cardinality = 0;
+            return;
+        }
+        int ia = (int) ((start - base) >>> 6);
+        int n = (int) ((end - start) >>> 6);
+        Arrays.fill(words, 0, ia, 0);
+        Arrays.fill(words, ia + n, words.length, 0);
+        cardinality = SetKernels.INSTANCE.and(words, ia, b.words, (int) ((start - b.base) >>> 6), words, ia, n);
+    }
+
+    @Override
+    void diffInPlace(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            super.diffInPlace(other);
+            return;
+        }
+        BitmapStore b = (BitmapStore) other;
+        ranks = null;
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        if (start < end) {
+            int ia = (int) ((start - base) >>> 6);
+            int n = (int) ((end - start) >>> 6);
+            SetKernels.INSTANCE.andNot(words, ia, b.words, (int) ((start - b.base) >>> 6), words, ia, n);
+            cardinality = bitCount(words);
+        }
+    }
+
+    @Override
+    int min() {
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] != 0) {
+                return base + (w << 6) + Long.numberOfTrailingZeros(words[w]);
+            }
+        }
+        throw new IllegalStateException("Set is empty");
+    }
+
+    @Override
+    int max() {
+        for (int w = words.length - 1; w >= 0; w--) {
+            if (words[w] != 0) {
+                return base + (w << 6) + 63 - Long.numberOfLeadingZeros(words[w]);
+            }
+        }
+        throw new IllegalStateException("Set is empty");
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            int wordBase = base + (w << 6);
+            while (word != 0) {
+                action.accept(wordBase + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    Spliterator.OfInt spliterator() {
+        return new Words(words, base, 0, words.length, cardinality);
+    }
+
+    @Override
+    IntStore copy() {
+        return new BitmapStore(words.clone(), base, cardinality);
+    }
+
+    @Override
+    IntStore empty() {
+        return new BitmapStore();
+    }
+
+    @Override
+    IntStore union(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.union(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        if (b.cardinality == 0) {
+            return copy();
+        }
+        if (cardinality == 0) {
+            return b.copy();
+        }
+        long start = Math.min(base, b.base);
+        long end = Math.max(end(), b.end());
+        long[] result = new long[(int) ((end - start) >>> 6)];
+        System.arraycopy(words, 0, result, (int) ((base - start) >>> 6), words.length);
+        int offset = (int) ((b.base - start) >>> 6);
+        SetKernels.INSTANCE.or(result, offset, b.words, 0, result, offset, b.words.length);
+        return new BitmapStore(result, (int) start, bitCount(result));
+    }
+
+    @Override
+    IntStore intersect(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.intersect(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        if (start >= end) {
+            return new BitmapStore();
+        }
+        long[] result = new long[(int) ((end - start) >>> 6)];
+        int ia = (int) ((start - base) >>> 6);
+        int ib = (int) ((start - b.base) >>> 6);
+        int count = SetKernels.INSTANCE.and(words, ia, b.words, ib, result, 0, result.length);
+        return new BitmapStore(result, (int) start, count);
+    }
+
+    // The counting operations AND the overlapping words and count bits,
+    // so they touch no memory besides the two word arrays.
+
+    @Override
+    int intersectionSize(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.intersectionSize(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        int count = 0;
+        if (start < end) {
+            int ia = (int) ((start - base) >>> 6);
+            int ib = (int) ((start - b.base) >>> 6);
+            int n = (int) ((end - start) >>> 6);
+            for (int i = 0; i < n; i++) {
+                count += Long.bitCount(words[ia + i] & b.words[ib + i]);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    boolean intersects(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.intersects(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        if (start < end) {
+            int ia = (int) ((start - base) >>> 6);
+            int ib = (int) ((start - b.base) >>> 6);
+            int n = (int) ((end - start) >>> 6);
+            for (int i = 0; i < n; i++) {
+                if ((words[ia + i] & b.words[ib + i]) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    boolean isSubsetOf(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.isSubsetOf(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        if (cardinality > b.cardinality) {
+            return false;
+        }
+        for (int w = 0; w < words.length; w++) {
+            if ((words[w] & ~b.wordAt(base + ((long) w << 6))) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    int rank(int value) {
+        long offset = (long) value - base;
+        if (offset <= 0) {
+            return 0;
+        }
+        if (offset >= (long) words.length << 6) {
+            return cardinality;
+        }
+        int w = (int) (offset >>> 6);
+        int count = rankDirectory()[w / RANK_BLOCK_WORDS];
+        for (int i = w & -RANK_BLOCK_WORDS; i < w; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count + Long.bitCount(words[w] & ((1L << value) - 1));
+    }
+
+    @Override
+    int select(int k) {
+        // Last directory block with at most k bits before it holds the k-th bit.
+        int[] directory = rankDirectory();
+        int lo = 0;
+        int hi = directory.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (directory[mid] <= k) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        int remaining = k - directory[lo];
+        for (int w = lo * RANK_BLOCK_WORDS; ; w++) {
+            int bits = Long.bitCount(words[w]);
+            if (remaining < bits) {
+                return base + (w << 6) + selectBit(words[w], remaining);
+            }
+            remaining -= bits;
+        }
+    }
+
+    @Override
+    void forEachInRange(int lo, int hi, IntConsumer action) {
+        long from = Math.max(lo, (long) base);
+        long to = Math.min(hi, end() - 1);
+        if (from > to) {
+            return;
+        }
+        int first = (int) ((from - base) >>> 6);
+        int last = (int) ((to - base) >>> 6);
+        for (int w = first; w <= last; w++) {
+            long word = words[w];
+            if (w == first) {
+                word &= -1L << from;
+            }
+            if (w == last) {
+                word &= -1L >>> (63 - (to & 63));
+            }
+            int wordBase = base + (w << 6);
+            while (word != 0) {
+                action.accept(wordBase + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /** Returns the rank directory, building it if a change dropped it. */
+    private int[] rankDirectory() {
+        if (ranks == null) {
+            int[] directory = new int[Math.max(1, (words.length + RANK_BLOCK_WORDS - 1) / RANK_BLOCK_WORDS)];
+            int count = 0;
+            for (int w = 0; w < words.length; w++) {
+                if (w % RANK_BLOCK_WORDS == 0) {
+                    directory[w / RANK_BLOCK_WORDS] = count;
+                }
+                count += Long.bitCount(words[w]);
+            }
+            ranks = directory;
+        }
+        return ranks;
+    }
+
+    @Override
+    IntStore diff(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.diff(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        long[] result = words.clone();
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        if (start < end) {
+            int ia = (int) ((start - base) >>> 6);
+            int ib = (int) ((start - b.base) >>> 6);
+            int n = (int) ((end - start) >>> 6);
+            SetKernels.INSTANCE.andNot(result, ia, b.words, ib, result, ia, n);
+        }
+        return new BitmapStore(result, base, bitCount(result));
+    }
+
+    @Override
+    IntStore complement(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.complement(other);
+        }
+        return other.diff(this);
+    }
+
+    @Override
+    boolean sameElements(IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.sameElements(other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        if (cardinality != b.cardinality) {
+            return false;
+        }
+        // Equal sizes: equal sets exactly when every element is shared.
+        long start = Math.max(base, b.base);
+        long end = Math.min(end(), b.end());
+        long shared = 0;
+        if (start < end) {
+            int ia = (int) ((start - base) >>> 6);
+            int ib = (int) ((start - b.base) >>> 6);
+            int n = (int) ((end - start) >>> 6);
+            for (int i = 0; i < n; i++) {
+                shared += Long.bitCount(words[ia + i] & b.words[ib + i]);
+            }
+        }
+        return shared == cardinality;
+    }
+
+    @Override
+    IntStore parallel(Op op, IntStore other) {
+        if (!(other instanceof BitmapStore)) {
+            return super.parallel(op, other);
+        }
+        BitmapStore b = (BitmapStore) other;
+        if (op == Op.COMPLEMENT) {
+            return b.parallel(Op.DIFF, this);
+        }
+        long start;
+        long end;
+        if (op == Op.UNION) {
+            if (b.cardinality == 0) {
+                return copy();
+            }
+            if (cardinality == 0) {
+                return b.copy();
+            }
+            start = Math.min(base, b.base);
+            end = Math.max(end(), b.end());
+        } else if (op == Op.INTERSECT) {
+            start = Math.max(base, b.base);
+            end = Math.min(end(), b.end());
+        } else {
+            start = base;
+            end = end();
+        }
+        if (start >= end) {
+            return new BitmapStore();
+        }
+        // Each segment fills its own slice of the result and counts its bits.
+        int n = (int) ((end - start) >>> 6);
+        long[] result = new long[n];
+        int segments = ParallelSupport.segments(n, MIN_WORDS_PER_SEGMENT);
+        int[] counts = new int[segments];
+        ParallelSupport.forEach(segments, k -> {
+            int count = 0;
+            for (int i = ParallelSupport.bound(n, segments, k),
+                    to = ParallelSupport.bound(n, segments, k + 1); i < to; i++) {
+                long wordStart = start + ((long) i << 6);
+                long x = wordAt(wordStart);
+                long y = b.wordAt(wordStart);
+                long word = op == Op.UNION ? x | y : op == Op.INTERSECT ? x & y : x & ~y;
+                result[i] = word;
+                count += Long.bitCount(word);
+            }
+            counts[k] = count;
+        });
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return new BitmapStore(result, (int) start, total);
+    }
+
+    /** Returns the word covering [wordStart, wordStart + 64), or 0 outside the range. */
+    private long wordAt(long wordStart) {
+        long offset = wordStart - base;
+        if (offset < 0 || offset >= (long) words.length << 6) {
+            return 0;
+        }
+        return words[(int) (offset >>> 6)];
+    }
+
+    /**
+     * Returns the position of the set bit with r set bits below it.
+     * @param word a word with more than r bits set
+     * @param r the rank of the bit within the word
+     */
+    static int selectBit(long word, int r) {
+        for (int i = 0; i < r; i++) {
+            word &= word - 1;
+        }
+        return Long.numberOfTrailingZeros(word);
+    }
+
+    private static int bitCount(long[] words) {
+        return SetKernels.INSTANCE.bitCount(words, 0, words.length);
+    }
+
+    /**
+     * Walks a run of words in ascending order; splits by halving the run.
+     * A partly consumed word stays with the prefix.
+     */
+    private static final class Words extends StoreSpliterator {
+
+        private final long[] words;
+        private final int base;
+        private int index;
+        private final int fence;
+        /** Unvisited bits of the word before index. */
+        private long word;
+
+        Words(long[] words, int base, int index, int fence, long estimate) {
+            super(SORTED_CHARACTERISTICS, estimate, true);
+            this.words = words;
+            this.base = base;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private Words(Words parent, int fence, long estimate) {
+            super(SORTED_CHARACTERISTICS, estimate, false);
+            this.words = parent.words;
+            this.base = parent.base;
+            this.index = parent.index;
+            this.fence = fence;
+            this.word = parent.word;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (word == 0) {
+                if (index == fence) {
+                    return false;
+                }
+                word = words[index++];
+            }
+            int value = base + ((index - 1) << 6) + Long.numberOfTrailingZeros(word);
+            word &= word - 1;
+            advanced();
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (int w = index - 1; w < fence; w++) {
+                long bits = w < index ? word : words[w];
+                int wordBase = base + (w << 6);
+                while (bits != 0) {
+                    action.accept(wordBase + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            word = 0;
+            index = fence;
+            finished();
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid - index < MIN_WORDS_PER_SPLIT) {
+                return null;
+            }
+            Words prefix = new Words(this, mid, split());
+            word = 0;
+            index = mid;
+            return prefix;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of integers that can be shared between threads without external
+ * locking.
+ *
+ * <p>Values are spread over a fixed number of stripes by hash. Each stripe
+ * is an open-addressing {@link HashStore} guarded by its own lock, so
+ * {@link #add(int)}, {@link #remove(int)} and {@link #contains(int)} only
+ * contend with calls that land on the same stripe. Operations that look at
+ * the whole set ({@link #snapshot()}, the set operations, {@link #length()},
+ * {@link #toString()}, ...) take every stripe's lock in stripe order, copy
+ * or read what they need and release them, so they see the set exactly as
+ * it was at one instant. Set operations are then computed on that copy
+ * without holding any lock and return a plain {@link IntegerSet}.</p>
+ */
+public final class ConcurrentIntegerSet {
+
+    /** Stripes per available processor, so that writers rarely collide. */
+    private static final int STRIPES_PER_PROCESSOR = 4;
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /** Creates an empty set sized for the number of available processors. */
+    public ConcurrentIntegerSet() {
+        this(Runtime.getRuntime().availableProcessors() * STRIPES_PER_PROCESSOR);
+    }
+
+    /**
+     * Creates an empty set.
+     * @param concurrencyLevel expected number of threads updating the set at once;
+     *        rounded up to a power of two stripes
+     * @throws IllegalArgumentException if concurrencyLevel is not positive
+     */
+    public ConcurrentIntegerSet(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive: " + concurrencyLevel);
+        }
+        int count = 1;
+        while (count < concurrencyLevel && count < MAX_STRIPES) {
+            count <<= 1;
+        }
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Picks the stripe from bits of the value that the stripe's own hash
+     * table does not rely on, so values sharing a stripe still spread out.
+     */
+    private int stripeIndex(int value) {
+        return (value ^ (value >>> 16)) & mask;
+    }
+
+    private Stripe stripeFor(int value) {
+        return stripes[stripeIndex(value)];
+    }
+
+    /**
+     * Adds an item to the set if it is not already present.
+     * @param item the integer to add
+     * @return true if this call added it, false if it was already present
+     */
+    public boolean add(int item) {
+        Stripe stripe = stripeFor(item);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.store.add(item);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes an item from the set if it exists.
+     * @param item the integer to remove
+     * @return true if this call removed it, false if it was not present
+     */
+    public boolean remove(int item) {
+        Stripe stripe = stripeFor(item);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.store.remove(item);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns true if the set contains the given value.
+     * @param value the integer to look for
+     * @return true if found
+     */
+    public boolean contains(int value) {
+        Stripe stripe = stripeFor(value);
+        long stamp = stripe.lock.readLock();
+        try {
+            return stripe.store.contains(value);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds every value in the array, taking each stripe's lock once rather
+     * than once per value. Other threads may see some of the values before
+     * the rest have been added.
+     * @param values the integers to add
+     */
+    public void addAll(int[] values) {
+        int[][] batches = new int[stripes.length][];
+        int[] counts = new int[stripes.length];
+        for (int value : values) {
+            int s = stripeIndex(value);
+            if (batches[s] == null) {
+                batches[s] = new int[Math.max(4, values.length / stripes.length * 2)];
+            } else if (counts[s] == batches[s].length) {
+                batches[s] = Arrays.copyOf(batches[s], counts[s] * 2);
+            }
+            batches[s][counts[s]++] = value;
+        }
+        for (int s = 0; s < stripes.length; s++) {
+            if (counts[s] == 0) {
+                continue;
+            }
+            Stripe stripe = stripes[s];
+            long stamp = stripe.lock.writeLock();
+            try {
+                for (int i = 0; i < counts[s]; i++) {
+                    stripe.store.add(batches[s][i]);
+                }
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Clears all elements from the set. Other threads see either all of the
+     * elements or none of them.
+     */
+    public void clear() {
+        long[] stamps = new long[stripes.length];
+        for (int s = 0; s < stripes.length; s++) {
+            stamps[s] = stripes[s].lock.writeLock();
+        }
+        for (int s = stripes.length - 1; s >= 0; s--) {
+            stripes[s].store.clear();
+            stripes[s].lock.unlockWrite(stamps[s]);
+        }
+    }
+
+    // Whole-set reads lock every stripe in index order. Single-value calls
+    // hold at most one stripe lock, so this order cannot deadlock.
+
+    private long[] readLockAll() {
+        long[] stamps = new long[stripes.length];
+        for (int s = 0; s < stripes.length; s++) {
+            stamps[s] = stripes[s].lock.readLock();
+        }
+        return stamps;
+    }
+
+    private void unlockAll(long[] stamps) {
+        for (int s = stripes.length - 1; s >= 0; s--) {
+            stripes[s].lock.unlockRead(stamps[s]);
+        }
+    }
+
+    /**
+     * Returns the number of elements in the set.
+     * @return size of the set
+     */
+    public int length() {
+        long[] stamps = readLockAll();
+        try {
+            int n = 0;
+            for (Stripe stripe : stripes) {
+                n += stripe.store.size();
+            }
+            return n;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    /**
+     * Returns true if the set has no elements.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return length() == 0;
+    }
+
+    /**
+     * Returns the largest element in the set.
+     * @return largest integer
+     * @throws IllegalStateException if the set is empty
+     */
+    public int largest() {
+        return extreme(true);
+    }
+
+    /**
+     * Returns the smallest element in the set.
+     * @return smallest integer
+     * @throws IllegalStateException if the set is empty
+     */
+    public int smallest() {
+        return extreme(false);
+    }
+
+    private int extreme(boolean largest) {
+        long[] stamps = readLockAll();
+        try {
+            boolean found = false;
+            int result = 0;
+            for (Stripe stripe : stripes) {
+                IntStore store = stripe.store;
+                if (store.isEmpty()) {
+                    continue;
+                }
+                int value = largest ? store.max() : store.min();
+                if (!found || (largest ? value > result : value < result)) {
+                    result = value;
+                    found = true;
+                }
+            }
+            if (!found) throw new IllegalStateException("Set is empty");
+            return result;
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    /**
+     * Returns a copy of the set as it was at one instant. The locks are held
+     * only while the stripes' tables are cloned; the copy is assembled after
+     * they are released.
+     * @return independent {@link IntegerSet} with the same elements
+     */
+    public IntegerSet snapshot() {
+        IntStore[] copies = new IntStore[stripes.length];
+        long[] stamps = readLockAll();
+        try {
+            for (int s = 0; s < stripes.length; s++) {
+                copies[s] = stripes[s].store.copy();
+            }
+        } finally {
+            unlockAll(stamps);
+        }
+        int n = 0;
+        for (IntStore copy : copies) {
+            n += copy.size();
+        }
+        int[] values = new int[n];
+        int[] next = {0};
+        for (IntStore copy : copies) {
+            copy.forEach(v -> values[next[0]++] = v);
+        }
+        IntegerSet result = new IntegerSet();
+        result.addAll(values);
+        return result;
+    }
+
+    /**
+     * Returns a new set containing all elements from a snapshot of this set
+     * and intSetb.
+     * @param intSetb the other IntegerSet
+     * @return union of the two sets
+     */
+    public IntegerSet union(IntegerSet intSetb) {
+        return snapshot().union(intSetb);
+    }
+
+    /**
+     * Returns a new set containing only elements common to a snapshot of
+     * this set and intSetb.
+     * @param intSetb the other IntegerSet
+     * @return intersection of the two sets
+     */
+    public IntegerSet intersect(IntegerSet intSetb) {
+        return snapshot().intersect(intSetb);
+    }
+
+    /**
+     * Returns a new set containing elements in a snapshot of this set but
+     * not in intSetb.
+     * @param intSetb the other IntegerSet
+     * @return difference (this - intSetb)
+     */
+    public IntegerSet diff(IntegerSet intSetb) {
+        return snapshot().diff(intSetb);
+    }
+
+    /**
+     * Returns a new set containing elements in intSetb but not in a
+     * snapshot of this set.
+     * @param intSetb the other IntegerSet
+     * @return complement (intSetb - this)
+     */
+    public IntegerSet complement(IntegerSet intSetb) {
+        return snapshot().complement(intSetb);
+    }
+
+    /**
+     * Returns a new set containing all elements from snapshots of both sets.
+     * Each set is snapshotted on its own, so updates that land between the
+     * two snapshots may be seen in one operand and not the other.
+     * @param intSetb the other ConcurrentIntegerSet
+     * @return union of the two sets
+     */
+    public IntegerSet union(ConcurrentIntegerSet intSetb) {
+        return snapshot().union(intSetb.snapshot());
+    }
+
+    /**
+     * Returns a new set containing only elements common to snapshots of
+     * both sets, taken as in {@link #union(ConcurrentIntegerSet)}.
+     * @param intSetb the other ConcurrentIntegerSet
+     * @return intersection of the two sets
+     */
+    public IntegerSet intersect(ConcurrentIntegerSet intSetb) {
+        return snapshot().intersect(intSetb.snapshot());
+    }
+
+    /**
+     * Returns true if a snapshot of this set has exactly the elements of b.
+     * @param b the other IntegerSet
+     * @return true if equal
+     */
+    public boolean equals(IntegerSet b) {
+        return snapshot().equals(b);
+    }
+
+    /**
+     * Returns a snapshot of the set in ascending order.
+     * Format: [1, 2, 3] or [] if empty.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /** One hash table and the lock guarding it. */
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        final HashStore store = new HashStore();
+    }
+}
@@ -0,0 +1,179 @@
+package org.howard.edu.lsp.assignment6;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit 5 test cases for ConcurrentIntegerSet: the single-threaded
+ * contract, plus stress tests that race several threads against one set.
+ */
+public class ConcurrentIntegerSetTest {
+
+    private static final int THREADS = 4;
+
+    /**
+     * Runs the body on THREADS threads, released together, and rethrows
+     * the first failure.
+     */
+    private static void race(ThreadBody body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(id);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(60_000);
+            assertFalse(thread.isAlive(), "stress thread did not finish");
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int id) throws Exception;
+    }
+
+    // ---------------------------------------------------------------
+    // single-threaded behaviour
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("basic operations - normal: same results as IntegerSet")
+    public void testBasicOperations() {
+        ConcurrentIntegerSet set = new ConcurrentIntegerSet(8);
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        set.addAll(new int[] {-70_000, 0, 3, 70_000, 3});
+        assertEquals("[-70000, 0, 3, 5, 70000]", set.toString());
+        assertEquals(5, set.length());
+        assertEquals(-70_000, set.smallest());
+        assertEquals(70_000, set.largest());
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+
+        IntegerSet other = new IntegerSet();
+        other.add(3);
+        other.add(4);
+        assertEquals("[-70000, 3, 4, 5, 70000]", set.union(other).toString());
+        assertEquals("[3]", set.intersect(other).toString());
+        assertEquals("[-70000, 5, 70000]", set.diff(other).toString());
+        assertEquals("[4]", set.complement(other).toString());
+        assertTrue(set.snapshot().equals(set.union(new IntegerSet())));
+    }
+
+    @Test
+    @DisplayName("basic operations - edge: empty set and invalid concurrency level")
+    public void testEdgeCases() {
+        ConcurrentIntegerSet set = new ConcurrentIntegerSet(1);
+        assertEquals("[]", set.toString());
+        assertThrows(IllegalStateException.class, set::largest);
+        assertThrows(IllegalStateException.class, set::smallest);
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentIntegerSet(0));
+        set.add(1);
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    // ---------------------------------------------------------------
+    // stress tests
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("stress - concurrent adds of overlapping values: each added exactly once")
+    public void testConcurrentAdds() throws InterruptedException {
+        ConcurrentIntegerSet set = new ConcurrentIntegerSet(THREADS);
+        AtomicInteger added = new AtomicInteger();
+        int n = 50_000;
+        race(id -> {
+            // Every thread adds the same values, in a different order.
+            for (int i = 0; i < n; i++) {
+                int value = (i * (2 * id + 1)) % n;
+                if (set.add(value)) {
+                    added.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(n, added.get());
+        assertEquals(n, set.length());
+        assertEquals(0, set.smallest());
+        assertEquals(n - 1, set.largest());
+    }
+
+    @Test
+    @DisplayName("stress - mixed add/remove/contains: final contents match each thread's work")
+    public void testConcurrentMixed() throws InterruptedException {
+        ConcurrentIntegerSet set = new ConcurrentIntegerSet(THREADS);
+        int perThread = 20_000;
+        race(id -> {
+            // Each thread owns the values congruent to id mod THREADS, keeps
+            // the even multiples and removes the odd ones again.
+            for (int i = 0; i < perThread; i++) {
+                int value = i * THREADS + id;
+                assertTrue(set.add(value));
+                assertTrue(set.contains(value));
+                if (i % 2 == 1) {
+                    assertTrue(set.remove(value));
+                    assertFalse(set.contains(value));
+                }
+            }
+        });
+        assertEquals(THREADS * perThread / 2, set.length());
+        for (int i = 0; i < perThread; i++) {
+            for (int id = 0; id < THREADS; id++) {
+                assertEquals(i % 2 == 0, set.contains(i * THREADS + id));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("stress - snapshots are consistent: never catch a moving value between stripes")
+    public void testSnapshotConsistency() throws InterruptedException {
+        ConcurrentIntegerSet set = new ConcurrentIntegerSet(16);
+        set.add(0);
+        int steps = 20_000;
+        AtomicInteger done = new AtomicInteger();
+        race(id -> {
+            if (id == 0) {
+                // Move one token upward: add the next value, then remove the
+                // current one, so the set always holds one or two values.
+                for (int i = 0; i < steps; i++) {
+                    set.add(i + 1);
+                    set.remove(i);
+                }
+                done.set(1);
+            } else {
+                while (done.get() == 0) {
+                    IntegerSet snapshot = set.snapshot();
+                    int size = snapshot.length();
+                    assertTrue(size == 1 || size == 2, "snapshot size " + size);
+                    if (size == 2) {
+                        assertEquals(snapshot.smallest() + 1, snapshot.largest());
+                    }
+                    int length = set.length();
+                    assertTrue(length == 1 || length == 2, "length " + length);
+                }
+            }
+        });
+        assertEquals("[" + steps + "]", set.toString());
+    }
+}
@@ -0,0 +1,477 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set over a plain {@code int[]}.
+ *
+ * <p>Values are stored unboxed in a power-of-two table and found by linear
+ * probing from a Fibonacci-hashed home slot. {@code 0} marks a free slot,
+ * so the value 0 itself is tracked with a separate flag. The table doubles
+ * once it is half full, which keeps probe sequences short; add, contains
+ * and remove are O(1) expected. Removal uses backward-shift deletion, so
+ * there are no tombstones and lookups never slow down after many removes.</p>
+ *
+ * <p>The table stops doubling at 2^30 slots and then fills to three
+ * quarters, so a store holds at most {@value #MAX_OCCUPIED} non-zero
+ * values; adding one more throws IllegalStateException.</p>
+ *
+ * <p>Elements come out in table order, not sorted order. The order
+ * queries use a sorted copy of the elements, built on first use and
+ * dropped on any change, so a run of queries between updates pays for one
+ * sort.</p>
+ */
+class HashStore extends IntStore {
+
+    private static final int FREE = 0;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    /** Most non-zero values the largest table holds. */
+    private static final int MAX_OCCUPIED = MAX_CAPACITY - (MAX_CAPACITY >>> 2);
+
+    /** Smallest number of table slots worth a parallel segment of its own. */
+    private static final int MIN_SLOTS_PER_SEGMENT = 8192;
+
+    /** Smallest slice of the table a spliterator will split off. */
+    private static final int MIN_SLOTS_PER_SPLIT = 1024;
+
+    private int[] table;
+    private int shift;
+    private int occupied;
+    private boolean hasZero;
+
+    /** Sorted copy of the elements for the order queries, or null. */
+    private int[] sorted;
+
+    /** Creates an empty store. */
+    HashStore() {
+        this(new int[INITIAL_CAPACITY], 0, false);
+    }
+
+    /** Creates an empty store that holds {@code expected} elements without rehashing. */
+    private HashStore(int expected) {
+        this(new int[capacityFor(expected)], 0, false);
+    }
+
+    private HashStore(int[] table, int occupied, boolean hasZero) {
+        this.table = table;
+        this.shift = Integer.numberOfLeadingZeros(table.length) + 1;
+        this.occupied = occupied;
+        this.hasZero = hasZero;
+    }
+
+    /** Smallest table size that keeps n elements at most half full. */
+    private static int capacityFor(int n) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity >>> 1 < n && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /** Home slot of a value: the top bits of a multiplicative hash. */
+    private int slot(int value) {
+        return (value * 0x9E3779B9) >>> shift;
+    }
+
+    /** Returns the slot holding the value, or -1. The value must not be 0. */
+    private int find(int value) {
+        int mask = table.length - 1;
+        for (int i = slot(value); table[i] != FREE; i = (i + 1) & mask) {
+            if (table[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    int size() {
+        return occupied + (hasZero ? 1 : 0);
+    }
+
+    @Override
+    boolean contains(int value) {
+        return value == FREE ? hasZero : find(value) >= 0;
+    }
+
+    @Override
+    boolean add(int value) {
+        if (value == FREE) {
+            boolean added = !hasZero;
+            hasZero = true;
+            if (added) {
+                sorted = null;
+            }
+            return added;
+        }
+        int mask = table.length - 1;
+        int i = slot(value);
+        while (table[i] != FREE) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (occupied == MAX_OCCUPIED) {
+            throw new IllegalStateException("Set is full: at most " + MAX_OCCUPIED + " non-zero values");
+        }
+        table[i] = value;
+        sorted = null;
+        if (++occupied > table.length >>> 1 && table.length < MAX_CAPACITY) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        if (value == FREE) {
+            boolean removed = hasZero;
+            hasZero = false;
+            if (removed) {
+                sorted = null;
+            }
+            return removed;
+        }
+        int gap = find(value);
+        if (gap < 0) {
+            return false;
+        }
+        // Shift later members of the probe run back into the gap when
+        // that does not move them before their home slot.
+        int mask = table.length - 1;
+        for (int j = (gap + 1) & mask; table[j] != FREE; j = (j + 1) & mask) {
+            int home = slot(table[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = table[j];
+                gap = j;
+            }
+        }
+        table[gap] = FREE;
+        occupied--;
+        sorted = null;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        int mask = capacity - 1;
+        for (int value : old) {
+            if (value != FREE) {
+                int i = slot(value);
+                while (table[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+
+    /** Grows the table once, up front, so n elements fit without rehashing. */
+    private void ensureCapacity(long n) {
+        int capacity = capacityFor((int) Math.min(n, MAX_CAPACITY));
+        if (capacity > table.length) {
+            rehash(capacity);
+        }
+    }
+
+    @Override
+    void addAll(int[] batch) {
+        ensureCapacity((long) size() + batch.length);
+        super.addAll(batch);
+    }
+
+    @Override
+    void addRange(int from, int to) {
+        ensureCapacity((long) size() + ((long) to - from));
+        super.addRange(from, to);
+    }
+
+    @Override
+    void unionInPlace(IntStore other) {
+        ensureCapacity((long) size() + other.size());
+        super.unionInPlace(other);
+    }
+
+    @Override
+    void unionAll(IntStore[] operands) {
+        long total = size();
+        for (IntStore operand : operands) {
+            total += operand.size();
+        }
+        ensureCapacity(total);
+        super.unionAll(operands);
+    }
+
+    @Override
+    void clear() {
+        table = new int[INITIAL_CAPACITY];
+        shift = Integer.numberOfLeadingZeros(INITIAL_CAPACITY) + 1;
+        occupied = 0;
+        hasZero = false;
+        sorted = null;
+    }
+
+    // min and max scan the whole table. Free slots are mapped to a neutral
+    // value instead of being skipped, so the loop has no data-dependent
+    // branch to mispredict on a half-empty table.
+
+    @Override
+    int min() {
+        int min = hasZero ? 0 : Integer.MAX_VALUE;
+        for (int value : table) {
+            min = Math.min(min, value == FREE ? Integer.MAX_VALUE : value);
+        }
+        return min;
+    }
+
+    @Override
+    int max() {
+        int max = hasZero ? 0 : Integer.MIN_VALUE;
+        for (int value : table) {
+            max = Math.max(max, value == FREE ? Integer.MIN_VALUE : value);
+        }
+        return max;
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int value : table) {
+            if (value != FREE) {
+                action.accept(value);
+            }
+        }
+    }
+
+    @Override
+    Spliterator.OfInt spliterator() {
+        return new Slots(table, 0, table.length, hasZero, size());
+    }
+
+    @Override
+    IntStore copy() {
+        return new HashStore(table.clone(), occupied, hasZero);
+    }
+
+    @Override
+    IntStore empty() {
+        return new HashStore();
+    }
+
+    @Override
+    boolean isSorted() {
+        return false;
+    }
+
+    @Override
+    int rank(int value) {
+        int i = Arrays.binarySearch(sortedElements(), value);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    @Override
+    int select(int k) {
+        return sortedElements()[k];
+    }
+
+    @Override
+    void forEachInRange(int lo, int hi, IntConsumer action) {
+        int[] values = sortedElements();
+        for (int i = rank(lo); i < values.length && values[i] <= hi; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    private int[] sortedElements() {
+        if (sorted == null) {
+            sorted = toSortedArray();
+        }
+        return sorted;
+    }
+
+    // Results are presized so they never rehash while being filled. Other
+    // hash tables are iterated in slot order, and feeding values in that
+    // order into a smaller, growing table piles them into long probe runs.
+
+    @Override
+    IntStore union(IntStore other) {
+        HashStore result = new HashStore(size() + other.size());
+        forEach(result::add);
+        other.forEach(result::add);
+        return result;
+    }
+
+    @Override
+    IntStore intersect(IntStore other) {
+        IntStore small = size() <= other.size() ? this : other;
+        IntStore large = small == this ? other : this;
+        HashStore result = new HashStore(small.size());
+        small.forEach(v -> {
+            if (large.contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    IntStore diff(IntStore other) {
+        HashStore result = new HashStore(size());
+        forEach(v -> {
+            if (!other.contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    IntStore complement(IntStore other) {
+        HashStore result = new HashStore(other.size());
+        other.forEach(v -> {
+            if (!contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Intersect, diff and complement scan slices of one table in parallel,
+     * probing the other table read-only, then insert the survivors into a
+     * presized result. Union is all insertion, so it stays sequential.
+     */
+    @Override
+    IntStore parallel(Op op, IntStore other) {
+        if (!(other instanceof HashStore) || op == Op.UNION) {
+            return super.parallel(op, other);
+        }
+        HashStore b = (HashStore) other;
+        HashStore source;
+        HashStore probe;
+        if (op == Op.INTERSECT) {
+            source = size() <= b.size() ? this : b;
+            probe = source == this ? b : this;
+        } else if (op == Op.DIFF) {
+            source = this;
+            probe = b;
+        } else {
+            source = b;
+            probe = this;
+        }
+        boolean keep = op == Op.INTERSECT;
+        int[] slots = source.table;
+        int n = slots.length;
+        int segments = ParallelSupport.segments(n, MIN_SLOTS_PER_SEGMENT);
+        int[][] parts = new int[segments][];
+        int[] lengths = new int[segments];
+        ParallelSupport.forEach(segments, k -> {
+            int from = ParallelSupport.bound(n, segments, k);
+            int to = ParallelSupport.bound(n, segments, k + 1);
+            int[] part = new int[to - from];
+            int m = 0;
+            for (int i = from; i < to; i++) {
+                int value = slots[i];
+                if (value != FREE && probe.contains(value) == keep) {
+                    part[m++] = value;
+                }
+            }
+            parts[k] = part;
+            lengths[k] = m;
+        });
+        int total = 0;
+        for (int length : lengths) {
+            total += length;
+        }
+        HashStore result = new HashStore(total + 1);
+        if (source.hasZero && probe.hasZero == keep) {
+            result.add(0);
+        }
+        for (int k = 0; k < segments; k++) {
+            for (int i = 0; i < lengths[k]; i++) {
+                result.add(parts[k][i]);
+            }
+        }
+        return result;
+    }
+
+    /** Walks a slice of the table; splits by halving the slice. */
+    private static final class Slots extends StoreSpliterator {
+
+        private final int[] table;
+        private int index;
+        private final int fence;
+        private boolean zero;
+
+        Slots(int[] table, int index, int fence, boolean zero, long estimate) {
+            super(Spliterator.DISTINCT | Spliterator.NONNULL, estimate, true);
+            this.table = table;
+            this.index = index;
+            this.fence = fence;
+            this.zero = zero;
+        }
+
+        private Slots(Slots parent, int fence, long estimate) {
+            super(Spliterator.DISTINCT | Spliterator.NONNULL, estimate, false);
+            this.table = parent.table;
+            this.index = parent.index;
+            this.fence = fence;
+            this.zero = parent.zero;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (zero) {
+                zero = false;
+                advanced();
+                action.accept(0);
+                return true;
+            }
+            while (index < fence) {
+                int value = table[index++];
+                if (value != FREE) {
+                    advanced();
+                    action.accept(value);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (zero) {
+                zero = false;
+                action.accept(0);
+            }
+            int[] slots = table;
+            for (int i = index; i < fence; i++) {
+                if (slots[i] != FREE) {
+                    action.accept(slots[i]);
+                }
+            }
+            index = fence;
+            finished();
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid - index < MIN_SLOTS_PER_SPLIT) {
+                return null;
+            }
+            Slots prefix = new Slots(this, mid, split());
+            zero = false;
+            index = mid;
+            return prefix;
+        }
+    }
+}
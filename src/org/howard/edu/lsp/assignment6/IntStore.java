@@ -0,0 +1,495 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Backing storage for an {@link IntegerSet}.
+ *
+ * <p>Each representation (array list, bitmap, ...) extends this class.
+ * The set operations here are generic fallbacks that work between any two
+ * stores by iterating one and probing the other; subclasses override them
+ * with fast paths when both operands use the same representation.
+ * Results always use the representation of the receiver.</p>
+ */
+abstract class IntStore {
+
+    /** The binary set operations, for code that handles them uniformly. */
+    enum Op {
+        /** this ∪ other */
+        UNION,
+        /** this ∩ other */
+        INTERSECT,
+        /** this − other */
+        DIFF,
+        /** other − this */
+        COMPLEMENT
+    }
+
+    /**
+     * Returns the number of elements.
+     * @return element count
+     */
+    abstract int size();
+
+    /**
+     * Returns true if the value is stored.
+     * @param value the integer to look for
+     * @return true if found
+     */
+    abstract boolean contains(int value);
+
+    /**
+     * Adds a value.
+     * @param value the integer to add
+     * @return true if the value was not already present
+     */
+    abstract boolean add(int value);
+
+    /**
+     * Removes a value.
+     * @param value the integer to remove
+     * @return true if the value was present
+     */
+    abstract boolean remove(int value);
+
+    /** Removes every element. */
+    abstract void clear();
+
+    /**
+     * Returns the smallest element. Only called on a non-empty store.
+     * @return smallest element
+     */
+    abstract int min();
+
+    /**
+     * Returns the largest element. Only called on a non-empty store.
+     * @return largest element
+     */
+    abstract int max();
+
+    /**
+     * Passes every element to the action, in the store's natural order
+     * (ascending unless {@link #isSorted()} says otherwise).
+     * @param action receives each element
+     */
+    abstract void forEach(IntConsumer action);
+
+    /**
+     * Returns an independent copy of this store.
+     * @return copy with the same elements and representation
+     */
+    abstract IntStore copy();
+
+    /**
+     * Returns a new, empty store of the same representation.
+     * @return empty store
+     */
+    abstract IntStore empty();
+
+    /**
+     * Returns true if {@link #forEach(IntConsumer)} visits elements in
+     * ascending order.
+     * @return true for ordered representations
+     */
+    boolean isSorted() {
+        return true;
+    }
+
+    /**
+     * Returns true if the store has no elements.
+     * @return true if empty
+     */
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Releases memory held outside the heap. Heap stores hold none and
+     * ignore this; a store that does throws IllegalStateException once
+     * closed.
+     */
+    void close() {
+    }
+
+    /**
+     * Adds every value in the array; duplicates are ignored.
+     * @param values the integers to add
+     */
+    void addAll(int[] values) {
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Adds every value in [from, to).
+     * @param from first value to add
+     * @param to one past the last value to add; not less than from
+     */
+    void addRange(int from, int to) {
+        for (int value = from; value < to; value++) {
+            add(value);
+        }
+    }
+
+    /**
+     * Removes every value in the array that is present.
+     * @param values the integers to remove
+     */
+    void removeAll(int[] values) {
+        for (int value : values) {
+            remove(value);
+        }
+    }
+
+    /**
+     * Adds every element of other to this store.
+     * @param other the other store; not this one
+     */
+    void unionInPlace(IntStore other) {
+        other.forEach(this::add);
+    }
+
+    /**
+     * Adds every element of every operand to this store. Stores override it
+     * to prepare once for the combined input rather than once per operand.
+     * @param operands the other stores; none of them this one
+     */
+    void unionAll(IntStore[] operands) {
+        for (IntStore operand : operands) {
+            unionInPlace(operand);
+        }
+    }
+
+    /**
+     * Removes every element that is not in other.
+     * @param other the other store; not this one
+     */
+    void intersectInPlace(IntStore other) {
+        removeMatching(v -> !other.contains(v));
+    }
+
+    /**
+     * Removes every element that is in other.
+     * @param other the other store; not this one
+     */
+    void diffInPlace(IntStore other) {
+        if (other.size() < size()) {
+            other.forEach(this::remove);
+        } else {
+            removeMatching(other::contains);
+        }
+    }
+
+    /**
+     * Removes the elements matching the filter. Matches are collected
+     * first, since most stores cannot be modified while iterating.
+     * @param filter selects the elements to remove
+     */
+    void removeMatching(IntPredicate filter) {
+        int[] matches = new int[size()];
+        int[] n = {0};
+        forEach(v -> {
+            if (filter.test(v)) {
+                matches[n[0]++] = v;
+            }
+        });
+        for (int i = 0; i < n[0]; i++) {
+            remove(matches[i]);
+        }
+    }
+
+    /**
+     * Returns this ∪ other.
+     * @param other the other store
+     * @return new store
+     */
+    IntStore union(IntStore other) {
+        IntStore result = copy();
+        other.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Returns this ∩ other.
+     * @param other the other store
+     * @return new store
+     */
+    IntStore intersect(IntStore other) {
+        IntStore result = empty();
+        IntStore small = size() <= other.size() ? this : other;
+        IntStore large = small == this ? other : this;
+        small.forEach(v -> {
+            if (large.contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns this − other.
+     * @param other the other store
+     * @return new store
+     */
+    IntStore diff(IntStore other) {
+        IntStore result = empty();
+        forEach(v -> {
+            if (!other.contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns other − this.
+     * @param other the other store
+     * @return new store
+     */
+    IntStore complement(IntStore other) {
+        IntStore result = empty();
+        other.forEach(v -> {
+            if (!contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs one of the set operations.
+     * @param op the operation
+     * @param other the other store
+     * @return new store
+     */
+    IntStore apply(Op op, IntStore other) {
+        switch (op) {
+            case UNION:
+                return union(other);
+            case INTERSECT:
+                return intersect(other);
+            case DIFF:
+                return diff(other);
+            case COMPLEMENT:
+            default:
+                return complement(other);
+        }
+    }
+
+    /**
+     * Runs one of the set operations, split across the common ForkJoinPool
+     * where the representation supports it. The default runs it sequentially.
+     * @param op the operation
+     * @param other the other store
+     * @return new store, equal to {@code apply(op, other)}
+     */
+    IntStore parallel(Op op, IntStore other) {
+        return apply(op, other);
+    }
+
+    /**
+     * Returns the number of elements in both stores, without building the
+     * intersection. The default probes the larger store with the elements
+     * of the smaller.
+     * @param other the other store
+     * @return size of the intersection
+     */
+    int intersectionSize(IntStore other) {
+        IntStore small = size() <= other.size() ? this : other;
+        IntStore large = small == this ? other : this;
+        int[] count = {0};
+        small.forEach(v -> {
+            if (large.contains(v)) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Returns true if the stores share at least one element, stopping at the first.
+     * @param other the other store
+     * @return true if the intersection is not empty
+     */
+    boolean intersects(IntStore other) {
+        IntStore small = size() <= other.size() ? this : other;
+        IntStore large = small == this ? other : this;
+        return small.anyMatch(large::contains);
+    }
+
+    /**
+     * Returns true if every element of this store is in other, stopping at
+     * the first that is not.
+     * @param other the other store
+     * @return true if this is a subset of other
+     */
+    boolean isSubsetOf(IntStore other) {
+        return size() <= other.size() && !anyMatch(v -> !other.contains(v));
+    }
+
+    /**
+     * Returns true if any element matches the filter, stopping at the first.
+     * @param filter the condition to test
+     * @return true if some element matches
+     */
+    boolean anyMatch(IntPredicate filter) {
+        Spliterator.OfInt elements = spliterator();
+        boolean[] found = {false};
+        while (!found[0] && elements.tryAdvance((int v) -> found[0] = filter.test(v))) {
+            // tryAdvance does the work.
+        }
+        return found[0];
+    }
+
+    // Order queries. The defaults scan or sort; stores override them with
+    // an index so a query costs O(log n) instead of O(n).
+
+    /**
+     * Returns the number of elements less than the value.
+     * @param value the bound, which need not be an element
+     * @return count of smaller elements
+     */
+    int rank(int value) {
+        int[] count = {0};
+        forEach(v -> {
+            if (v < value) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Returns the element with k smaller elements.
+     * @param k the rank, 0 to size() - 1
+     * @return the k-th smallest element, counting from 0
+     */
+    int select(int k) {
+        return toSortedArray()[k];
+    }
+
+    /**
+     * Passes every element in [lo, hi] to the action in ascending order.
+     * @param lo smallest value to visit
+     * @param hi largest value to visit; not less than lo
+     * @param action receives each element
+     */
+    void forEachInRange(int lo, int hi, IntConsumer action) {
+        int[] values = toSortedArray();
+        int i = Arrays.binarySearch(values, lo);
+        for (i = i >= 0 ? i : -i - 1; i < values.length && values[i] <= hi; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Returns true if both stores hold exactly the same elements.
+     * @param other the other store
+     * @return true if equal as sets
+     */
+    boolean sameElements(IntStore other) {
+        if (size() != other.size()) {
+            return false;
+        }
+        boolean[] equal = {true};
+        other.forEach(v -> {
+            if (equal[0] && !contains(v)) {
+                equal[0] = false;
+            }
+        });
+        return equal[0];
+    }
+
+    /**
+     * Returns the elements in ascending order.
+     * @return new sorted array
+     */
+    int[] toSortedArray() {
+        int[] values = new int[size()];
+        int[] next = {0};
+        forEach(v -> values[next[0]++] = v);
+        if (!isSorted()) {
+            Arrays.sort(values);
+        }
+        return values;
+    }
+
+    /** Characteristics of a spliterator over a store that yields ascending values. */
+    static final int SORTED_CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+    /**
+     * Returns a spliterator over the elements. The default walks a sorted
+     * copy; stores override it to walk their own arrays without copying.
+     * The store must not be modified while the spliterator is in use.
+     * @return spliterator over the elements
+     */
+    Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(toSortedArray(), SORTED_CHARACTERISTICS | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Base for spliterators that walk a store's own arrays. Tracks the size
+     * estimate: exact (and reported as SIZED) until the first split, then
+     * halved on each split. Subclasses call {@link #advanced()} for each
+     * element from tryAdvance and {@link #finished()} after forEachRemaining.
+     */
+    abstract static class StoreSpliterator implements Spliterator.OfInt {
+
+        private final int characteristics;
+        private long estimate;
+        private boolean exact;
+
+        StoreSpliterator(int characteristics, long estimate, boolean exact) {
+            this.characteristics = characteristics;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        /**
+         * Halves the estimate for a split, making it inexact.
+         * @return the estimate for the part being split off
+         */
+        final long split() {
+            exact = false;
+            estimate -= estimate >>> 1;
+            return estimate;
+        }
+
+        /** Counts one element handed out by tryAdvance. */
+        final void advanced() {
+            if (exact) {
+                estimate--;
+            }
+        }
+
+        /** Records that every element has been handed out. */
+        final void finished() {
+            estimate = 0;
+        }
+
+        @Override
+        public final long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public final int characteristics() {
+            return exact ? characteristics | Spliterator.SIZED : characteristics;
+        }
+
+        @Override
+        public final Comparator<? super Integer> getComparator() {
+            if ((characteristics & Spliterator.SORTED) == 0) {
+                throw new IllegalStateException();
+            }
+            return null;
+        }
+    }
+}
@@ -1,25 +1,190 @@
 package org.howard.edu.lsp.assignment6;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a mathematical set of integers.
  * A set cannot contain duplicates and supports standard set operations.
  * All set operations return a new IntegerSet and do not modify the originals.
+ *
+ * <p>Elements live in a pluggable backing store chosen with
+ * {@link Representation}. Set operations between two sets of the same
+ * representation use that representation's fast path; mixed operations
+ * fall back to probing one set with the elements of the other. Results
+ * use the representation of the set the method is called on.</p>
  */
 public class IntegerSet {
 
-    private ArrayList<Integer> set = new ArrayList<>();
+    /**
+     * Available backing stores.
+     */
+    public enum Representation {
+        /** The original ArrayList: linear add/contains, insertion order kept. */
+        LIST,
+        /** Word-array bitset: O(1) add/contains/remove, memory grows with the value range. */
+        BITMAP,
+        /** Roaring-style compressed bitmap: array, bitmap or run containers per 65536-value chunk. */
+        ROARING,
+        /** Open-addressing int[] hash set: O(1) expected add/contains/remove, unordered. */
+        HASH,
+        /** Sorted int[]: O(1) smallest/largest, linear-merge set algebra, O(n) add/remove. */
+        SORTED_ARRAY,
+        /**
+         * Switches between SORTED_ARRAY, HASH and BITMAP as the size and value
+         * range change; see {@link AdaptiveThresholds}. The default.
+         */
+        ADAPTIVE,
+        /**
+         * HASH with its table in direct memory, for sets too large for the
+         * heap. Unordered; call {@link IntegerSet#close()} when done, in a
+         * finally block.
+         */
+        OFF_HEAP
+    }
+
+    /**
+     * Combined size of both operands below which the parallel set operations
+     * run sequentially, as splitting the work would cost more than it saves.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private final Representation representation;
+    private final IntStore store;
+
+    // Caches kept up to date by add and remove. Bulk updates and fresh
+    // results mark them unknown; they are recomputed on first use.
+
+    /** Sum of {@link #mix(int)} over the elements, when hashKnown. */
+    private int hash;
+    private boolean hashKnown;
+    /** Smallest and largest element, when extremesKnown (never for an empty set). */
+    private int min;
+    private int max;
+    private boolean extremesKnown;
+
+    /** Rate of the attached membership filter, or 0 when none is attached. */
+    private double filterRate;
+    /**
+     * The attached filter, or null when it must be rebuilt. add keeps it
+     * current; bulk additions drop it, and removals leave it valid.
+     */
+    private MembershipFilter filter;
+
+    /** Default constructor; uses {@link Representation#ADAPTIVE}. */
+    public IntegerSet() {
+        this(Representation.ADAPTIVE);
+    }
+
+    /**
+     * Creates an empty set backed by the given representation.
+     * @param representation the backing store to use
+     */
+    public IntegerSet(Representation representation) {
+        this(representation, newStore(representation));
+    }
+
+    /**
+     * Creates an empty {@link Representation#ADAPTIVE} set with custom thresholds.
+     * @param thresholds when to switch between backing stores
+     */
+    public IntegerSet(AdaptiveThresholds thresholds) {
+        this(Representation.ADAPTIVE, new AdaptiveStore(thresholds));
+    }
+
+    private IntegerSet(Representation representation, IntStore store) {
+        this.representation = representation;
+        this.store = store;
+        this.hashKnown = store.isEmpty();
+    }
 
-    /** Default constructor */
-    public IntegerSet() {}
+    /** Scrambles a value so that sums of them make a good set hash. */
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        h ^= h >>> 15;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    /** Forgets the cached hash and extremes after a bulk update. */
+    private void invalidate() {
+        hashKnown = false;
+        extremesKnown = false;
+    }
+
+    private void computeExtremes() {
+        min = store.min();
+        max = store.max();
+        extremesKnown = true;
+    }
+
+    private static IntStore newStore(Representation representation) {
+        switch (representation) {
+            case BITMAP:
+                return new BitmapStore();
+            case ROARING:
+                return new RoaringStore();
+            case HASH:
+                return new HashStore();
+            case SORTED_ARRAY:
+                return new SortedArrayStore();
+            case ADAPTIVE:
+                return new AdaptiveStore(AdaptiveThresholds.DEFAULT);
+            case OFF_HEAP:
+                return new OffHeapHashStore();
+            case LIST:
+            default:
+                return new ListStore();
+        }
+    }
+
+    /**
+     * Returns the backing store representation of this set.
+     * @return the representation
+     */
+    public Representation getRepresentation() {
+        return representation;
+    }
+
+    /**
+     * Returns the store representation actually holding the elements: for
+     * an adaptive set, the one it has currently switched to.
+     * @return the active representation
+     */
+    Representation activeRepresentation() {
+        return store instanceof AdaptiveStore ? ((AdaptiveStore) store).current() : representation;
+    }
+
+    /**
+     * Returns the store to use as the other operand of a set operation.
+     * An adaptive set hands over its current backing store so that the
+     * receiver's same-representation fast paths apply.
+     */
+    private static IntStore operand(IntegerSet other) {
+        return other.store instanceof AdaptiveStore ? ((AdaptiveStore) other.store).delegate() : other.store;
+    }
 
     /**
      * Clears all elements from the set.
      */
     public void clear() {
-        set.clear();
+        store.clear();
+        filter = null;
+        hash = 0;
+        hashKnown = true;
+        extremesKnown = false;
     }
 
     /**
@@ -27,21 +192,53 @@ public class IntegerSet {
      * @return size of the set
      */
     public int length() {
-        return set.size();
+        return store.size();
     }
 
     /**
      * Returns true if this set and set b contain exactly the same elements.
-     * Order does not matter.
+     * Order does not matter. Sets of different sizes, or whose cached
+     * hashes differ, are rejected without looking at the elements.
      * @param b the other IntegerSet
      * @return true if equal
      */
     public boolean equals(IntegerSet b) {
-        ArrayList<Integer> copy1 = new ArrayList<>(set);
-        ArrayList<Integer> copy2 = new ArrayList<>(b.set);
-        Collections.sort(copy1);
-        Collections.sort(copy2);
-        return copy1.equals(copy2);
+        if (b == this) {
+            return true;
+        }
+        if (length() != b.length() || (hashKnown && b.hashKnown && hash != b.hash)) {
+            return false;
+        }
+        return store.sameElements(operand(b));
+    }
+
+    /**
+     * Returns true if o is an IntegerSet with exactly the same elements,
+     * whatever either set's representation.
+     * @param o the object to compare with
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IntegerSet && equals((IntegerSet) o);
+    }
+
+    /**
+     * Returns a hash of the elements that does not depend on their order or
+     * the representation. It is kept up to date by {@link #add(int)} and
+     * {@link #remove(int)}, so it is only computed in full after bulk
+     * updates. A set used as a map key must not be modified.
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        if (!hashKnown) {
+            int[] sum = {0};
+            store.forEach(v -> sum[0] += mix(v));
+            hash = sum[0];
+            hashKnown = true;
+        }
+        return hash;
     }
 
     /**
@@ -50,7 +247,72 @@ public class IntegerSet {
      * @return true if found
      */
     public boolean contains(int value) {
-        return set.contains(value);
+        if (filterRate > 0 && !filter().mightContain(value)) {
+            return false;
+        }
+        return store.contains(value);
+    }
+
+    /**
+     * Puts a Bloom filter in front of {@link #contains(int)}, so that most
+     * lookups of absent values skip the backing store. Worth it when
+     * probing the store is slow, for example a SORTED_ARRAY or LIST of
+     * hundreds of millions of elements, and most lookups miss.
+     *
+     * <p>The filter costs about 1.3 bytes per element at a 1% rate and
+     * 2 bytes at 0.1%. {@link #add(int)} updates it. After bulk additions,
+     * or once it has taken more values than it was sized for, it is rebuilt
+     * by the next lookup. Results of set operations do not inherit it.</p>
+     * @param falsePositiveRate share of absent values that still reach the
+     *        store, between 0 and 1 exclusive
+     * @throws IllegalArgumentException if the rate is out of range
+     */
+    public void attachFilter(double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate " + falsePositiveRate + " is not in (0, 1)");
+        }
+        filterRate = falsePositiveRate;
+        filter = null;
+        filter();
+    }
+
+    /**
+     * Removes the filter attached by {@link #attachFilter(double)}, if any.
+     */
+    public void detachFilter() {
+        filterRate = 0;
+        filter = null;
+    }
+
+    /**
+     * Drops an OFF_HEAP set's references to its direct-memory table; any
+     * other call on it then throws IllegalStateException. Closing twice is
+     * allowed. The memory itself is not freed here: it goes back to the
+     * system when the buffers' cleaners run, after the next garbage
+     * collection. Results of set operations have their own tables and are
+     * closed separately.
+     *
+     * <p>Heap sets are left to the garbage collector, so IntegerSet is not
+     * AutoCloseable and this method is for OFF_HEAP sets only.</p>
+     *
+     * @throws UnsupportedOperationException if this set is not OFF_HEAP
+     */
+    public void close() {
+        if (representation != Representation.OFF_HEAP) {
+            throw new UnsupportedOperationException("Only OFF_HEAP sets can be closed");
+        }
+        store.close();
+        filter = null;
+    }
+
+    /** Returns the attached filter, rebuilding it with room to grow if needed. */
+    private MembershipFilter filter() {
+        if (filter == null || filter.isFull()) {
+            int size = store.size();
+            filter = new MembershipFilter(size + size / 4 + 64, filterRate);
+            store.forEach(filter::add);
+        }
+        return filter;
     }
 
     /**
@@ -60,7 +322,10 @@ public class IntegerSet {
      */
     public int largest() {
         if (isEmpty()) throw new IllegalStateException("Set is empty");
-        return Collections.max(set);
+        if (!extremesKnown) {
+            computeExtremes();
+        }
+        return max;
     }
 
     /**
@@ -70,7 +335,88 @@ public class IntegerSet {
      */
     public int smallest() {
         if (isEmpty()) throw new IllegalStateException("Set is empty");
-        return Collections.min(set);
+        if (!extremesKnown) {
+            computeExtremes();
+        }
+        return min;
+    }
+
+    // Order queries. BITMAP and ROARING keep a rank index over their words
+    // and containers, SORTED_ARRAY is its own index and HASH sorts a copy;
+    // each is built by the first query after a change. LIST scans.
+
+    /**
+     * Returns the number of elements less than the value, in O(log n).
+     * @param value the bound, which need not be in the set
+     * @return count of elements below the value
+     */
+    public int rank(int value) {
+        return store.rank(value);
+    }
+
+    /**
+     * Returns the k-th smallest element, counting from 0, in O(log n).
+     * {@code select(rank(x)) == x} for every element x.
+     * @param k the rank of the element
+     * @return the element with k smaller elements
+     * @throws IndexOutOfBoundsException if k is negative or not less than length()
+     */
+    public int select(int k) {
+        if (k < 0 || k >= length()) {
+            throw new IndexOutOfBoundsException("k " + k + " is out of range for length " + length());
+        }
+        return store.select(k);
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the value.
+     * @param value the bound
+     * @return the element, or empty if every element is below the value
+     */
+    public OptionalInt ceiling(int value) {
+        int k = store.rank(value);
+        return k < length() ? OptionalInt.of(store.select(k)) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the largest element less than or equal to the value.
+     * @param value the bound
+     * @return the element, or empty if every element is above the value
+     */
+    public OptionalInt floor(int value) {
+        int k = store.rank(value) + (store.contains(value) ? 1 : 0);
+        return k > 0 ? OptionalInt.of(store.select(k - 1)) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the number of elements in [lo, hi], both inclusive, in O(log n).
+     * @param lo smallest value to count
+     * @param hi largest value to count
+     * @return count of elements in the range
+     * @throws IllegalArgumentException if lo is greater than hi
+     */
+    public int rangeCount(int lo, int hi) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("lo " + lo + " is greater than hi " + hi);
+        }
+        return store.rank(hi) + (store.contains(hi) ? 1 : 0) - store.rank(lo);
+    }
+
+    /**
+     * Passes every element in [lo, hi], both inclusive, to the action in
+     * ascending order, for every representation. Except for LIST, only
+     * the elements in the range are visited. The set must not be modified
+     * by the action.
+     * @param lo smallest value to visit
+     * @param hi largest value to visit
+     * @param action receives each element
+     * @throws IllegalArgumentException if lo is greater than hi
+     */
+    public void forEachInRange(int lo, int hi, IntConsumer action) {
+        if (lo > hi) {
+            throw new IllegalArgumentException("lo " + lo + " is greater than hi " + hi);
+        }
+        store.forEachInRange(lo, hi, action);
     }
 
     /**
@@ -78,8 +424,20 @@ public class IntegerSet {
      * @param item the integer to add
      */
     public void add(int item) {
-        if (!set.contains(item)) {
-            set.add(item);
+        if (!store.add(item)) {
+            return;
+        }
+        if (filter != null) {
+            filter.add(item);
+        }
+        hash += mix(item);
+        if (store.size() == 1) {
+            min = item;
+            max = item;
+            extremesKnown = true;
+        } else if (extremesKnown) {
+            min = Math.min(min, item);
+            max = Math.max(max, item);
         }
     }
 
@@ -88,7 +446,85 @@ public class IntegerSet {
      * @param item the integer to remove
      */
     public void remove(int item) {
-        set.remove(Integer.valueOf(item));
+        if (!store.remove(item)) {
+            return;
+        }
+        hash -= mix(item);
+        if (item == min || item == max) {
+            extremesKnown = false;
+        }
+    }
+
+    /**
+     * Adds every value in the array; values already present are ignored.
+     * Faster than calling {@link #add(int)} in a loop for most representations.
+     * @param values the integers to add
+     */
+    public void addAll(int[] values) {
+        store.addAll(values);
+        invalidate();
+        filter = null;
+    }
+
+    /**
+     * Adds every integer from {@code from} (inclusive) to {@code to} (exclusive).
+     * @param from first value to add
+     * @param to one past the last value to add
+     * @throws IllegalArgumentException if from is greater than to, or if the
+     *         range cannot fit in a SORTED_ARRAY set
+     */
+    public void addRange(int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from " + from + " is greater than to " + to);
+        }
+        store.addRange(from, to);
+        invalidate();
+        filter = null;
+    }
+
+    /**
+     * Removes every value in the array that is in the set.
+     * @param values the integers to remove
+     */
+    public void removeAll(int[] values) {
+        store.removeAll(values);
+        invalidate();
+    }
+
+    /**
+     * Adds every element of intSetb to this set, without allocating a new set.
+     * @param intSetb the other IntegerSet
+     */
+    public void unionInPlace(IntegerSet intSetb) {
+        if (intSetb != this) {
+            store.unionInPlace(operand(intSetb));
+            invalidate();
+            filter = null;
+        }
+    }
+
+    /**
+     * Keeps only the elements also in intSetb, without allocating a new set.
+     * @param intSetb the other IntegerSet
+     */
+    public void intersectInPlace(IntegerSet intSetb) {
+        if (intSetb != this) {
+            store.intersectInPlace(operand(intSetb));
+            invalidate();
+        }
+    }
+
+    /**
+     * Removes every element that is in intSetb, without allocating a new set.
+     * @param intSetb the other IntegerSet
+     */
+    public void diffInPlace(IntegerSet intSetb) {
+        if (intSetb == this) {
+            clear();
+        } else {
+            store.diffInPlace(operand(intSetb));
+            invalidate();
+        }
     }
 
     /**
@@ -97,14 +533,7 @@ public class IntegerSet {
      * @return union of the two sets
      */
     public IntegerSet union(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(set);
-        for (int item : intSetb.set) {
-            if (!result.set.contains(item)) {
-                result.set.add(item);
-            }
-        }
-        return result;
+        return new IntegerSet(representation, store.union(operand(intSetb)));
     }
 
     /**
@@ -113,10 +542,7 @@ public class IntegerSet {
      * @return intersection of the two sets
      */
     public IntegerSet intersect(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(set);
-        result.set.retainAll(intSetb.set);
-        return result;
+        return new IntegerSet(representation, store.intersect(operand(intSetb)));
     }
 
     /**
@@ -125,10 +551,7 @@ public class IntegerSet {
      * @return difference (this - intSetb)
      */
     public IntegerSet diff(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(set);
-        result.set.removeAll(intSetb.set);
-        return result;
+        return new IntegerSet(representation, store.diff(operand(intSetb)));
     }
 
     /**
@@ -137,10 +560,170 @@ public class IntegerSet {
      * @return complement (intSetb - this)
      */
     public IntegerSet complement(IntegerSet intSetb) {
-        IntegerSet result = new IntegerSet();
-        result.set.addAll(intSetb.set);
-        result.set.removeAll(set);
-        return result;
+        return new IntegerSet(representation, store.complement(operand(intSetb)));
+    }
+
+    // The counting operations below compute the size of a result, or
+    // whether it is empty, without building it.
+
+    /**
+     * Returns how many elements this set and intSetb have in common;
+     * the same as {@code intersect(intSetb).length()}.
+     * @param intSetb the other IntegerSet
+     * @return size of the intersection
+     */
+    public int intersectionSize(IntegerSet intSetb) {
+        return store.intersectionSize(operand(intSetb));
+    }
+
+    /**
+     * Returns the size of {@code union(intSetb)}.
+     * @param intSetb the other IntegerSet
+     * @return size of the union
+     */
+    public int unionSize(IntegerSet intSetb) {
+        return length() + intSetb.length() - intersectionSize(intSetb);
+    }
+
+    /**
+     * Returns the size of {@code diff(intSetb)}.
+     * @param intSetb the other IntegerSet
+     * @return size of the difference (this - intSetb)
+     */
+    public int diffSize(IntegerSet intSetb) {
+        return length() - intersectionSize(intSetb);
+    }
+
+    /**
+     * Returns true if the sets have at least one element in common.
+     * Stops at the first shared element found.
+     * @param intSetb the other IntegerSet
+     * @return true if the intersection is not empty
+     */
+    public boolean intersects(IntegerSet intSetb) {
+        return store.intersects(operand(intSetb));
+    }
+
+    /**
+     * Returns true if every element of this set is in intSetb.
+     * Stops at the first element that is not.
+     * @param intSetb the other IntegerSet
+     * @return true if this set is a subset of intSetb
+     */
+    public boolean isSubsetOf(IntegerSet intSetb) {
+        return store.isSubsetOf(operand(intSetb));
+    }
+
+    /**
+     * Same result as {@link #union(IntegerSet)}, computed on the common
+     * ForkJoinPool when both sets share a representation and together hold
+     * at least {@link #PARALLEL_THRESHOLD} elements.
+     * @param intSetb the other IntegerSet
+     * @return union of the two sets
+     */
+    public IntegerSet parallelUnion(IntegerSet intSetb) {
+        return parallel(IntStore.Op.UNION, intSetb);
+    }
+
+    /**
+     * Same result as {@link #intersect(IntegerSet)}, computed in parallel
+     * like {@link #parallelUnion(IntegerSet)}.
+     * @param intSetb the other IntegerSet
+     * @return intersection of the two sets
+     */
+    public IntegerSet parallelIntersect(IntegerSet intSetb) {
+        return parallel(IntStore.Op.INTERSECT, intSetb);
+    }
+
+    /**
+     * Same result as {@link #diff(IntegerSet)}, computed in parallel
+     * like {@link #parallelUnion(IntegerSet)}.
+     * @param intSetb the other IntegerSet
+     * @return difference (this - intSetb)
+     */
+    public IntegerSet parallelDiff(IntegerSet intSetb) {
+        return parallel(IntStore.Op.DIFF, intSetb);
+    }
+
+    /**
+     * Same result as {@link #complement(IntegerSet)}, computed in parallel
+     * like {@link #parallelUnion(IntegerSet)}.
+     * @param intSetb the other IntegerSet
+     * @return complement (intSetb - this)
+     */
+    public IntegerSet parallelComplement(IntegerSet intSetb) {
+        return parallel(IntStore.Op.COMPLEMENT, intSetb);
+    }
+
+    private IntegerSet parallel(IntStore.Op op, IntegerSet intSetb) {
+        IntStore other = operand(intSetb);
+        IntStore result = (long) length() + intSetb.length() < PARALLEL_THRESHOLD
+                ? store.apply(op, other) : store.parallel(op, other);
+        return new IntegerSet(representation, result);
+    }
+
+    /**
+     * Returns the union of all the sets in one pass, without building the
+     * intermediate results a chain of {@link #union(IntegerSet)} calls would.
+     * The result uses the representation of the first set; the backing store
+     * sizes itself once for all the inputs (bitmaps cover the combined range,
+     * sorted arrays are merged pairwise in log k rounds).
+     * @param sets the sets to combine
+     * @return union of all the sets; an empty set if none are given
+     */
+    public static IntegerSet unionAll(IntegerSet... sets) {
+        if (sets.length == 0) {
+            return new IntegerSet();
+        }
+        IntStore[] operands = new IntStore[sets.length];
+        for (int i = 0; i < sets.length; i++) {
+            operands[i] = operand(sets[i]);
+        }
+        IntStore result = sets[0].store.empty();
+        result.unionAll(operands);
+        return new IntegerSet(sets[0].representation, result);
+    }
+
+    /**
+     * Same as {@link #unionAll(IntegerSet...)} for a collection of sets.
+     * @param sets the sets to combine
+     * @return union of all the sets; an empty set if none are given
+     */
+    public static IntegerSet unionAll(Collection<IntegerSet> sets) {
+        return unionAll(sets.toArray(new IntegerSet[0]));
+    }
+
+    /**
+     * Returns the intersection of all the sets. The smallest set is copied
+     * once and then narrowed in place by the others, smallest first, so the
+     * working set shrinks as fast as possible and the work stops as soon as
+     * it is empty. The result uses the representation of the first set.
+     * @param sets the sets to combine
+     * @return intersection of all the sets
+     * @throws IllegalArgumentException if no sets are given
+     */
+    public static IntegerSet intersectAll(IntegerSet... sets) {
+        if (sets.length == 0) {
+            throw new IllegalArgumentException("intersectAll needs at least one set");
+        }
+        IntegerSet[] bySize = sets.clone();
+        Arrays.sort(bySize, Comparator.comparingInt(IntegerSet::length));
+        IntStore result = sets[0].store.empty();
+        result.unionInPlace(operand(bySize[0]));
+        for (int i = 1; i < bySize.length && !result.isEmpty(); i++) {
+            result.intersectInPlace(operand(bySize[i]));
+        }
+        return new IntegerSet(sets[0].representation, result);
+    }
+
+    /**
+     * Same as {@link #intersectAll(IntegerSet...)} for a collection of sets.
+     * @param sets the sets to combine
+     * @return intersection of all the sets
+     * @throws IllegalArgumentException if the collection is empty
+     */
+    public static IntegerSet intersectAll(Collection<IntegerSet> sets) {
+        return intersectAll(sets.toArray(new IntegerSet[0]));
     }
 
     /**
@@ -148,7 +731,88 @@ public class IntegerSet {
      * @return true if empty
      */
     public boolean isEmpty() {
-        return set.isEmpty();
+        return store.isEmpty();
+    }
+
+    /**
+     * Passes every element to the action without boxing. Elements come in
+     * ascending order for the BITMAP, ROARING and SORTED_ARRAY
+     * representations and in no particular order otherwise. The set must
+     * not be modified by the action.
+     * @param action receives each element
+     */
+    public void forEach(IntConsumer action) {
+        store.forEach(action);
+    }
+
+    /**
+     * Returns an iterator over the elements, in the same order as
+     * {@link #forEach(IntConsumer)}. The set must not be modified while the
+     * iterator is in use, and the iterator does not support remove.
+     * @return primitive iterator over the elements
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator over the elements, in the same order as
+     * {@link #forEach(IntConsumer)}. Except for LIST, it walks the backing
+     * store directly and splits it without copying, so parallel streams
+     * can divide the work. The set must not be modified while it is in use.
+     * @return primitive spliterator over the elements
+     */
+    public Spliterator.OfInt spliterator() {
+        return store.spliterator();
+    }
+
+    /**
+     * Returns a sequential stream of the elements; call
+     * {@code parallel()} on it to process them on the common ForkJoinPool.
+     * The set must not be modified while the stream is in use.
+     * @return stream of the elements
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the elements in ascending order.
+     * @return a new array
+     */
+    public int[] toArray() {
+        return store.toSortedArray();
+    }
+
+    /**
+     * Serializes the set in the compact binary format described in
+     * {@link BinaryFormat}: a bitmap for dense sets, varint-coded gaps for
+     * sparse ones. {@link MappedIntegerSet} can query the result in place.
+     * @return the serialized set
+     */
+    public byte[] toBytes() {
+        return BinaryFormat.encode(toArray());
+    }
+
+    /**
+     * Writes {@link #toBytes()} to the stream.
+     * @param out where to write the set
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(toBytes());
+    }
+
+    /**
+     * Reads a set written with {@link #writeTo(OutputStream)}, consuming
+     * the rest of the stream.
+     * @param in the stream to read
+     * @return a new set with the serialized elements
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the data is not a serialized set
+     */
+    public static IntegerSet readFrom(InputStream in) throws IOException {
+        return MappedIntegerSet.wrap(ByteBuffer.wrap(in.readAllBytes())).toIntegerSet();
     }
 
     /**
@@ -158,8 +822,14 @@ public class IntegerSet {
      */
     @Override
     public String toString() {
-        ArrayList<Integer> sorted = new ArrayList<>(set);
-        Collections.sort(sorted);
-        return sorted.toString();
+        int[] values = toArray();
+        StringBuilder sb = new StringBuilder(values.length * 4 + 2).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH comparison of IntegerSet representations across set sizes.
+ *
+ * <p>Needs JMH on the classpath (org.openjdk.jmh:jmh-core and
+ * jmh-generator-annprocess). Run with, for example:</p>
+ * <pre>
+ *   java -cp &lt;classes+jmh&gt; org.openjdk.jmh.Main IntegerSetBenchmark -p size=1000,100000
+ * </pre>
+ *
+ * <p>{@code build} inserts {@code size} distinct random values into a new set,
+ * {@code contains} probes a built set with a mix of hits and misses, and
+ * {@code remove} empties a copy of a built set (the copy is included), and
+ * {@code union} combines two built sets. LIST and SORTED_ARRAY are quadratic
+ * to build and LIST to union, so their larger sizes take seconds per
+ * operation. {@link IntegerSetScalingBenchmark} covers the other operations
+ * up to 10,000,000 elements.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerSetBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int size;
+
+    @Param({"LIST", "SORTED_ARRAY", "HASH"})
+    public IntegerSet.Representation representation;
+
+    private int[] values;
+    private int[] probes;
+    private IntegerSet built;
+    private IntegerSet other;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = random.ints().distinct().limit(size).toArray();
+        probes = new int[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i % 2 == 0 ? values[random.nextInt(size)] : random.nextInt();
+        }
+        built = fill(new IntegerSet(representation));
+        other = new IntegerSet(representation);
+        random.ints().distinct().limit(size).forEach(other::add);
+    }
+
+    private IntegerSet fill(IntegerSet set) {
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntegerSet build() {
+        return fill(new IntegerSet(representation));
+    }
+
+    @Benchmark
+    public void contains(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(built.contains(probe));
+        }
+    }
+
+    @Benchmark
+    public IntegerSet union() {
+        return built.union(other);
+    }
+
+    @Benchmark
+    public IntegerSet remove() {
+        IntegerSet set = built.union(new IntegerSet(representation));
+        for (int value : values) {
+            set.remove(value);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,204 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH suite measuring how every IntegerSet operation scales with set size
+ * and density, for judging backend changes.
+ *
+ * <p>Sizes run from 10 to 10,000,000 elements. {@link Density} sets how
+ * the elements are spread, from all non-negative ints down to half of a
+ * range twice the size. {@code add} and {@code remove} report the cost of
+ * one update at the given size: each invocation adds (removes) {@value #PROBES}
+ * values and then undoes it, so the set is unchanged between invocations
+ * and the undo is part of the average. LIST is left out; the cost of
+ * building a set by repeated adds, quadratic for LIST and SORTED_ARRAY, is
+ * measured by {@link IntegerSetBenchmark}. BITMAP under SPARSE covers
+ * 2^31 values, 256 MB per set whatever its size, hence the large heap.</p>
+ *
+ * <p>{@link #main(String[])} runs the suite with JMH's GC profiler, which
+ * adds allocation rate and bytes allocated per operation to every result.
+ * To run a subset with allocation figures from the command line:</p>
+ * <pre>
+ *   java -cp &lt;classes+jmh&gt; org.openjdk.jmh.Main IntegerSetScalingBenchmark.union \
+ *       -p size=100000,10000000 -p density=DENSE -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Thread)
+public class IntegerSetScalingBenchmark {
+
+    static final int PROBES = 1024;
+
+    /** How elements are spread: the value range as a multiple of the size. */
+    public enum Density {
+        /** Uniform over the non-negative ints. */
+        SPARSE(0),
+        /** One value in 64 present, on average. */
+        MEDIUM(64),
+        /** Half of the values present. */
+        DENSE(2);
+
+        final int spread;
+
+        Density(int spread) {
+            this.spread = spread;
+        }
+
+        /** Returns distinct random values for a set of the given size. */
+        int[] values(Random random, int size) {
+            return random.ints(0, range(size)).distinct().limit(size).toArray();
+        }
+
+        /** Returns a random value from the range, so that adding it does not widen a bitmap. */
+        int next(Random random, int size) {
+            return random.nextInt(range(size));
+        }
+
+        /** Values are drawn from [0, range), or from all ints for SPARSE. */
+        private int range(int size) {
+            return spread == 0 ? Integer.MAX_VALUE : (int) Math.min((long) size * spread, Integer.MAX_VALUE);
+        }
+    }
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"SPARSE", "MEDIUM", "DENSE"})
+    public Density density;
+
+    @Param({"ADAPTIVE", "SORTED_ARRAY", "HASH", "OFF_HEAP", "BITMAP", "ROARING"})
+    public IntegerSet.Representation representation;
+
+    private IntegerSet a;
+    private IntegerSet b;
+    private IntegerSet aCopy;
+    /** Elements of a, possibly repeated when the set is small. */
+    private int[] present;
+    private int[] absent;
+    private int[] probes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int[] values = density.values(random, size);
+        a = fill(values);
+        aCopy = fill(values);
+        b = fill(density.values(random, size));
+        present = new int[PROBES];
+        absent = new int[PROBES];
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            present[i] = values[random.nextInt(size)];
+            do {
+                absent[i] = density.next(random, size);
+            } while (a.contains(absent[i]));
+            probes[i] = i % 2 == 0 ? present[i] : absent[i];
+        }
+    }
+
+    private IntegerSet fill(int[] values) {
+        IntegerSet set = new IntegerSet(representation);
+        set.addAll(values);
+        return set;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * PROBES)
+    public IntegerSet add() {
+        for (int value : absent) {
+            a.add(value);
+        }
+        for (int value : absent) {
+            a.remove(value);
+        }
+        return a;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * PROBES)
+    public IntegerSet remove() {
+        for (int value : present) {
+            a.remove(value);
+        }
+        for (int value : present) {
+            a.add(value);
+        }
+        return a;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void contains(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(a.contains(probe));
+        }
+    }
+
+    @Benchmark
+    public IntegerSet union() {
+        return a.union(b);
+    }
+
+    @Benchmark
+    public IntegerSet intersect() {
+        return a.intersect(b);
+    }
+
+    @Benchmark
+    public IntegerSet diff() {
+        return a.diff(b);
+    }
+
+    @Benchmark
+    public IntegerSet complement() {
+        return a.complement(b);
+    }
+
+    /** Equal sets of the same size, so the elements are compared in full. */
+    @Benchmark
+    public boolean equalSets() {
+        return a.equals(aCopy);
+    }
+
+    @Benchmark
+    public String toStringOfSet() {
+        return a.toString();
+    }
+
+    /**
+     * Runs the whole suite with the GC profiler.
+     * @param args ignored
+     * @throws RunnerException if JMH fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IntegerSetScalingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
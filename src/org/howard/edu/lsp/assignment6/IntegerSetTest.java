@@ -1,6 +1,13 @@
 package org.howard.edu.lsp.assignment6;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -366,4 +373,857 @@ public class IntegerSetTest {
     public void testToStringEmpty() {
         assertEquals("[]", setA.toString());
     }
+
+    // ---------------------------------------------------------------
+    // Representation.BITMAP
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("bitmap - normal: negative values and growth in both directions")
+    public void testBitmapNegativeAndGrowth() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.BITMAP);
+        set.add(5);
+        set.add(-70);
+        set.add(1000);
+        set.add(-1);
+        set.add(5);
+        assertEquals(4, set.length());
+        assertTrue(set.contains(-70));
+        assertFalse(set.contains(-69));
+        assertEquals(-70, set.smallest());
+        assertEquals(1000, set.largest());
+        assertEquals("[-70, -1, 5, 1000]", set.toString());
+    }
+
+    @Test
+    @DisplayName("bitmap - edge: int extremes and remove")
+    public void testBitmapExtremes() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.BITMAP);
+        set.add(Integer.MAX_VALUE);
+        set.add(Integer.MIN_VALUE + 1);
+        assertEquals(Integer.MIN_VALUE + 1, set.smallest());
+        assertEquals(Integer.MAX_VALUE, set.largest());
+        set.remove(Integer.MAX_VALUE);
+        set.remove(Integer.MAX_VALUE);
+        assertEquals(1, set.length());
+        assertEquals(Integer.MIN_VALUE + 1, set.largest());
+    }
+
+    @Test
+    @DisplayName("bitmap - normal: set operations on offset ranges")
+    public void testBitmapSetOperations() {
+        IntegerSet a = new IntegerSet(IntegerSet.Representation.BITMAP);
+        IntegerSet b = new IntegerSet(IntegerSet.Representation.BITMAP);
+        for (int i = -100; i < 100; i += 3) {
+            a.add(i);
+        }
+        for (int i = 0; i < 300; i += 2) {
+            b.add(i);
+        }
+        IntegerSet listA = new IntegerSet(IntegerSet.Representation.LIST);
+        IntegerSet listB = new IntegerSet(IntegerSet.Representation.LIST);
+        for (int i = -100; i < 100; i += 3) {
+            listA.add(i);
+        }
+        for (int i = 0; i < 300; i += 2) {
+            listB.add(i);
+        }
+        assertEquals(listA.union(listB).toString(), a.union(b).toString());
+        assertEquals(listA.intersect(listB).toString(), a.intersect(b).toString());
+        assertEquals(listA.diff(listB).toString(), a.diff(b).toString());
+        assertEquals(listA.complement(listB).toString(), a.complement(b).toString());
+        assertEquals(listA.intersect(listB).length(), a.intersect(b).length());
+    }
+
+    @Test
+    @DisplayName("bitmap - edge: mixed representations interoperate")
+    public void testMixedRepresentations() {
+        IntegerSet bitmap = new IntegerSet(IntegerSet.Representation.BITMAP);
+        IntegerSet list = new IntegerSet(IntegerSet.Representation.LIST);
+        list.add(1);
+        list.add(2);
+        bitmap.add(2);
+        bitmap.add(1);
+        assertTrue(list.equals(bitmap));
+        assertTrue(bitmap.equals(list));
+        bitmap.add(3);
+        assertFalse(bitmap.equals(list));
+        assertEquals("[1, 2, 3]", list.union(bitmap).toString());
+        assertEquals(IntegerSet.Representation.LIST, list.union(bitmap).getRepresentation());
+        assertEquals(IntegerSet.Representation.BITMAP, bitmap.union(list).getRepresentation());
+        assertEquals("[3]", list.complement(bitmap).toString());
+    }
+
+    // ---------------------------------------------------------------
+    // Representation.ROARING
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("roaring - normal: sparse values across the full int range")
+    public void testRoaringSparse() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.ROARING);
+        set.add(Integer.MAX_VALUE);
+        set.add(Integer.MIN_VALUE);
+        set.add(-1);
+        set.add(0);
+        set.add(65536);
+        set.add(0);
+        assertEquals(5, set.length());
+        assertEquals(Integer.MIN_VALUE, set.smallest());
+        assertEquals(Integer.MAX_VALUE, set.largest());
+        assertEquals("[-2147483648, -1, 0, 65536, 2147483647]", set.toString());
+        set.remove(Integer.MIN_VALUE);
+        set.remove(Integer.MAX_VALUE);
+        assertEquals(-1, set.smallest());
+        assertEquals(65536, set.largest());
+    }
+
+    @Test
+    @DisplayName("roaring - edge: chunk grows past the array limit and shrinks back")
+    public void testRoaringDenseChunk() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.ROARING);
+        for (int i = 0; i < 10000; i++) {
+            set.add(i * 2);
+        }
+        assertEquals(10000, set.length());
+        assertTrue(set.contains(19998));
+        assertFalse(set.contains(19999));
+        for (int i = 0; i < 9000; i++) {
+            set.remove(i * 2);
+        }
+        assertEquals(1000, set.length());
+        assertEquals(18000, set.smallest());
+        assertEquals(19998, set.largest());
+    }
+
+    @Test
+    @DisplayName("roaring - normal: set operations mixing array, bitmap and run chunks")
+    public void testRoaringSetOperations() {
+        IntegerSet a = new IntegerSet(IntegerSet.Representation.ROARING);
+        IntegerSet b = new IntegerSet(IntegerSet.Representation.ROARING);
+        IntegerSet listA = new IntegerSet(IntegerSet.Representation.LIST);
+        IntegerSet listB = new IntegerSet(IntegerSet.Representation.LIST);
+        for (int i = -70000; i < 70000; i += 7) {
+            a.add(i);
+            listA.add(i);
+        }
+        for (int i = 0; i < 20000; i++) {
+            b.add(i);
+            listB.add(i);
+        }
+        for (int i = 200000; i < 200050; i++) {
+            b.add(i);
+            listB.add(i);
+        }
+        IntegerSet union = a.union(b);
+        assertEquals(listA.union(listB).toString(), union.toString());
+        assertEquals(listA.intersect(listB).toString(), a.intersect(b).toString());
+        assertEquals(listA.diff(listB).toString(), a.diff(b).toString());
+        assertEquals(listA.complement(listB).toString(), a.complement(b).toString());
+        // b is mostly ranges, so b ∩ b and b ∪ b go through run containers.
+        IntegerSet ranges = b.union(b);
+        assertTrue(ranges.equals(b));
+        assertEquals(listB.diff(listA).toString(), ranges.diff(a).toString());
+        assertEquals(listB.intersect(listA).toString(), ranges.intersect(b).intersect(a).toString());
+    }
+
+    @Test
+    @DisplayName("roaring - edge: mixed representations interoperate")
+    public void testRoaringMixedRepresentations() {
+        IntegerSet roaring = new IntegerSet(IntegerSet.Representation.ROARING);
+        IntegerSet bitmap = new IntegerSet(IntegerSet.Representation.BITMAP);
+        for (int i = 0; i < 5; i++) {
+            roaring.add(i);
+            bitmap.add(4 - i);
+        }
+        assertTrue(roaring.equals(bitmap));
+        assertTrue(bitmap.equals(roaring));
+        bitmap.add(-5);
+        assertEquals("[-5]", roaring.complement(bitmap).toString());
+        assertEquals(IntegerSet.Representation.ROARING, roaring.union(bitmap).getRepresentation());
+        assertEquals("[-5, 0, 1, 2, 3, 4]", roaring.union(bitmap).toString());
+    }
+
+    // ---------------------------------------------------------------
+    // Representation.HASH
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("hash - normal: zero, negatives and growth past the initial table")
+    public void testHashAddContains() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.HASH);
+        set.add(0);
+        set.add(0);
+        for (int i = 1; i <= 1000; i++) {
+            set.add(-i * 31);
+        }
+        assertEquals(1001, set.length());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-31000));
+        assertFalse(set.contains(31));
+        assertEquals(-31000, set.smallest());
+        assertEquals(0, set.largest());
+    }
+
+    @Test
+    @DisplayName("hash - edge: removes keep colliding values reachable")
+    public void testHashRemove() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.HASH);
+        for (int i = 0; i < 2000; i++) {
+            set.add(i << 16);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            set.remove(i << 16);
+        }
+        set.remove(12345);
+        assertEquals(1000, set.length());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i % 2 == 1, set.contains(i << 16));
+        }
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1 << 16));
+    }
+
+    @Test
+    @DisplayName("hash - normal: set operations and sorted toString")
+    public void testHashSetOperations() {
+        IntegerSet a = new IntegerSet(IntegerSet.Representation.HASH);
+        IntegerSet b = new IntegerSet(IntegerSet.Representation.HASH);
+        for (int i = 5; i >= -5; i--) {
+            a.add(i);
+        }
+        for (int i = 0; i < 10; i += 3) {
+            b.add(i);
+        }
+        assertEquals("[-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 5]", a.toString());
+        assertEquals("[-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 5, 6, 9]", a.union(b).toString());
+        assertEquals("[0, 3]", a.intersect(b).toString());
+        assertEquals("[6, 9]", a.complement(b).toString());
+        assertTrue(a.intersect(b).equals(b.diff(a.complement(b))));
+    }
+
+    // ---------------------------------------------------------------
+    // Representation.SORTED_ARRAY
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("sorted array - normal: unsorted inserts come out ordered")
+    public void testSortedArrayOrder() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        int[] values = {7, -3, 12, 0, 7, -20, 5};
+        for (int v : values) {
+            set.add(v);
+        }
+        assertEquals(6, set.length());
+        assertEquals(-20, set.smallest());
+        assertEquals(12, set.largest());
+        assertEquals("[-20, -3, 0, 5, 7, 12]", set.toString());
+        set.remove(-20);
+        set.remove(12);
+        set.remove(100);
+        assertEquals("[-3, 0, 5, 7]", set.toString());
+    }
+
+    @Test
+    @DisplayName("sorted array - edge: very unequal sizes use the galloping merge")
+    public void testSortedArrayGalloping() {
+        IntegerSet large = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        IntegerSet small = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        for (int i = 0; i < 10000; i += 2) {
+            large.add(i);
+        }
+        small.add(-1);
+        small.add(4);
+        small.add(5);
+        small.add(9998);
+        small.add(20000);
+        assertEquals("[4, 9998]", small.intersect(large).toString());
+        assertEquals("[4, 9998]", large.intersect(small).toString());
+        assertEquals("[-1, 5, 20000]", small.diff(large).toString());
+        assertEquals(4998, large.diff(small).length());
+        assertFalse(large.diff(small).contains(9998));
+        IntegerSet union = large.union(small);
+        assertEquals(5003, union.length());
+        assertEquals(-1, union.smallest());
+        assertEquals(20000, union.largest());
+        assertTrue(union.equals(small.union(large)));
+    }
+
+    @Test
+    @DisplayName("sorted array - normal: same results as LIST")
+    public void testSortedArrayMatchesList() {
+        IntegerSet a = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        IntegerSet b = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        IntegerSet listA = new IntegerSet(IntegerSet.Representation.LIST);
+        IntegerSet listB = new IntegerSet(IntegerSet.Representation.LIST);
+        for (int i = 0; i < 60; i += 3) {
+            a.add(i);
+            listA.add(i);
+        }
+        for (int i = 0; i < 60; i += 4) {
+            b.add(i);
+            listB.add(i);
+        }
+        assertEquals(listA.union(listB).toString(), a.union(b).toString());
+        assertEquals(listA.intersect(listB).toString(), a.intersect(b).toString());
+        assertEquals(listA.diff(listB).toString(), a.diff(b).toString());
+        assertEquals(listA.complement(listB).toString(), a.complement(b).toString());
+        assertTrue(a.equals(listA));
+        assertFalse(a.equals(b));
+    }
+
+    // ---------------------------------------------------------------
+    // Representation.ADAPTIVE
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("adaptive - normal: default constructor is adaptive and starts as a sorted array")
+    public void testAdaptiveDefault() {
+        assertEquals(IntegerSet.Representation.ADAPTIVE, setA.getRepresentation());
+        setA.add(3);
+        setA.add(1);
+        assertEquals(IntegerSet.Representation.SORTED_ARRAY, setA.activeRepresentation());
+        assertEquals("[1, 3]", setA.toString());
+    }
+
+    @Test
+    @DisplayName("adaptive - normal: dense sets become bitmaps, sparse sets hash sets")
+    public void testAdaptiveMigrates() {
+        for (int i = 0; i < 1000; i++) {
+            setA.add(i);
+            setB.add(i * 1_000_003);
+        }
+        assertEquals(IntegerSet.Representation.BITMAP, setA.activeRepresentation());
+        assertEquals(IntegerSet.Representation.HASH, setB.activeRepresentation());
+        assertEquals(1000, setA.length());
+        assertEquals(1000, setB.length());
+        assertTrue(setB.contains(999 * 1_000_003));
+        // One far-away value makes the bitmap too sparse to keep.
+        setA.add(Integer.MIN_VALUE);
+        assertEquals(IntegerSet.Representation.HASH, setA.activeRepresentation());
+        assertEquals(Integer.MIN_VALUE, setA.smallest());
+        assertEquals(999, setA.largest());
+        assertEquals("[0]", setA.intersect(setB).toString());
+    }
+
+    @Test
+    @DisplayName("adaptive - edge: shrinking sets move back to a sorted array")
+    public void testAdaptiveShrinks() {
+        for (int i = 0; i < 500; i++) {
+            setA.add(i);
+        }
+        for (int i = 0; i < 490; i++) {
+            setA.remove(i);
+        }
+        assertEquals(IntegerSet.Representation.SORTED_ARRAY, setA.activeRepresentation());
+        assertEquals("[490, 491, 492, 493, 494, 495, 496, 497, 498, 499]", setA.toString());
+        setA.clear();
+        assertTrue(setA.isEmpty());
+        assertEquals(IntegerSet.Representation.SORTED_ARRAY, setA.activeRepresentation());
+    }
+
+    @Test
+    @DisplayName("adaptive - edge: custom thresholds and operation results")
+    public void testAdaptiveThresholds() {
+        IntegerSet set = new IntegerSet(new AdaptiveThresholds(4, 2));
+        for (int i = 0; i < 5; i++) {
+            set.add(i * 2);
+        }
+        assertEquals(IntegerSet.Representation.BITMAP, set.activeRepresentation());
+        set.add(100);
+        assertEquals(IntegerSet.Representation.HASH, set.activeRepresentation());
+        IntegerSet result = set.diff(set);
+        assertTrue(result.isEmpty());
+        assertEquals(IntegerSet.Representation.ADAPTIVE, result.getRepresentation());
+        assertEquals(IntegerSet.Representation.SORTED_ARRAY, result.activeRepresentation());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveThresholds(-1, 8));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveThresholds(8, 0));
+    }
+
+    // ---------------------------------------------------------------
+    // parallel set operations
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("parallel - normal: same results as the sequential operations above the threshold")
+    public void testParallelMatchesSequential() {
+        IntegerSet.Representation[] reps = {
+            IntegerSet.Representation.SORTED_ARRAY, IntegerSet.Representation.HASH,
+            IntegerSet.Representation.BITMAP, IntegerSet.Representation.ROARING,
+            IntegerSet.Representation.ADAPTIVE
+        };
+        for (IntegerSet.Representation rep : reps) {
+            IntegerSet a = new IntegerSet(rep);
+            IntegerSet b = new IntegerSet(rep);
+            for (int i = -100_000; i < 100_000; i += 2) {
+                a.add(i);
+            }
+            for (int i = 0; i < 300_000; i += 3) {
+                b.add(i);
+            }
+            assertTrue(a.length() + b.length() >= IntegerSet.PARALLEL_THRESHOLD);
+            assertTrue(a.union(b).equals(a.parallelUnion(b)), rep + " union");
+            assertTrue(a.intersect(b).equals(a.parallelIntersect(b)), rep + " intersect");
+            assertTrue(a.diff(b).equals(a.parallelDiff(b)), rep + " diff");
+            assertTrue(a.complement(b).equals(a.parallelComplement(b)), rep + " complement");
+            assertEquals(rep, a.parallelUnion(b).getRepresentation());
+        }
+    }
+
+    @Test
+    @DisplayName("parallel - edge: small and mixed-representation operands")
+    public void testParallelSmallAndMixed() {
+        setA.add(1);
+        setA.add(2);
+        setB.add(2);
+        setB.add(3);
+        assertEquals("[1, 2, 3]", setA.parallelUnion(setB).toString());
+        assertEquals("[2]", setA.parallelIntersect(setB).toString());
+        assertEquals("[1]", setA.parallelDiff(setB).toString());
+        assertEquals("[3]", setA.parallelComplement(setB).toString());
+        IntegerSet bitmap = new IntegerSet(IntegerSet.Representation.BITMAP);
+        IntegerSet hash = new IntegerSet(IntegerSet.Representation.HASH);
+        for (int i = 0; i < 100_000; i++) {
+            bitmap.add(i);
+            hash.add(i * 2);
+        }
+        IntegerSet evens = bitmap.parallelIntersect(hash);
+        assertEquals(50_000, evens.length());
+        assertEquals(IntegerSet.Representation.BITMAP, evens.getRepresentation());
+        assertEquals(50_000, hash.parallelDiff(bitmap).length());
+    }
+
+    // ---------------------------------------------------------------
+    // bulk and in-place operations
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("addAll()/removeAll() - normal: every representation, with repeats")
+    public void testAddAllRemoveAll() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.add(4);
+            set.addAll(new int[] {9, -2, 4, 9, 100, 0});
+            assertEquals("[-2, 0, 4, 9, 100]", set.toString(), rep.toString());
+            set.removeAll(new int[] {100, 7, -2, 100});
+            assertEquals("[0, 4, 9]", set.toString(), rep.toString());
+            set.addAll(new int[0]);
+            assertEquals(3, set.length());
+        }
+    }
+
+    @Test
+    @DisplayName("addRange() - edge: empty, overlapping and invalid ranges")
+    public void testAddRange() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.add(12);
+            set.addRange(5, 5);
+            assertEquals("[12]", set.toString(), rep.toString());
+            set.addRange(10, 15);
+            set.addRange(-3, 0);
+            assertEquals("[-3, -2, -1, 10, 11, 12, 13, 14]", set.toString(), rep.toString());
+            assertThrows(IllegalArgumentException.class, () -> set.addRange(2, 1));
+        }
+        IntegerSet sorted = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        sorted.add(7);
+        assertThrows(IllegalArgumentException.class, () -> sorted.addRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals("[7]", sorted.toString());
+        IntegerSet large = new IntegerSet(IntegerSet.Representation.ROARING);
+        large.addRange(-100_000, 200_000);
+        assertEquals(300_000, large.length());
+        assertEquals(-100_000, large.smallest());
+        assertEquals(199_999, large.largest());
+    }
+
+    @Test
+    @DisplayName("in-place operations - normal: match the allocating versions, including self")
+    public void testInPlaceOperations() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet a = new IntegerSet(rep);
+            IntegerSet b = new IntegerSet(rep);
+            a.addRange(0, 50);
+            b.addAll(new int[] {-5, 10, 20, 30, 40, 60});
+            IntegerSet union = a.union(b);
+            IntegerSet intersection = a.intersect(b);
+            IntegerSet difference = a.diff(b);
+            IntegerSet c = a.union(new IntegerSet(rep));
+            c.unionInPlace(b);
+            assertTrue(c.equals(union), rep.toString());
+            c.intersectInPlace(a);
+            assertTrue(c.equals(a), rep.toString());
+            c.diffInPlace(b);
+            assertTrue(c.equals(difference), rep.toString());
+            a.intersectInPlace(b);
+            assertTrue(a.equals(intersection), rep.toString());
+            a.unionInPlace(a);
+            a.intersectInPlace(a);
+            assertTrue(a.equals(intersection), rep.toString());
+            a.diffInPlace(a);
+            assertTrue(a.isEmpty(), rep.toString());
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // iteration and streaming
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("forEach()/iterator()/toArray() - normal: every element once, every representation")
+    public void testIteration() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.addAll(new int[] {7, -1, 0, 70_000, Integer.MIN_VALUE});
+            assertArrayEquals(new int[] {Integer.MIN_VALUE, -1, 0, 7, 70_000}, set.toArray());
+            long[] sum = {0};
+            set.forEach(v -> sum[0] += v);
+            assertEquals(70_006L + Integer.MIN_VALUE, sum[0], rep.toString());
+            PrimitiveIterator.OfInt it = set.iterator();
+            int[] seen = new int[5];
+            int n = 0;
+            while (it.hasNext()) {
+                seen[n++] = it.nextInt();
+            }
+            Arrays.sort(seen);
+            assertArrayEquals(set.toArray(), seen);
+            assertEquals(5, set.spliterator().getExactSizeIfKnown(), rep.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("stream() - normal: parallel streams split large sets and see every element")
+    public void testParallelStream() {
+        Random random = new Random(3);
+        int[] values = random.ints(60_000, -3_000_000, 3_000_000).toArray();
+        IntegerSet reference = new IntegerSet(IntegerSet.Representation.SORTED_ARRAY);
+        reference.addAll(values);
+        long expected = 0;
+        for (int value : reference.toArray()) {
+            expected += value;
+        }
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            if (rep == IntegerSet.Representation.LIST) {
+                continue;
+            }
+            IntegerSet set = new IntegerSet(rep);
+            set.addAll(values);
+            assertEquals(expected, set.stream().parallel().asLongStream().sum(), rep.toString());
+            assertEquals(reference.length(), set.stream().parallel().count(), rep.toString());
+            assertTrue(set.spliterator().trySplit() != null, rep.toString());
+            if (set.activeRepresentation() != IntegerSet.Representation.HASH) {
+                assertArrayEquals(reference.toArray(), set.stream().parallel().toArray());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("stream() - edge: empty set")
+    public void testEmptyStream() {
+        assertEquals(0, setA.stream().count());
+        assertFalse(setA.iterator().hasNext());
+        assertEquals(0, setA.toArray().length);
+    }
+
+    // ---------------------------------------------------------------
+    // equals(Object), hashCode() and cached extremes
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("equals(Object)/hashCode() - normal: equal sets match across representations")
+    public void testHashCodeAcrossRepresentations() {
+        Map<IntegerSet, String> names = new HashMap<>();
+        IntegerSet key = new IntegerSet(IntegerSet.Representation.LIST);
+        key.addAll(new int[] {3, -9, 40_000});
+        names.put(key, "key");
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.add(40_000);
+            set.add(-9);
+            set.add(7);
+            set.add(3);
+            set.remove(7);
+            assertEquals(key.hashCode(), set.hashCode(), rep.toString());
+            assertTrue(set.equals((Object) key), rep.toString());
+            assertEquals("key", names.get(set), rep.toString());
+            set.add(8);
+            assertFalse(set.equals((Object) key), rep.toString());
+            assertNotEquals(key.hashCode(), set.hashCode());
+        }
+    }
+
+    @Test
+    @DisplayName("equals(Object)/hashCode() - edge: bulk updates, other types, empty sets")
+    public void testHashCodeAfterBulkUpdates() {
+        setA.addRange(0, 1000);
+        setB.addAll(new int[] {999, 5});
+        setB.unionInPlace(setA);
+        setB.removeAll(new int[] {1000});
+        assertTrue(setA.equals((Object) setB));
+        assertEquals(setA.hashCode(), setB.hashCode());
+        setB.remove(500);
+        assertFalse(setA.equals(setB));
+        assertFalse(setA.equals("[0, 1, 2]"));
+        assertFalse(setA.equals((Object) null));
+        setA.clear();
+        assertEquals(new IntegerSet().hashCode(), setA.hashCode());
+        assertTrue(setA.equals((Object) new IntegerSet(IntegerSet.Representation.HASH)));
+    }
+
+    @Test
+    @DisplayName("largest()/smallest() - edge: cached extremes follow removals and bulk updates")
+    public void testCachedExtremes() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.add(5);
+            set.add(-2);
+            set.add(9);
+            assertEquals(9, set.largest());
+            set.remove(9);
+            assertEquals(5, set.largest(), rep.toString());
+            set.remove(-2);
+            assertEquals(5, set.smallest(), rep.toString());
+            set.addRange(-10, -5);
+            assertEquals(-10, set.smallest(), rep.toString());
+            IntegerSet high = new IntegerSet(rep);
+            high.add(100);
+            set.unionInPlace(high);
+            assertEquals(100, set.largest(), rep.toString());
+            set.diffInPlace(high);
+            assertEquals(5, set.largest(), rep.toString());
+            set.remove(5);
+            assertEquals(-6, set.largest(), rep.toString());
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // unionAll() and intersectAll()
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("unionAll()/intersectAll() - normal: match chained operations, mixed representations")
+    public void testMultiWayOperations() {
+        IntegerSet.Representation[] reps = IntegerSet.Representation.values();
+        Random random = new Random(43);
+        IntegerSet[] sets = new IntegerSet[12];
+        for (IntegerSet.Representation first : reps) {
+            for (int i = 0; i < sets.length; i++) {
+                // Mostly the first representation, with a few others mixed in.
+                sets[i] = new IntegerSet(i % 4 == 3 ? reps[i % reps.length] : first);
+                sets[i].addRange(0, 200);
+                sets[i].addAll(random.ints(300, -5_000, 5_000).toArray());
+            }
+            IntegerSet union = sets[0];
+            IntegerSet intersection = sets[0];
+            for (int i = 1; i < sets.length; i++) {
+                union = union.union(sets[i]);
+                intersection = intersection.intersect(sets[i]);
+            }
+            IntegerSet unionAll = IntegerSet.unionAll(sets);
+            IntegerSet intersectAll = IntegerSet.intersectAll(Arrays.asList(sets));
+            assertTrue(unionAll.equals(union), first.toString());
+            assertTrue(intersectAll.equals(intersection), first.toString());
+            assertEquals(first, unionAll.getRepresentation());
+            assertEquals(first, intersectAll.getRepresentation());
+        }
+    }
+
+    @Test
+    @DisplayName("unionAll()/intersectAll() - edge: no sets, one set, an empty set, repeats")
+    public void testMultiWayEdgeCases() {
+        assertTrue(IntegerSet.unionAll().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> IntegerSet.intersectAll());
+        setA.addAll(new int[] {1, 2, 3});
+        setB.add(2);
+        assertEquals("[1, 2, 3]", IntegerSet.unionAll(setA).toString());
+        assertEquals("[1, 2, 3]", IntegerSet.intersectAll(setA, setA).toString());
+        assertEquals("[2]", IntegerSet.intersectAll(setA, setB, setA).toString());
+        assertTrue(IntegerSet.intersectAll(setA, new IntegerSet(), setB).isEmpty());
+        assertEquals("[1, 2, 3]", IntegerSet.unionAll(setB, setA, setB, new IntegerSet()).toString());
+        assertEquals("[1, 2, 3]", setA.toString());
+    }
+
+    // ---------------------------------------------------------------
+    // counting operations
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("counting operations - normal: match the sizes of built results")
+    public void testCountingOperations() {
+        IntegerSet.Representation[] reps = IntegerSet.Representation.values();
+        Random random = new Random(44);
+        for (IntegerSet.Representation repA : reps) {
+            for (IntegerSet.Representation repB : reps) {
+                IntegerSet a = new IntegerSet(repA);
+                IntegerSet b = new IntegerSet(repB);
+                a.addAll(random.ints(400, 0, 3_000).toArray());
+                a.addRange(70_000, 70_100);
+                b.addAll(random.ints(50, 0, 3_000).toArray());
+                String pair = repA + "/" + repB;
+                assertEquals(a.intersect(b).length(), a.intersectionSize(b), pair);
+                assertEquals(a.union(b).length(), a.unionSize(b), pair);
+                assertEquals(a.diff(b).length(), a.diffSize(b), pair);
+                assertEquals(b.diff(a).length(), b.diffSize(a), pair);
+                assertTrue(a.intersects(b), pair);
+                IntegerSet part = a.intersect(b);
+                assertTrue(part.isSubsetOf(a), pair);
+                assertTrue(part.isSubsetOf(b), pair);
+                assertFalse(a.isSubsetOf(part), pair);
+                part.add(-1);
+                assertFalse(part.isSubsetOf(a), pair);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("counting operations - edge: disjoint, empty and identical sets")
+    public void testCountingEdgeCases() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet a = new IntegerSet(rep);
+            IntegerSet b = new IntegerSet(rep);
+            IntegerSet empty = new IntegerSet(rep);
+            a.addRange(0, 100);
+            b.addRange(100, 300);
+            assertFalse(a.intersects(b), rep.toString());
+            assertEquals(0, a.intersectionSize(b), rep.toString());
+            assertEquals(300, a.unionSize(b), rep.toString());
+            assertFalse(a.intersects(empty));
+            assertTrue(empty.isSubsetOf(a), rep.toString());
+            assertTrue(empty.isSubsetOf(empty), rep.toString());
+            assertTrue(a.isSubsetOf(a), rep.toString());
+            assertEquals(100, a.intersectionSize(a), rep.toString());
+            assertEquals(0, a.diffSize(a), rep.toString());
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // order queries
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("rank()/select()/ceiling()/floor()/rangeCount() - normal: match the sorted elements")
+    public void testOrderQueries() {
+        Random random = new Random(45);
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.addAll(random.ints(500, -20_000, 20_000).toArray());
+            set.addRange(100_000, 170_000);
+            set.addAll(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE});
+            for (int round = 0; round < 2; round++) {
+                int[] sorted = set.toArray();
+                for (int k = 0; k < sorted.length; k += 97) {
+                    assertEquals(sorted[k], set.select(k), rep + " select " + k);
+                    assertEquals(k, set.rank(sorted[k]), rep + " rank " + sorted[k]);
+                }
+                for (int i = 0; i < 200; i++) {
+                    int x = random.nextInt(200_000) - 25_000;
+                    int below = Arrays.binarySearch(sorted, x);
+                    int rank = below >= 0 ? below : -below - 1;
+                    assertEquals(rank, set.rank(x), rep + " rank " + x);
+                    assertEquals(sorted[rank], set.ceiling(x).getAsInt(), rep + " ceiling " + x);
+                    int floor = below >= 0 ? below : rank - 1;
+                    assertEquals(sorted[floor], set.floor(x).getAsInt(), rep + " floor " + x);
+                    int hi = x + random.nextInt(5_000);
+                    int end = Arrays.binarySearch(sorted, hi);
+                    int count = (end >= 0 ? end + 1 : -end - 1) - rank;
+                    assertEquals(count, set.rangeCount(x, hi), rep + " rangeCount " + x + ".." + hi);
+                }
+                // The index must follow later changes.
+                set.remove(sorted[1]);
+                set.add(150);
+                set.addRange(-30_000, -29_000);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("forEachInRange() - normal: visits exactly the range in ascending order")
+    public void testForEachInRange() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.addAll(new int[] {Integer.MAX_VALUE, 70_000, 5, -64, -65, 0, 63, 64, 65_535, 65_536});
+            StringBuilder sb = new StringBuilder();
+            set.forEachInRange(-64, 65_536, v -> sb.append(v).append(' '));
+            assertEquals("-64 0 5 63 64 65535 65536 ", sb.toString(), rep.toString());
+            sb.setLength(0);
+            set.forEachInRange(6, 62, v -> sb.append(v).append(' '));
+            set.forEachInRange(Integer.MAX_VALUE, Integer.MAX_VALUE, v -> sb.append(v));
+            assertEquals("2147483647", sb.toString(), rep.toString());
+            assertEquals(10, set.rangeCount(Integer.MIN_VALUE, Integer.MAX_VALUE), rep.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("order queries - edge: empty sets, bounds outside the set and bad arguments")
+    public void testOrderQueryEdgeCases() {
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            assertEquals(0, set.rank(7), rep.toString());
+            assertFalse(set.ceiling(Integer.MIN_VALUE).isPresent(), rep.toString());
+            assertFalse(set.floor(Integer.MAX_VALUE).isPresent(), rep.toString());
+            assertThrows(IndexOutOfBoundsException.class, () -> set.select(0));
+            set.addAll(new int[] {10, 20, 30});
+            assertEquals(3, set.rank(Integer.MAX_VALUE), rep.toString());
+            assertEquals(0, set.rank(Integer.MIN_VALUE), rep.toString());
+            assertFalse(set.ceiling(31).isPresent(), rep.toString());
+            assertFalse(set.floor(9).isPresent(), rep.toString());
+            assertEquals(20, set.floor(29).getAsInt(), rep.toString());
+            assertEquals(0, set.rangeCount(11, 19), rep.toString());
+            assertThrows(IndexOutOfBoundsException.class, () -> set.select(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> set.select(-1));
+            assertThrows(IllegalArgumentException.class, () -> set.rangeCount(2, 1));
+            assertThrows(IllegalArgumentException.class, () -> set.forEachInRange(2, 1, v -> { }));
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // off-heap storage
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("OFF_HEAP - normal: matches HASH across many pages, including removals")
+    public void testOffHeapPages() {
+        Random random = new Random(49);
+        // 16-slot pages, so the table spans many of them.
+        OffHeapHashStore offHeap = new OffHeapHashStore(4, 16);
+        HashStore hash = new HashStore();
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                assertEquals(hash.remove(value), offHeap.remove(value), "remove " + value);
+            } else {
+                assertEquals(hash.add(value), offHeap.add(value), "add " + value);
+            }
+        }
+        assertEquals(hash.size(), offHeap.size());
+        assertArrayEquals(hash.toSortedArray(), offHeap.toSortedArray());
+        assertArrayEquals(hash.toSortedArray(), offHeap.copy().toSortedArray());
+        assertEquals(hash.min(), offHeap.min());
+        assertEquals(hash.max(), offHeap.max());
+    }
+
+    @Test
+    @DisplayName("close() - edge: a closed OFF_HEAP set throws, results stay open, heap sets cannot be closed")
+    public void testOffHeapClose() {
+        IntegerSet set = new IntegerSet(IntegerSet.Representation.OFF_HEAP);
+        set.addRange(0, 1000);
+        set.add(Integer.MIN_VALUE);
+        setA.add(Integer.MIN_VALUE);
+        IntegerSet result = set.intersect(setA);
+        try {
+            set.close();
+            set.close();
+            assertThrows(IllegalStateException.class, () -> set.contains(5));
+            assertThrows(IllegalStateException.class, () -> set.add(5));
+            assertThrows(IllegalStateException.class, set::length);
+            assertEquals("[-2147483648]", result.toString());
+            assertEquals(IntegerSet.Representation.OFF_HEAP, result.getRepresentation());
+        } finally {
+            result.close();
+        }
+
+        setB.add(3);
+        assertThrows(UnsupportedOperationException.class, setB::close);
+        assertTrue(setB.contains(3));
+    }
 }
@@ -0,0 +1,100 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * The original {@code ArrayList<Integer>} representation.
+ * Elements are kept in insertion order; add and contains are linear scans.
+ */
+class ListStore extends IntStore {
+
+    private final ArrayList<Integer> set;
+
+    /** Creates an empty store. */
+    ListStore() {
+        this(new ArrayList<>());
+    }
+
+    private ListStore(ArrayList<Integer> set) {
+        this.set = set;
+    }
+
+    @Override
+    int size() {
+        return set.size();
+    }
+
+    @Override
+    boolean contains(int value) {
+        return set.contains(value);
+    }
+
+    @Override
+    boolean add(int value) {
+        if (set.contains(value)) {
+            return false;
+        }
+        set.add(value);
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        return set.remove(Integer.valueOf(value));
+    }
+
+    @Override
+    void clear() {
+        set.clear();
+    }
+
+    @Override
+    int min() {
+        return Collections.min(set);
+    }
+
+    @Override
+    int max() {
+        return Collections.max(set);
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        for (int item : set) {
+            action.accept(item);
+        }
+    }
+
+    @Override
+    IntStore copy() {
+        return new ListStore(new ArrayList<>(set));
+    }
+
+    @Override
+    IntStore empty() {
+        return new ListStore();
+    }
+
+    @Override
+    boolean anyMatch(IntPredicate filter) {
+        for (int item : set) {
+            if (filter.test(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    void removeMatching(IntPredicate filter) {
+        set.removeIf(filter::test);
+    }
+
+    @Override
+    boolean isSorted() {
+        return false;
+    }
+}
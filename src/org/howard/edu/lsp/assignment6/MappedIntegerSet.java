@@ -0,0 +1,278 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only view of a set serialized with {@link IntegerSet#toBytes()},
+ * answering queries directly from the bytes.
+ *
+ * <p>Nothing is decoded up front: {@link #length()}, {@link #smallest()}
+ * and {@link #largest()} read the header, and {@link #contains(int)} reads
+ * one bitmap word or decodes one block of at most {@link BinaryFormat#BLOCK}
+ * deltas. Opened with {@link #open(Path)}, the file is memory-mapped, so only
+ * the pages a query touches are read from disk. The view only uses absolute
+ * reads, so it can be shared between threads.</p>
+ *
+ * <p>For files too large to stay in the page cache,
+ * {@link #withFilter(double)} adds an in-memory {@link MembershipFilter}
+ * that answers most lookups of absent values without touching the file.</p>
+ *
+ * <p>The layout is described in {@link BinaryFormat}.</p>
+ */
+public final class MappedIntegerSet {
+
+    private final ByteBuffer bytes;
+    private final boolean dense;
+    private final int count;
+    private final int min;
+    private final int max;
+    /** Consulted before the bytes when not null. */
+    private final MembershipFilter filter;
+
+    private MappedIntegerSet(ByteBuffer bytes) {
+        this.bytes = bytes;
+        this.filter = null;
+        if (bytes.limit() < BinaryFormat.HEADER_BYTES + 4 || bytes.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a serialized IntegerSet");
+        }
+        if (bytes.get(BinaryFormat.VERSION_OFFSET) != BinaryFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported version " + bytes.get(BinaryFormat.VERSION_OFFSET));
+        }
+        byte encoding = bytes.get(BinaryFormat.ENCODING_OFFSET);
+        if (encoding != BinaryFormat.SPARSE && encoding != BinaryFormat.DENSE) {
+            throw new IllegalArgumentException("Unknown encoding " + encoding);
+        }
+        dense = encoding == BinaryFormat.DENSE;
+        count = bytes.getInt(BinaryFormat.COUNT_OFFSET);
+        min = bytes.getInt(BinaryFormat.MIN_OFFSET);
+        max = bytes.getInt(BinaryFormat.MAX_OFFSET);
+        long needed = dense
+                ? BinaryFormat.WORDS_OFFSET + 8L * bytes.getInt(BinaryFormat.WORD_COUNT_OFFSET)
+                : BinaryFormat.INDEX_OFFSET
+                        + (long) BinaryFormat.INDEX_ENTRY_BYTES * bytes.getInt(BinaryFormat.BLOCK_COUNT_OFFSET);
+        if (count < 0 || needed > bytes.limit()) {
+            throw new IllegalArgumentException("Truncated IntegerSet data");
+        }
+    }
+
+    private MappedIntegerSet(MappedIntegerSet source, MembershipFilter filter) {
+        this.bytes = source.bytes;
+        this.dense = source.dense;
+        this.count = source.count;
+        this.min = source.min;
+        this.max = source.max;
+        this.filter = filter;
+    }
+
+    /**
+     * Returns a view of serialized bytes, without copying them. The
+     * buffer's content from its position to its limit is used; the buffer
+     * must not be modified while the view is in use.
+     * @param buffer bytes produced by {@link IntegerSet#toBytes()}
+     * @return a read-only view of the set
+     * @throws IllegalArgumentException if the bytes are not a serialized set
+     */
+    public static MappedIntegerSet wrap(ByteBuffer buffer) {
+        return new MappedIntegerSet(buffer.slice().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    /**
+     * Memory-maps a file written with {@link IntegerSet#writeTo(java.io.OutputStream)}.
+     * @param file the file to map
+     * @return a read-only view of the set
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if the file is not a serialized set
+     */
+    public static MappedIntegerSet open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            return wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns a view of the same bytes whose {@link #contains(int)} first
+     * asks a {@link MembershipFilter}, built here by decoding the set once.
+     * The filter lives on the heap: about 1.3 bytes per element at a 1%
+     * rate.
+     * @param falsePositiveRate share of absent values that still reach the
+     *        bytes, between 0 and 1 exclusive
+     * @return a filtered view of the set
+     * @throws IllegalArgumentException if the rate is out of range
+     */
+    public MappedIntegerSet withFilter(double falsePositiveRate) {
+        MembershipFilter built = new MembershipFilter(count, falsePositiveRate);
+        forEach(built::add);
+        return new MappedIntegerSet(this, built);
+    }
+
+    /**
+     * Returns the number of elements in the set.
+     * @return size of the set
+     */
+    public int length() {
+        return count;
+    }
+
+    /**
+     * Returns true if the set has no elements.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the largest element in the set.
+     * @return largest integer
+     * @throws IllegalStateException if the set is empty
+     */
+    public int largest() {
+        if (isEmpty()) throw new IllegalStateException("Set is empty");
+        return max;
+    }
+
+    /**
+     * Returns the smallest element in the set.
+     * @return smallest integer
+     * @throws IllegalStateException if the set is empty
+     */
+    public int smallest() {
+        if (isEmpty()) throw new IllegalStateException("Set is empty");
+        return min;
+    }
+
+    /**
+     * Returns true if the set contains the given value.
+     * @param value the integer to look for
+     * @return true if found
+     */
+    public boolean contains(int value) {
+        if (count == 0 || value < min || value > max) {
+            return false;
+        }
+        if (filter != null && !filter.mightContain(value)) {
+            return false;
+        }
+        if (dense) {
+            long offset = (long) value - bytes.getInt(BinaryFormat.BASE_OFFSET);
+            long word = bytes.getLong(BinaryFormat.WORDS_OFFSET + (int) (offset >>> 6) * 8);
+            return (word & (1L << value)) != 0;
+        }
+        // Last block whose first element is at or below the value.
+        int lo = 0;
+        int hi = bytes.getInt(BinaryFormat.BLOCK_COUNT_OFFSET) - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (firstOf(mid) <= value) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        int current = firstOf(lo);
+        int pos = deltaStart() + bytes.getInt(indexEntry(lo) + 4);
+        for (int i = 1; current < value && i < blockLength(lo); i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes.get(pos++);
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            current += (int) gap + 1;
+        }
+        return current == value;
+    }
+
+    private int indexEntry(int block) {
+        return BinaryFormat.INDEX_OFFSET + block * BinaryFormat.INDEX_ENTRY_BYTES;
+    }
+
+    private int firstOf(int block) {
+        return bytes.getInt(indexEntry(block));
+    }
+
+    private int deltaStart() {
+        return indexEntry(bytes.getInt(BinaryFormat.BLOCK_COUNT_OFFSET));
+    }
+
+    private int blockLength(int block) {
+        return Math.min(BinaryFormat.BLOCK, count - block * BinaryFormat.BLOCK);
+    }
+
+    /**
+     * Passes every element to the action in ascending order, decoding as it goes.
+     * @param action receives each element
+     */
+    public void forEach(IntConsumer action) {
+        if (dense) {
+            int base = bytes.getInt(BinaryFormat.BASE_OFFSET);
+            int words = bytes.getInt(BinaryFormat.WORD_COUNT_OFFSET);
+            for (int w = 0; w < words; w++) {
+                long word = bytes.getLong(BinaryFormat.WORDS_OFFSET + w * 8);
+                int wordBase = base + (w << 6);
+                while (word != 0) {
+                    action.accept(wordBase + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return;
+        }
+        int blocks = bytes.getInt(BinaryFormat.BLOCK_COUNT_OFFSET);
+        int pos = deltaStart();
+        for (int block = 0; block < blocks; block++) {
+            int current = firstOf(block);
+            action.accept(current);
+            for (int i = 1; i < blockLength(block); i++) {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes.get(pos++);
+                    gap |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                current += (int) gap + 1;
+                action.accept(current);
+            }
+        }
+    }
+
+    /**
+     * Decodes the whole set into a new, mutable IntegerSet.
+     * @return a new IntegerSet with the same elements
+     */
+    public IntegerSet toIntegerSet() {
+        int[] values = new int[count];
+        int[] next = {0};
+        forEach(v -> values[next[0]++] = v);
+        IntegerSet set = new IntegerSet();
+        set.addAll(values);
+        return set;
+    }
+
+    /**
+     * Returns a string representation of the set in ascending order.
+     * Format: [1, 2, 3] or [] if empty.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(count * 4 + 2).append('[');
+        forEach(v -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(v);
+        });
+        return sb.append(']').toString();
+    }
+}
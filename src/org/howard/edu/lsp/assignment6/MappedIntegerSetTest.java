@@ -0,0 +1,114 @@
+package org.howard.edu.lsp.assignment6;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit 5 test cases for the binary format: IntegerSet.toBytes()/readFrom()
+ * and MappedIntegerSet.
+ */
+public class MappedIntegerSetTest {
+
+    private static IntegerSet setOf(int... values) {
+        IntegerSet set = new IntegerSet();
+        set.addAll(values);
+        return set;
+    }
+
+    /** Checks the view against the set for every element and its neighbours. */
+    private static void assertSameSet(IntegerSet expected, MappedIntegerSet actual) {
+        assertEquals(expected.length(), actual.length());
+        assertEquals(expected.toString(), actual.toString());
+        expected.forEach(v -> {
+            assertTrue(actual.contains(v), "missing " + v);
+            assertEquals(expected.contains(v - 1), actual.contains(v - 1), "at " + (v - 1));
+            assertEquals(expected.contains(v + 1), actual.contains(v + 1), "at " + (v + 1));
+        });
+        if (!expected.isEmpty()) {
+            assertEquals(expected.smallest(), actual.smallest());
+            assertEquals(expected.largest(), actual.largest());
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // encoding
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("toBytes() - normal: dense sets use about one bit per value in range")
+    public void testDenseEncoding() {
+        IntegerSet set = new IntegerSet();
+        set.addRange(-5_000, 5_000);
+        set.remove(17);
+        byte[] bytes = set.toBytes();
+        assertEquals(BinaryFormat.DENSE, bytes[BinaryFormat.ENCODING_OFFSET]);
+        assertTrue(bytes.length < 10_000 / 8 + 64, "size " + bytes.length);
+        assertSameSet(set, MappedIntegerSet.wrap(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    @DisplayName("toBytes() - normal: sparse sets use a few bytes per element")
+    public void testSparseEncoding() {
+        Random random = new Random(11);
+        IntegerSet set = setOf(Integer.MIN_VALUE, Integer.MAX_VALUE, 0);
+        set.addAll(random.ints(5_000, -50_000_000, 50_000_000).toArray());
+        byte[] bytes = set.toBytes();
+        assertEquals(BinaryFormat.SPARSE, bytes[BinaryFormat.ENCODING_OFFSET]);
+        assertTrue(bytes.length < set.length() * 4, "size " + bytes.length);
+        assertSameSet(set, MappedIntegerSet.wrap(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    @DisplayName("toBytes() - edge: empty and single-element sets")
+    public void testSmallSets() {
+        MappedIntegerSet empty = MappedIntegerSet.wrap(ByteBuffer.wrap(new IntegerSet().toBytes()));
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.contains(0));
+        assertThrows(IllegalStateException.class, empty::largest);
+        assertSameSet(setOf(-1), MappedIntegerSet.wrap(ByteBuffer.wrap(setOf(-1).toBytes())));
+    }
+
+    // ---------------------------------------------------------------
+    // reading
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("readFrom()/open() - normal: round trip through a stream and a mapped file")
+    public void testRoundTrip() throws IOException {
+        IntegerSet set = setOf(3, 1, 4, 1, 5, 9, 2, 6, 5_000_000);
+        IntegerSet read = IntegerSet.readFrom(new ByteArrayInputStream(set.toBytes()));
+        assertTrue(read.equals(set));
+
+        Path file = Files.createTempFile("integerset", ".bin");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                set.writeTo(out);
+            }
+            MappedIntegerSet mapped = MappedIntegerSet.open(file);
+            assertSameSet(set, mapped);
+            assertTrue(mapped.toIntegerSet().equals(set));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("wrap() - edge: rejects data that is not a serialized set")
+    public void testMalformedData() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MappedIntegerSet.wrap(ByteBuffer.wrap("[1, 2, 3]".getBytes())));
+        byte[] truncated = Arrays.copyOf(setOf(1, 1_000_000).toBytes(), 28);
+        assertThrows(IllegalArgumentException.class, () -> MappedIntegerSet.wrap(ByteBuffer.wrap(truncated)));
+    }
+}
@@ -0,0 +1,180 @@
+package org.howard.edu.lsp.assignment6;
+
+/**
+ * Bloom filter over ints, used to skip lookups of values that are certainly
+ * not in a large or slow-to-probe set.
+ *
+ * <p>{@link #mightContain(int)} never returns false for an added value, and
+ * returns true for other values at about the configured false-positive
+ * rate. The filter is blocked: all the bits of one value fall in the same
+ * 512-bit block, a single 64-byte cache line, so a query costs one cache
+ * miss however many bits it checks. Blocks fill unevenly, which raises the
+ * false-positive rate over a classic Bloom filter of the same size, most of
+ * all for low rates; the constructor sizes the filter from a model of the
+ * block loads, so the configured rate holds anyway.</p>
+ *
+ * <p>Values cannot be removed. A filter over a set that loses elements
+ * stays correct, but answers true for them until it is rebuilt.</p>
+ */
+public final class MembershipFilter {
+
+    /** Words per block: 512 bits, one cache line. */
+    private static final int BLOCK_WORDS = 8;
+
+    private static final int BLOCK_BITS = BLOCK_WORDS * 64;
+
+    /** Bits needed to pick a bit in a block. */
+    private static final int POSITION_BITS = 9;
+
+    /** Positions taken from each 64-bit hash before drawing the next. */
+    private static final int POSITIONS_PER_HASH = 64 / POSITION_BITS;
+
+    private static final int MAX_HASHES = 16;
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashes;
+    private final int capacity;
+    private int added;
+
+    /**
+     * Creates an empty filter sized for the given number of values.
+     * @param expectedValues how many values will be added
+     * @param falsePositiveRate the wanted rate, between 0 and 1 exclusive
+     * @throws IllegalArgumentException if either argument is out of range
+     */
+    public MembershipFilter(int expectedValues, double falsePositiveRate) {
+        if (expectedValues < 0) {
+            throw new IllegalArgumentException("expectedValues " + expectedValues + " is negative");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate " + falsePositiveRate + " is not in (0, 1)");
+        }
+        // Start from the classic -ln(p) / ln(2)^2 bits per value and grow
+        // until the blocked filter reaches the rate.
+        double bitsPerValue = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        while (blockedRate(bitsPerValue) > falsePositiveRate) {
+            bitsPerValue *= 1.05;
+        }
+        hashes = hashesFor(bitsPerValue);
+        double bits = Math.max(1, expectedValues) * bitsPerValue;
+        long blockCount = (long) Math.ceil(bits / BLOCK_BITS);
+        if (blockCount > (Integer.MAX_VALUE - 8) / BLOCK_WORDS) {
+            throw new IllegalArgumentException("Filter for " + expectedValues + " values at rate "
+                    + falsePositiveRate + " is too large");
+        }
+        blocks = (int) blockCount;
+        words = new long[blocks * BLOCK_WORDS];
+        capacity = expectedValues;
+    }
+
+    /**
+     * Creates a filter holding every element of the set.
+     * @param set the set to summarize
+     * @param falsePositiveRate the wanted rate, between 0 and 1 exclusive
+     * @return a new filter
+     * @throws IllegalArgumentException if the rate is out of range
+     */
+    public static MembershipFilter of(IntegerSet set, double falsePositiveRate) {
+        MembershipFilter filter = new MembershipFilter(set.length(), falsePositiveRate);
+        set.forEach(filter::add);
+        return filter;
+    }
+
+    /**
+     * Adds a value to the filter.
+     * @param value the integer to add
+     */
+    public void add(int value) {
+        long h = mix(value + GOLDEN);
+        int block = blockOf(h);
+        long positions = 0;
+        for (int i = 0; i < hashes; i++) {
+            if (i % POSITIONS_PER_HASH == 0) {
+                positions = mix(h += GOLDEN);
+            }
+            int bit = (int) positions & (BLOCK_BITS - 1);
+            positions >>>= POSITION_BITS;
+            words[block + (bit >>> 6)] |= 1L << bit;
+        }
+        added++;
+    }
+
+    /**
+     * Returns false if the value was certainly never added, and true if it
+     * probably was.
+     * @param value the integer to look for
+     * @return false only for values not in the filter
+     */
+    public boolean mightContain(int value) {
+        long h = mix(value + GOLDEN);
+        int block = blockOf(h);
+        long positions = 0;
+        for (int i = 0; i < hashes; i++) {
+            if (i % POSITIONS_PER_HASH == 0) {
+                positions = mix(h += GOLDEN);
+            }
+            int bit = (int) positions & (BLOCK_BITS - 1);
+            positions >>>= POSITION_BITS;
+            if ((words[block + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the memory the filter's bits take.
+     * @return size in bytes
+     */
+    public long sizeInBytes() {
+        return (long) words.length * 8;
+    }
+
+    private static int hashesFor(double bitsPerValue) {
+        return (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerValue * Math.log(2))));
+    }
+
+    /**
+     * Expected false-positive rate at the given size. The number of values
+     * in a block is Poisson distributed; a block holding i values has each
+     * bit set with probability 1 - (1 - 1/512)^(k*i).
+     */
+    private static double blockedRate(double bitsPerValue) {
+        int k = hashesFor(bitsPerValue);
+        double load = BLOCK_BITS / bitsPerValue;
+        double logPoisson = -load;
+        double rate = 0;
+        for (int i = 0; i <= load + 12 * Math.sqrt(load) + 20; i++) {
+            if (i > 0) {
+                logPoisson += Math.log(load) - Math.log(i);
+            }
+            double bitSet = 1 - Math.pow(1 - 1.0 / BLOCK_BITS, (double) k * i);
+            rate += Math.exp(logPoisson) * Math.pow(bitSet, k);
+        }
+        return rate;
+    }
+
+    /** Returns true once more values were added than the filter was sized for. */
+    boolean isFull() {
+        return added > capacity;
+    }
+
+    /**
+     * Picks a block from the high half of a value's hash. The bits inside
+     * it come from further hashes of the same value, so they are
+     * independent of the block and of each other.
+     */
+    private int blockOf(long h) {
+        return (int) (((h >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+    }
+
+    /** The SplitMix64 finalizer. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,126 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH measurement of lookup throughput with and without a
+ * {@link MembershipFilter} in front of the set.
+ *
+ * <p>Each benchmark does {@value #PROBES} lookups, of which
+ * {@code hitPercent} percent are elements; the rest are random values,
+ * almost all absent. The filter pays off when absent values are common and
+ * the store is slow to probe: SORTED_ARRAY binary searches and a mapped file
+ * decodes a block, while HASH is about as fast as the filter. Run with, for
+ * example:</p>
+ * <pre>
+ *   java -cp &lt;classes+jmh&gt; org.openjdk.jmh.Main MembershipFilterBenchmark -p size=100000000
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Thread)
+public class MembershipFilterBenchmark {
+
+    static final int PROBES = 4096;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"SORTED_ARRAY", "ROARING", "HASH"})
+    public IntegerSet.Representation representation;
+
+    @Param({"1", "50"})
+    public int hitPercent;
+
+    @Param({"0.01"})
+    public double falsePositiveRate;
+
+    private int[] probes;
+    private IntegerSet plain;
+    private IntegerSet filtered;
+    private MappedIntegerSet mapped;
+    private MappedIntegerSet mappedFiltered;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        int[] values = random.ints().distinct().limit(size).toArray();
+        probes = new int[PROBES];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(100) < hitPercent ? values[random.nextInt(size)] : random.nextInt();
+        }
+        plain = new IntegerSet(representation);
+        plain.addAll(values);
+        filtered = plain.union(new IntegerSet(representation));
+        filtered.attachFilter(falsePositiveRate);
+
+        file = Files.createTempFile("membership", ".bin");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            plain.writeTo(out);
+        }
+        mapped = MappedIntegerSet.open(file);
+        mappedFiltered = mapped.withFilter(falsePositiveRate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void contains(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(plain.contains(probe));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void containsFiltered(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(filtered.contains(probe));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void mappedContains(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(mapped.contains(probe));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void mappedContainsFiltered(Blackhole bh) {
+        for (int probe : probes) {
+            bh.consume(mappedFiltered.contains(probe));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.howard.edu.lsp.assignment6;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit 5 test cases for MembershipFilter and the filters attached to
+ * IntegerSet and MappedIntegerSet.
+ */
+public class MembershipFilterTest {
+
+    // ---------------------------------------------------------------
+    // MembershipFilter
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("mightContain() - normal: no false negatives, false positives near the rate")
+    public void testFalsePositiveRate() {
+        for (double rate : new double[] {0.05, 0.01, 0.001}) {
+            MembershipFilter filter = new MembershipFilter(100_000, rate);
+            for (int i = 0; i < 100_000; i++) {
+                filter.add(i * 3);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < 100_000; i++) {
+                assertTrue(filter.mightContain(i * 3), "missing " + i * 3);
+                if (filter.mightContain(i * 3 + 1)) {
+                    falsePositives++;
+                }
+            }
+            assertTrue(falsePositives < 100_000 * rate * 1.5, rate + ": " + falsePositives);
+        }
+    }
+
+    @Test
+    @DisplayName("MembershipFilter() - edge: rejects rates outside (0, 1) and negative sizes")
+    public void testBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MembershipFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MembershipFilter(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MembershipFilter(10, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new MembershipFilter(-1, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new IntegerSet().attachFilter(2));
+        assertFalse(new MembershipFilter(0, 0.01).mightContain(0));
+    }
+
+    // ---------------------------------------------------------------
+    // attached filters
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("attachFilter() - normal: contains stays exact through every kind of update")
+    public void testAttachedFilter() {
+        Random random = new Random(46);
+        for (IntegerSet.Representation rep : IntegerSet.Representation.values()) {
+            IntegerSet set = new IntegerSet(rep);
+            set.addAll(random.ints(300, 0, 10_000).toArray());
+            set.attachFilter(0.01);
+            IntegerSet model = set.union(new IntegerSet(IntegerSet.Representation.HASH));
+            for (int i = 0; i < 2_000; i++) {
+                int value = random.nextInt(12_000);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        set.add(value);
+                        model.add(value);
+                        break;
+                    case 1:
+                        set.remove(value);
+                        model.remove(value);
+                        break;
+                    default:
+                        assertEquals(model.contains(value), set.contains(value), rep + " at " + value);
+                }
+            }
+            set.addRange(20_000, 21_000);
+            assertTrue(set.contains(20_500), rep.toString());
+            set.unionInPlace(model.complement(new IntegerSet()));
+            set.clear();
+            assertFalse(set.contains(20_500), rep.toString());
+            set.add(-5);
+            assertTrue(set.contains(-5), rep.toString());
+            set.detachFilter();
+            assertTrue(set.contains(-5), rep.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("withFilter() - normal: a filtered mapped view answers like the original")
+    public void testMappedFilter() {
+        Random random = new Random(47);
+        IntegerSet set = new IntegerSet();
+        set.addAll(random.ints(20_000, -1_000_000, 1_000_000).toArray());
+        MappedIntegerSet view = MappedIntegerSet.wrap(ByteBuffer.wrap(set.toBytes())).withFilter(0.01);
+        assertEquals(set.length(), view.length());
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(2_200_000) - 1_100_000;
+            assertEquals(set.contains(value), view.contains(value), "at " + value);
+        }
+        set.forEach(v -> assertTrue(view.contains(v), "missing " + v));
+    }
+}
@@ -0,0 +1,340 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set laid out like {@link HashStore}, with its table
+ * in direct memory outside the Java heap.
+ *
+ * <p>The table is cut into pages of up to 2^24 slots (64 MB), each a direct
+ * buffer, so it can grow past the 2 GB limit of a single buffer, up to 2^30
+ * slots (4 GB). The garbage collector sees one small object per page rather
+ * than a multi-GB int array, so heap size and GC pauses stay flat however
+ * large the set grows. Probing, growth and backward-shift deletion are the
+ * same as in HashStore, including its limit: the largest table fills to
+ * three quarters, {@value #MAX_OCCUPIED} non-zero values, and adding one
+ * more throws IllegalStateException.</p>
+ *
+ * <p>{@link #close()} drops the pages. Direct buffers cannot be freed on
+ * demand, so their memory goes back to the system when their cleaners run,
+ * at the first collection after they become unreachable. A closed store
+ * throws IllegalStateException.</p>
+ *
+ * <p>Direct memory is capped by {@code -XX:MaxDirectMemorySize}, which
+ * defaults to the maximum heap size; raise it for sets larger than the
+ * heap. Growing briefly holds both the old and the new table.</p>
+ */
+class OffHeapHashStore extends IntStore {
+
+    private static final int FREE = 0;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    /** Most non-zero values the largest table holds. */
+    private static final int MAX_OCCUPIED = MAX_CAPACITY - (MAX_CAPACITY >>> 2);
+
+    /** Slots per page, as a power of two. */
+    private static final int PAGE_BITS = 24;
+
+    private final int pageBits;
+    private IntBuffer[] pages;
+    private int capacity;
+    private int shift;
+    private int occupied;
+    private boolean hasZero;
+
+    /** Creates an empty store. */
+    OffHeapHashStore() {
+        this(PAGE_BITS, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with the given page size and table size; tests
+     * use small pages to reach several pages with few elements.
+     */
+    OffHeapHashStore(int pageBits, int capacity) {
+        this.pageBits = pageBits;
+        this.pages = allocate(capacity);
+        setCapacity(capacity);
+    }
+
+    /** Smallest table size that keeps n elements at most half full. */
+    private static int capacityFor(long n) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity >>> 1 < n && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private IntBuffer[] allocate(int slots) {
+        int pageSlots = Math.min(slots, 1 << pageBits);
+        IntBuffer[] fresh = new IntBuffer[slots / pageSlots];
+        for (int p = 0; p < fresh.length; p++) {
+            fresh[p] = ByteBuffer.allocateDirect(pageSlots * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return fresh;
+    }
+
+    private void setCapacity(int capacity) {
+        this.capacity = capacity;
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    private void checkOpen() {
+        if (pages == null) {
+            throw new IllegalStateException("Set is closed");
+        }
+    }
+
+    private int get(int i) {
+        return pages[i >>> pageBits].get(i & ((1 << pageBits) - 1));
+    }
+
+    private void put(int i, int value) {
+        pages[i >>> pageBits].put(i & ((1 << pageBits) - 1), value);
+    }
+
+    /** Home slot of a value: the top bits of a multiplicative hash. */
+    private int slot(int value) {
+        return (value * 0x9E3779B9) >>> shift;
+    }
+
+    /** Returns the slot holding the value, or -1. The value must not be 0. */
+    private int find(int value) {
+        int mask = capacity - 1;
+        for (int i = slot(value); get(i) != FREE; i = (i + 1) & mask) {
+            if (get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    int size() {
+        checkOpen();
+        return occupied + (hasZero ? 1 : 0);
+    }
+
+    @Override
+    boolean contains(int value) {
+        checkOpen();
+        return value == FREE ? hasZero : find(value) >= 0;
+    }
+
+    @Override
+    boolean add(int value) {
+        checkOpen();
+        if (value == FREE) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int mask = capacity - 1;
+        int i = slot(value);
+        for (int current = get(i); current != FREE; current = get(i)) {
+            if (current == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (occupied == MAX_OCCUPIED) {
+            throw new IllegalStateException("Set is full: at most " + MAX_OCCUPIED + " non-zero values");
+        }
+        put(i, value);
+        if (++occupied > capacity >>> 1 && capacity < MAX_CAPACITY) {
+            rehash(capacity << 1);
+        }
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        checkOpen();
+        if (value == FREE) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        int gap = find(value);
+        if (gap < 0) {
+            return false;
+        }
+        int mask = capacity - 1;
+        for (int j = (gap + 1) & mask; get(j) != FREE; j = (j + 1) & mask) {
+            int home = slot(get(j));
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                put(gap, get(j));
+                gap = j;
+            }
+        }
+        put(gap, FREE);
+        occupied--;
+        return true;
+    }
+
+    private void rehash(int newCapacity) {
+        IntBuffer[] old = pages;
+        pages = allocate(newCapacity);
+        setCapacity(newCapacity);
+        int mask = newCapacity - 1;
+        for (IntBuffer page : old) {
+            for (int s = 0, n = page.capacity(); s < n; s++) {
+                int value = page.get(s);
+                if (value != FREE) {
+                    int i = slot(value);
+                    while (get(i) != FREE) {
+                        i = (i + 1) & mask;
+                    }
+                    put(i, value);
+                }
+            }
+        }
+    }
+
+    /** Grows the table once, up front, so n elements fit without rehashing. */
+    private void ensureCapacity(long n) {
+        int wanted = capacityFor(n);
+        if (wanted > capacity) {
+            rehash(wanted);
+        }
+    }
+
+    @Override
+    void addAll(int[] batch) {
+        checkOpen();
+        ensureCapacity((long) size() + batch.length);
+        super.addAll(batch);
+    }
+
+    @Override
+    void unionInPlace(IntStore other) {
+        checkOpen();
+        ensureCapacity((long) size() + other.size());
+        super.unionInPlace(other);
+    }
+
+    @Override
+    void clear() {
+        checkOpen();
+        pages = allocate(INITIAL_CAPACITY);
+        setCapacity(INITIAL_CAPACITY);
+        occupied = 0;
+        hasZero = false;
+    }
+
+    @Override
+    void close() {
+        pages = null;
+        occupied = 0;
+        hasZero = false;
+    }
+
+    @Override
+    int min() {
+        int[] min = {hasZero ? 0 : Integer.MAX_VALUE};
+        forEach(v -> min[0] = Math.min(min[0], v));
+        return min[0];
+    }
+
+    @Override
+    int max() {
+        int[] max = {hasZero ? 0 : Integer.MIN_VALUE};
+        forEach(v -> max[0] = Math.max(max[0], v));
+        return max[0];
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        checkOpen();
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (IntBuffer page : pages) {
+            for (int i = 0, n = page.capacity(); i < n; i++) {
+                int value = page.get(i);
+                if (value != FREE) {
+                    action.accept(value);
+                }
+            }
+        }
+    }
+
+    @Override
+    IntStore copy() {
+        checkOpen();
+        OffHeapHashStore result = new OffHeapHashStore(pageBits, capacity);
+        for (int p = 0; p < pages.length; p++) {
+            IntBuffer source = pages[p].duplicate();
+            source.clear();
+            result.pages[p].duplicate().put(source);
+        }
+        result.occupied = occupied;
+        result.hasZero = hasZero;
+        return result;
+    }
+
+    @Override
+    IntStore empty() {
+        return new OffHeapHashStore();
+    }
+
+    @Override
+    boolean isSorted() {
+        return false;
+    }
+
+    // As in HashStore, results are presized so that values fed in slot
+    // order do not pile up in a small, growing table.
+
+    @Override
+    IntStore union(IntStore other) {
+        OffHeapHashStore result = presized((long) size() + other.size());
+        forEach(result::add);
+        other.forEach(result::add);
+        return result;
+    }
+
+    @Override
+    IntStore intersect(IntStore other) {
+        IntStore small = size() <= other.size() ? this : other;
+        IntStore large = small == this ? other : this;
+        OffHeapHashStore result = presized(small.size());
+        small.forEach(v -> {
+            if (large.contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    IntStore diff(IntStore other) {
+        OffHeapHashStore result = presized(size());
+        forEach(v -> {
+            if (!other.contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    IntStore complement(IntStore other) {
+        OffHeapHashStore result = presized(other.size());
+        other.forEach(v -> {
+            if (!contains(v)) {
+                result.add(v);
+            }
+        });
+        return result;
+    }
+
+    private OffHeapHashStore presized(long n) {
+        return new OffHeapHashStore(pageBits, capacityFor(n));
+    }
+}
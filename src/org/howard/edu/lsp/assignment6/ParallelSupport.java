@@ -0,0 +1,88 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork/join helpers shared by the parallel set operations.
+ *
+ * <p>Each store cuts its work into independent segments (ranges of bitmap
+ * words, value ranges of a sorted array, slices of a hash table, groups of
+ * Roaring containers), runs them with {@link #forEach(int, IntConsumer)}
+ * and then stitches the per-segment results together.</p>
+ */
+final class ParallelSupport {
+
+    /** Segments per worker thread, so uneven segments still balance out. */
+    private static final int SEGMENTS_PER_THREAD = 4;
+
+    private ParallelSupport() {
+    }
+
+    /**
+     * Returns how many segments to cut a job of the given size into.
+     * @param work number of items (words, elements, containers) in the job
+     * @param minPerSegment smallest worthwhile segment
+     * @return segment count, at least 1
+     */
+    static int segments(int work, int minPerSegment) {
+        int wanted = ForkJoinPool.getCommonPoolParallelism() * SEGMENTS_PER_THREAD;
+        return Math.max(1, Math.min(wanted, work / Math.max(1, minPerSegment)));
+    }
+
+    /**
+     * Runs the body for every segment index in [0, count) on the common
+     * pool and waits for all of them.
+     * @param count number of segments
+     * @param body work for one segment
+     */
+    static void forEach(int count, IntConsumer body) {
+        if (count == 1) {
+            body.accept(0);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new Segments(0, count, body));
+    }
+
+    /**
+     * Returns the start of segment k when n items are cut into count
+     * nearly equal segments; segment k is [bound(k), bound(k + 1)).
+     * @param n number of items
+     * @param count number of segments
+     * @param k segment index, 0 to count inclusive
+     * @return first item of segment k, or n when k == count
+     */
+    static int bound(int n, int count, int k) {
+        return (int) ((long) n * k / count);
+    }
+
+    /**
+     * Splits a range of segment indices in half until one is left. Tasks
+     * are never serialized; RecursiveAction is only Serializable by
+     * inheritance.
+     */
+    @SuppressWarnings("serial")
+    private static final class Segments extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        Segments(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Segments(from, mid, body), new Segments(mid, to, body));
+        }
+    }
+}
@@ -0,0 +1,572 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of integers whose updates return a new set that shares
+ * most of its structure with the old one.
+ *
+ * <p>The set is a bitwise trie over the 32 bits of each value. The top bit
+ * selects one of two root children; each branch level below it consumes 5
+ * bits, and the last 6 bits index a 64-bit leaf word. Branches only store
+ * their non-empty children, in a compact array indexed by the popcount of a
+ * 32-bit child bitmap, and cache their subtree size. The trie is at most 7
+ * levels deep whatever the size, so {@link #with(int)} and
+ * {@link #without(int)} copy at most 6 branches and 1 leaf and leave the
+ * rest of the trie shared with the original.</p>
+ *
+ * <p>Set operations walk both tries together, skip subtrees the operands
+ * share, and reuse an operand's subtree wherever the result equals it. A set
+ * derived from a base by a few updates therefore combines with that base in
+ * time proportional to the difference between them, not to their size.
+ * Values are flipped in the sign bit before indexing, so in-order walks
+ * produce ascending signed order.</p>
+ */
+public final class PersistentIntegerSet {
+
+    private static final int BITS = 5;
+    private static final int LEAF_BITS = 6;
+    private static final int ROOT_SHIFT = 31;
+
+    private static final PersistentIntegerSet EMPTY = new PersistentIntegerSet(null);
+
+    /** Root of the trie, or null for the empty set. */
+    private final Node root;
+
+    private PersistentIntegerSet(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty set.
+     * @return a set with no elements
+     */
+    public static PersistentIntegerSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a set holding the given values; repeats are ignored.
+     * @param values the integers to include
+     * @return a new set
+     */
+    public static PersistentIntegerSet of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return fromSorted(sorted);
+    }
+
+    /**
+     * Returns a set with the same elements as the given IntegerSet.
+     * @param set the set to copy
+     * @return a new set
+     */
+    public static PersistentIntegerSet from(IntegerSet set) {
+        int[] sorted = set.toArray();
+        return fromSorted(sorted);
+    }
+
+    /** Builds the trie bottom-up from ascending values, without copying any branch twice. */
+    private static PersistentIntegerSet fromSorted(int[] sorted) {
+        int[] keys = new int[sorted.length];
+        int m = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                keys[m++] = sorted[i] ^ Integer.MIN_VALUE;
+            }
+        }
+        return m == 0 ? EMPTY : new PersistentIntegerSet(build(keys, 0, m, ROOT_SHIFT));
+    }
+
+    /** Builds the node at the given shift for keys[from, to), which share all higher bits. */
+    private static Node build(int[] keys, int from, int to, int shift) {
+        if (shift < LEAF_BITS) {
+            long bits = 0;
+            for (int i = from; i < to; i++) {
+                bits |= 1L << keys[i];
+            }
+            return new Leaf(bits);
+        }
+        int bitmap = 0;
+        Node[] children = new Node[1 << BITS];
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            int index = (keys[i] >>> shift) & 31;
+            int j = i + 1;
+            while (j < to && ((keys[j] >>> shift) & 31) == index) {
+                j++;
+            }
+            bitmap |= 1 << index;
+            children[count++] = build(keys, i, j, shift - BITS);
+            i = j;
+        }
+        return new Branch(bitmap, Arrays.copyOf(children, count), to - from);
+    }
+
+    /**
+     * Returns the number of elements in the set.
+     * @return size of the set
+     */
+    public int length() {
+        return root == null ? 0 : root.size();
+    }
+
+    /**
+     * Returns true if the set has no elements.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns true if the set contains the given value.
+     * @param value the integer to look for
+     * @return true if found
+     */
+    public boolean contains(int value) {
+        int key = value ^ Integer.MIN_VALUE;
+        Node node = root;
+        for (int shift = ROOT_SHIFT; node instanceof Branch; shift -= BITS) {
+            Branch branch = (Branch) node;
+            int bit = 1 << ((key >>> shift) & 31);
+            if ((branch.bitmap & bit) == 0) {
+                return false;
+            }
+            node = branch.children[Integer.bitCount(branch.bitmap & (bit - 1))];
+        }
+        return node != null && (((Leaf) node).bits & (1L << key)) != 0;
+    }
+
+    /**
+     * Returns the set with the item added. This set is not modified.
+     * @param item the integer to add
+     * @return a set containing item; this set if it already did
+     */
+    public PersistentIntegerSet with(int item) {
+        int key = item ^ Integer.MIN_VALUE;
+        Node updated = root == null ? create(key, ROOT_SHIFT) : insert(root, key, ROOT_SHIFT);
+        return updated == root ? this : new PersistentIntegerSet(updated);
+    }
+
+    /**
+     * Returns the set with the item removed. This set is not modified.
+     * @param item the integer to remove
+     * @return a set without item; this set if it did not contain it
+     */
+    public PersistentIntegerSet without(int item) {
+        if (root == null) {
+            return this;
+        }
+        Node updated = delete(root, item ^ Integer.MIN_VALUE, ROOT_SHIFT);
+        if (updated == root) {
+            return this;
+        }
+        return updated == null ? EMPTY : new PersistentIntegerSet(updated);
+    }
+
+    /** A fresh path from the given shift down to a leaf holding only key. */
+    private static Node create(int key, int shift) {
+        if (shift < LEAF_BITS) {
+            return new Leaf(1L << key);
+        }
+        return new Branch(1 << ((key >>> shift) & 31), new Node[] {create(key, shift - BITS)}, 1);
+    }
+
+    private static Node insert(Node node, int key, int shift) {
+        if (node instanceof Leaf) {
+            long bits = ((Leaf) node).bits;
+            long bit = 1L << key;
+            return (bits & bit) != 0 ? node : new Leaf(bits | bit);
+        }
+        Branch branch = (Branch) node;
+        int bit = 1 << ((key >>> shift) & 31);
+        int pos = Integer.bitCount(branch.bitmap & (bit - 1));
+        if ((branch.bitmap & bit) == 0) {
+            Node[] children = new Node[branch.children.length + 1];
+            System.arraycopy(branch.children, 0, children, 0, pos);
+            children[pos] = create(key, shift - BITS);
+            System.arraycopy(branch.children, pos, children, pos + 1, branch.children.length - pos);
+            return new Branch(branch.bitmap | bit, children, branch.size + 1);
+        }
+        Node child = branch.children[pos];
+        Node updated = insert(child, key, shift - BITS);
+        if (updated == child) {
+            return node;
+        }
+        Node[] children = branch.children.clone();
+        children[pos] = updated;
+        return new Branch(branch.bitmap, children, branch.size + 1);
+    }
+
+    /** Returns the node without key: the same node if absent, null if it becomes empty. */
+    private static Node delete(Node node, int key, int shift) {
+        if (node instanceof Leaf) {
+            long bits = ((Leaf) node).bits;
+            long bit = 1L << key;
+            if ((bits & bit) == 0) {
+                return node;
+            }
+            return bits == bit ? null : new Leaf(bits & ~bit);
+        }
+        Branch branch = (Branch) node;
+        int bit = 1 << ((key >>> shift) & 31);
+        if ((branch.bitmap & bit) == 0) {
+            return node;
+        }
+        int pos = Integer.bitCount(branch.bitmap & (bit - 1));
+        Node child = branch.children[pos];
+        Node updated = delete(child, key, shift - BITS);
+        if (updated == child) {
+            return node;
+        }
+        if (updated != null) {
+            Node[] children = branch.children.clone();
+            children[pos] = updated;
+            return new Branch(branch.bitmap, children, branch.size - 1);
+        }
+        if (branch.children.length == 1) {
+            return null;
+        }
+        Node[] children = new Node[branch.children.length - 1];
+        System.arraycopy(branch.children, 0, children, 0, pos);
+        System.arraycopy(branch.children, pos + 1, children, pos, children.length - pos);
+        return new Branch(branch.bitmap & ~bit, children, branch.size - 1);
+    }
+
+    /**
+     * Returns the largest element in the set.
+     * @return largest integer
+     * @throws IllegalStateException if the set is empty
+     */
+    public int largest() {
+        if (isEmpty()) throw new IllegalStateException("Set is empty");
+        int key = 0;
+        Node node = root;
+        for (int shift = ROOT_SHIFT; node instanceof Branch; shift -= BITS) {
+            Branch branch = (Branch) node;
+            key |= (31 - Integer.numberOfLeadingZeros(branch.bitmap)) << shift;
+            node = branch.children[branch.children.length - 1];
+        }
+        return (key | (63 - Long.numberOfLeadingZeros(((Leaf) node).bits))) ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Returns the smallest element in the set.
+     * @return smallest integer
+     * @throws IllegalStateException if the set is empty
+     */
+    public int smallest() {
+        if (isEmpty()) throw new IllegalStateException("Set is empty");
+        int key = 0;
+        Node node = root;
+        for (int shift = ROOT_SHIFT; node instanceof Branch; shift -= BITS) {
+            Branch branch = (Branch) node;
+            key |= Integer.numberOfTrailingZeros(branch.bitmap) << shift;
+            node = branch.children[0];
+        }
+        return (key | Long.numberOfTrailingZeros(((Leaf) node).bits)) ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Passes every element to the action in ascending order.
+     * @param action receives each element
+     */
+    public void forEach(IntConsumer action) {
+        if (root != null) {
+            forEach(root, 0, ROOT_SHIFT, action);
+        }
+    }
+
+    private static void forEach(Node node, int prefix, int shift, IntConsumer action) {
+        if (node instanceof Leaf) {
+            for (long bits = ((Leaf) node).bits; bits != 0; bits &= bits - 1) {
+                action.accept((prefix | Long.numberOfTrailingZeros(bits)) ^ Integer.MIN_VALUE);
+            }
+            return;
+        }
+        Branch branch = (Branch) node;
+        int bitmap = branch.bitmap;
+        for (Node child : branch.children) {
+            int index = Integer.numberOfTrailingZeros(bitmap);
+            bitmap &= bitmap - 1;
+            forEach(child, prefix | index << shift, shift - BITS, action);
+        }
+    }
+
+    /**
+     * Returns the elements in ascending order.
+     * @return a new array
+     */
+    public int[] toArray() {
+        int[] values = new int[length()];
+        int[] next = {0};
+        forEach(v -> values[next[0]++] = v);
+        return values;
+    }
+
+    /**
+     * Returns a mutable IntegerSet with the same elements.
+     * @return a new IntegerSet
+     */
+    public IntegerSet toIntegerSet() {
+        IntegerSet set = new IntegerSet();
+        set.addAll(toArray());
+        return set;
+    }
+
+    /**
+     * Returns the set of elements in either set.
+     * @param intSetb the other set
+     * @return union of the two sets
+     */
+    public PersistentIntegerSet union(PersistentIntegerSet intSetb) {
+        return wrap(union(root, intSetb.root, ROOT_SHIFT));
+    }
+
+    /**
+     * Returns the set of elements in both sets.
+     * @param intSetb the other set
+     * @return intersection of the two sets
+     */
+    public PersistentIntegerSet intersect(PersistentIntegerSet intSetb) {
+        return wrap(intersect(root, intSetb.root, ROOT_SHIFT));
+    }
+
+    /**
+     * Returns the set of elements in this set but not in intSetb.
+     * @param intSetb the other set
+     * @return difference (this - intSetb)
+     */
+    public PersistentIntegerSet diff(PersistentIntegerSet intSetb) {
+        return wrap(diff(root, intSetb.root, ROOT_SHIFT));
+    }
+
+    /**
+     * Returns the set of elements in intSetb but not in this set.
+     * @param intSetb the other set
+     * @return complement (intSetb - this)
+     */
+    public PersistentIntegerSet complement(PersistentIntegerSet intSetb) {
+        return intSetb.diff(this);
+    }
+
+    /** Returns the set for a root, reusing an operand's wrapper when the root is the operand's. */
+    private PersistentIntegerSet wrap(Node node) {
+        if (node == root) {
+            return this;
+        }
+        return node == null ? EMPTY : new PersistentIntegerSet(node);
+    }
+
+    // The set operations return an operand's node unchanged whenever the
+    // result equals it, so shared subtrees stay shared in the result.
+
+    private static Node union(Node a, Node b, int shift) {
+        if (a == b || b == null) {
+            return a;
+        }
+        if (a == null) {
+            return b;
+        }
+        if (a instanceof Leaf) {
+            long bits = ((Leaf) a).bits | ((Leaf) b).bits;
+            return bits == ((Leaf) a).bits ? a : bits == ((Leaf) b).bits ? b : new Leaf(bits);
+        }
+        Branch x = (Branch) a;
+        Branch y = (Branch) b;
+        int bitmap = x.bitmap | y.bitmap;
+        Node[] children = new Node[Integer.bitCount(bitmap)];
+        boolean sameAsX = bitmap == x.bitmap;
+        boolean sameAsY = bitmap == y.bitmap;
+        int size = 0;
+        int i = 0;
+        for (int rest = bitmap; rest != 0; rest &= rest - 1, i++) {
+            int bit = rest & -rest;
+            Node cx = child(x, bit);
+            Node cy = child(y, bit);
+            Node c = union(cx, cy, shift - BITS);
+            sameAsX &= c == cx;
+            sameAsY &= c == cy;
+            children[i] = c;
+            size += c.size();
+        }
+        return sameAsX ? a : sameAsY ? b : new Branch(bitmap, children, size);
+    }
+
+    private static Node intersect(Node a, Node b, int shift) {
+        if (a == b) {
+            return a;
+        }
+        if (a == null || b == null) {
+            return null;
+        }
+        if (a instanceof Leaf) {
+            long bits = ((Leaf) a).bits & ((Leaf) b).bits;
+            return bits == 0 ? null : bits == ((Leaf) a).bits ? a : bits == ((Leaf) b).bits ? b : new Leaf(bits);
+        }
+        Branch x = (Branch) a;
+        Branch y = (Branch) b;
+        int common = x.bitmap & y.bitmap;
+        Node[] children = new Node[Integer.bitCount(common)];
+        int bitmap = 0;
+        boolean sameAsX = common == x.bitmap;
+        boolean sameAsY = common == y.bitmap;
+        int size = 0;
+        int n = 0;
+        for (int rest = common; rest != 0; rest &= rest - 1) {
+            int bit = rest & -rest;
+            Node cx = child(x, bit);
+            Node cy = child(y, bit);
+            Node c = intersect(cx, cy, shift - BITS);
+            sameAsX &= c == cx;
+            sameAsY &= c == cy;
+            if (c != null) {
+                bitmap |= bit;
+                children[n++] = c;
+                size += c.size();
+            }
+        }
+        if (sameAsX) {
+            return a;
+        }
+        if (sameAsY) {
+            return b;
+        }
+        return n == 0 ? null : new Branch(bitmap, Arrays.copyOf(children, n), size);
+    }
+
+    private static Node diff(Node a, Node b, int shift) {
+        if (a == null || b == null) {
+            return a;
+        }
+        if (a == b) {
+            return null;
+        }
+        if (a instanceof Leaf) {
+            long bits = ((Leaf) a).bits & ~((Leaf) b).bits;
+            return bits == 0 ? null : bits == ((Leaf) a).bits ? a : new Leaf(bits);
+        }
+        Branch x = (Branch) a;
+        Branch y = (Branch) b;
+        if ((x.bitmap & y.bitmap) == 0) {
+            return a;
+        }
+        Node[] children = new Node[x.children.length];
+        int bitmap = 0;
+        boolean same = true;
+        int size = 0;
+        int n = 0;
+        int i = 0;
+        for (int rest = x.bitmap; rest != 0; rest &= rest - 1, i++) {
+            int bit = rest & -rest;
+            Node cx = x.children[i];
+            Node c = (y.bitmap & bit) == 0 ? cx : diff(cx, child(y, bit), shift - BITS);
+            same &= c == cx;
+            if (c != null) {
+                bitmap |= bit;
+                children[n++] = c;
+                size += c.size();
+            }
+        }
+        if (same) {
+            return a;
+        }
+        return n == 0 ? null : new Branch(bitmap, Arrays.copyOf(children, n), size);
+    }
+
+    /** The branch's child for a single-bit index mask, or null. */
+    private static Node child(Branch branch, int bit) {
+        return (branch.bitmap & bit) == 0 ? null
+                : branch.children[Integer.bitCount(branch.bitmap & (bit - 1))];
+    }
+
+    /**
+     * Returns true if both sets contain exactly the same elements.
+     * Shared subtrees are not compared.
+     * @param b the other set
+     * @return true if equal
+     */
+    public boolean equals(PersistentIntegerSet b) {
+        return sameNodes(root, b.root);
+    }
+
+    private static boolean sameNodes(Node a, Node b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.size() != b.size()) {
+            return false;
+        }
+        if (a instanceof Leaf) {
+            return ((Leaf) a).bits == ((Leaf) b).bits;
+        }
+        Branch x = (Branch) a;
+        Branch y = (Branch) b;
+        if (x.bitmap != y.bitmap) {
+            return false;
+        }
+        for (int i = 0; i < x.children.length; i++) {
+            if (!sameNodes(x.children[i], y.children[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a string representation of the set in ascending order.
+     * Format: [1, 2, 3] or [] if empty.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(length() * 4 + 2).append('[');
+        forEach(v -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(v);
+        });
+        return sb.append(']').toString();
+    }
+
+    /** Trie node; never empty. */
+    private abstract static class Node {
+        abstract int size();
+    }
+
+    /** Inner node: one child per set bit of the bitmap, in bit order. */
+    private static final class Branch extends Node {
+        final int bitmap;
+        final Node[] children;
+        final int size;
+
+        Branch(int bitmap, Node[] children, int size) {
+            this.bitmap = bitmap;
+            this.children = children;
+            this.size = size;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+    }
+
+    /** Bottom node: the 64 values sharing all but the low 6 bits. */
+    private static final class Leaf extends Node {
+        final long bits;
+
+        Leaf(long bits) {
+            this.bits = bits;
+        }
+
+        @Override
+        int size() {
+            return Long.bitCount(bits);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.howard.edu.lsp.assignment6;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit 5 test cases for PersistentIntegerSet.
+ */
+public class PersistentIntegerSetTest {
+
+    // ---------------------------------------------------------------
+    // updates
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("with()/without() - normal: derived sets leave the original unchanged")
+    public void testUpdatesArePersistent() {
+        PersistentIntegerSet base = PersistentIntegerSet.of(5, -3, 64, 5, Integer.MAX_VALUE);
+        PersistentIntegerSet added = base.with(Integer.MIN_VALUE);
+        PersistentIntegerSet removed = base.without(64);
+        assertEquals("[-3, 5, 64, 2147483647]", base.toString());
+        assertEquals("[-2147483648, -3, 5, 64, 2147483647]", added.toString());
+        assertEquals("[-3, 5, 2147483647]", removed.toString());
+        assertEquals(Integer.MIN_VALUE, added.smallest());
+        assertEquals(Integer.MAX_VALUE, added.largest());
+        assertTrue(removed.contains(-3));
+        assertFalse(removed.contains(64));
+        assertTrue(base.contains(64));
+    }
+
+    @Test
+    @DisplayName("with()/without() - edge: no-op updates return the same set, empty set")
+    public void testNoOpUpdates() {
+        PersistentIntegerSet base = PersistentIntegerSet.of(1, 2, 3);
+        assertSame(base, base.with(2));
+        assertSame(base, base.without(7));
+        assertSame(PersistentIntegerSet.empty(), PersistentIntegerSet.of(4).without(4));
+        assertTrue(PersistentIntegerSet.empty().isEmpty());
+        assertEquals("[]", PersistentIntegerSet.empty().toString());
+        assertThrows(IllegalStateException.class, () -> PersistentIntegerSet.empty().largest());
+        assertThrows(IllegalStateException.class, () -> PersistentIntegerSet.empty().smallest());
+    }
+
+    // ---------------------------------------------------------------
+    // set operations
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("set operations - normal: shared structure is reused in the result")
+    public void testSetOperationsShareStructure() {
+        IntegerSet source = new IntegerSet();
+        source.addRange(0, 10_000);
+        PersistentIntegerSet base = PersistentIntegerSet.from(source);
+        PersistentIntegerSet derived = base.with(20_000).without(10);
+        assertEquals(10_000, derived.length());
+        assertSame(base, base.union(base.without(500)));
+        assertSame(base, base.intersect(base.with(-1)));
+        assertSame(PersistentIntegerSet.empty(), base.diff(base));
+        assertEquals("[20000]", base.complement(derived).toString());
+        assertEquals("[10]", base.diff(derived).toString());
+        assertTrue(base.union(derived).equals(base.with(20_000)));
+        assertTrue(base.intersect(derived).equals(base.without(10)));
+        assertFalse(base.equals(derived));
+    }
+
+    @Test
+    @DisplayName("set operations - normal: random sets match a TreeSet model")
+    public void testAgainstModel() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int bound = round % 2 == 0 ? 2_000 : Integer.MAX_VALUE;
+            TreeSet<Integer> modelA = new TreeSet<>();
+            TreeSet<Integer> modelB = new TreeSet<>();
+            PersistentIntegerSet a = PersistentIntegerSet.empty();
+            PersistentIntegerSet b = PersistentIntegerSet.empty();
+            for (int i = 0; i < 500; i++) {
+                int x = random.nextInt(bound) - bound / 2;
+                int y = random.nextInt(bound) - bound / 2;
+                if (random.nextInt(4) == 0) {
+                    modelA.remove(x);
+                    a = a.without(x);
+                } else {
+                    modelA.add(x);
+                    a = a.with(x);
+                }
+                modelB.add(y);
+                b = b.with(y);
+            }
+            TreeSet<Integer> union = new TreeSet<>(modelA);
+            union.addAll(modelB);
+            TreeSet<Integer> intersection = new TreeSet<>(modelA);
+            intersection.retainAll(modelB);
+            TreeSet<Integer> difference = new TreeSet<>(modelA);
+            difference.removeAll(modelB);
+            assertEquals(modelA.toString(), a.toString());
+            assertEquals(modelA.size(), a.length());
+            assertEquals(union.toString(), a.union(b).toString());
+            assertEquals(intersection.toString(), a.intersect(b).toString());
+            assertEquals(difference.toString(), a.diff(b).toString());
+            assertEquals((int) modelA.first(), a.smallest());
+            assertEquals((int) modelA.last(), a.largest());
+            assertEquals(a.toString(), a.toIntegerSet().toString());
+            int[] values = modelB.stream().mapToInt(Integer::intValue).toArray();
+            assertTrue(PersistentIntegerSet.of(values).equals(b));
+        }
+    }
+}
@@ -0,0 +1,1519 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap representation in the style of Roaring bitmaps.
+ *
+ * <p>The 32-bit value space is cut into 65536 chunks of 65536 values. Each
+ * non-empty chunk is kept in the smallest of three containers:</p>
+ * <ul>
+ *   <li>an <b>array</b> of sorted 16-bit values (2 bytes per element) for
+ *       sparse chunks of up to {@value #MAX_ARRAY} elements,</li>
+ *   <li>a <b>bitmap</b> of 1024 words (8 KB) for dense chunks,</li>
+ *   <li>a list of <b>runs</b> (4 bytes per run) for chunks made of long
+ *       consecutive ranges.</li>
+ * </ul>
+ *
+ * <p>Chunks are kept sorted by key, so memory follows the number of
+ * elements rather than the value range, and sparse sets spread over the
+ * whole int range stay small. Set operations merge the two key lists and
+ * combine matching containers with a routine specialised for each pair of
+ * container types; results are re-packed into the smallest container.</p>
+ *
+ * <p>Values are flipped with {@code value ^ Integer.MIN_VALUE} before being
+ * split, so unsigned ordering of keys matches signed ordering of values.</p>
+ */
+class RoaringStore extends IntStore {
+
+    /** Largest cardinality held in an array container. */
+    static final int MAX_ARRAY = 4096;
+
+    /** Words in a bitmap container (65536 bits). */
+    static final int BITMAP_WORDS = 1024;
+
+    /** Largest run count before a run container is bigger than a bitmap. */
+    static final int MAX_RUNS = 2047;
+
+    /** Smallest number of container pairs worth a parallel segment of its own. */
+    private static final int MIN_CONTAINERS_PER_SEGMENT = 8;
+
+    private char[] keys;
+    private Container[] containers;
+    private int count;
+    private int cardinality;
+
+    /**
+     * Entry i counts the elements in the containers before container i.
+     * Built by the first order query and dropped by any change.
+     */
+    private int[] ranks;
+
+    /** Creates an empty store. */
+    RoaringStore() {
+        this(new char[4], new Container[4], 0, 0);
+    }
+
+    private RoaringStore(char[] keys, Container[] containers, int count, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.count = count;
+        this.cardinality = cardinality;
+    }
+
+    private static int key(int value) {
+        return (value ^ Integer.MIN_VALUE) >>> 16;
+    }
+
+    private static int low(int value) {
+        return value & 0xFFFF;
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(keys, 0, count, (char) key);
+    }
+
+    @Override
+    int size() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(int value) {
+        int i = indexOf(key(value));
+        return i >= 0 && containers[i].contains(low(value));
+    }
+
+    @Override
+    boolean add(int value) {
+        int key = key(value);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertAt(i, key, new ArrayContainer());
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        containers[i] = c.add(low(value));
+        if (containers[i].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        ranks = null;
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        int i = indexOf(key(value));
+        if (i < 0) {
+            return false;
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        c = c.remove(low(value));
+        if (c.cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        ranks = null;
+        if (c.cardinality() == 0) {
+            removeAt(i);
+        } else {
+            containers[i] = c;
+        }
+        return true;
+    }
+
+    private void insertAt(int i, int key, Container c) {
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, count * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, count * 2));
+        }
+        System.arraycopy(keys, i, keys, i + 1, count - i);
+        System.arraycopy(containers, i, containers, i + 1, count - i);
+        keys[i] = (char) key;
+        containers[i] = c;
+        count++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, count - i - 1);
+        count--;
+        containers[count] = null;
+    }
+
+    /** Adds each chunk of the range as a single run, merged into any existing container. */
+    @Override
+    void addRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        ranks = null;
+        int last = to - 1;
+        int firstKey = key(from);
+        int lastKey = key(last);
+        for (int k = firstKey; k <= lastKey; k++) {
+            int start = k == firstKey ? low(from) : 0;
+            int end = k == lastKey ? low(last) : 0xFFFF;
+            Container run = new RunContainer(new char[] {(char) start, (char) (end - start)},
+                    1, end - start + 1);
+            int i = indexOf(k);
+            if (i < 0) {
+                insertAt(-i - 1, k, run);
+                cardinality += run.cardinality();
+            } else {
+                int before = containers[i].cardinality();
+                containers[i] = Container.or(containers[i], run);
+                cardinality += containers[i].cardinality() - before;
+            }
+        }
+    }
+
+    @Override
+    void unionInPlace(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            super.unionInPlace(other);
+            return;
+        }
+        RoaringStore b = (RoaringStore) other;
+        char[] newKeys = new char[Math.max(count + b.count, 1)];
+        Container[] newContainers = new Container[newKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count || j < b.count) {
+            if (j >= b.count || (i < count && keys[i] < b.keys[j])) {
+                newKeys[n] = keys[i];
+                newContainers[n++] = containers[i++];
+            } else if (i >= count || keys[i] > b.keys[j]) {
+                newKeys[n] = b.keys[j];
+                newContainers[n++] = b.containers[j++].copy();
+            } else {
+                newKeys[n] = keys[i];
+                newContainers[n++] = Container.or(containers[i++], b.containers[j++]);
+            }
+        }
+        keys = newKeys;
+        containers = newContainers;
+        count = n;
+        recount();
+    }
+
+    @Override
+    void intersectInPlace(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            super.intersectInPlace(other);
+            return;
+        }
+        combineInPlace((RoaringStore) other, true);
+    }
+
+    @Override
+    void diffInPlace(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            super.diffInPlace(other);
+            return;
+        }
+        combineInPlace((RoaringStore) other, false);
+    }
+
+    /**
+     * ANDs (or ANDNOTs) the matching containers of b into this store,
+     * compacting the key and container arrays as chunks become empty.
+     */
+    private void combineInPlace(RoaringStore b, boolean intersect) {
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < b.count && b.keys[j] < keys[i]) {
+                j++;
+            }
+            boolean shared = j < b.count && b.keys[j] == keys[i];
+            Container c;
+            if (shared) {
+                c = intersect ? Container.and(containers[i], b.containers[j])
+                        : Container.andNot(containers[i], b.containers[j]);
+            } else {
+                c = intersect ? null : containers[i];
+            }
+            if (c != null && c.cardinality() > 0) {
+                keys[n] = keys[i];
+                containers[n++] = c;
+            }
+        }
+        for (int i = n; i < count; i++) {
+            containers[i] = null;
+        }
+        count = n;
+        recount();
+    }
+
+    private void recount() {
+        ranks = null;
+        cardinality = 0;
+        for (int i = 0; i < count; i++) {
+            cardinality += containers[i].cardinality();
+        }
+    }
+
+    @Override
+    void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        count = 0;
+        cardinality = 0;
+        ranks = null;
+    }
+
+    @Override
+    int min() {
+        return ((keys[0] << 16) | containers[0].first()) ^ Integer.MIN_VALUE;
+    }
+
+    @Override
+    int max() {
+        return ((keys[count - 1] << 16) | containers[count - 1].last()) ^ Integer.MIN_VALUE;
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < count; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    @Override
+    Spliterator.OfInt spliterator() {
+        return new Chunks(keys, containers, 0, count, cardinality);
+    }
+
+    @Override
+    IntStore copy() {
+        Container[] copies = new Container[containers.length];
+        for (int i = 0; i < count; i++) {
+            copies[i] = containers[i].copy();
+        }
+        return new RoaringStore(keys.clone(), copies, count, cardinality);
+    }
+
+    @Override
+    IntStore empty() {
+        return new RoaringStore();
+    }
+
+    @Override
+    IntStore union(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.union(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        RoaringStore result = new RoaringStore(new char[count + b.count],
+                new Container[count + b.count], 0, 0);
+        int i = 0;
+        int j = 0;
+        while (i < count && j < b.count) {
+            if (keys[i] < b.keys[j]) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], Container.or(containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        for (; i < count; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        for (; j < b.count; j++) {
+            result.append(b.keys[j], b.containers[j].copy());
+        }
+        return result;
+    }
+
+    @Override
+    IntStore intersect(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.intersect(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        int n = Math.min(count, b.count);
+        RoaringStore result = new RoaringStore(new char[Math.max(n, 1)],
+                new Container[Math.max(n, 1)], 0, 0);
+        int i = 0;
+        int j = 0;
+        while (i < count && j < b.count) {
+            if (keys[i] < b.keys[j]) {
+                i++;
+            } else if (keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], Container.and(containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // The counting operations pair up containers by key and count each
+    // pair with Container.andCardinality, without building containers
+    // unless a run container is involved.
+
+    @Override
+    int intersectionSize(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.intersectionSize(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count && j < b.count) {
+            if (keys[i] < b.keys[j]) {
+                i++;
+            } else if (keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                n += Container.andCardinality(containers[i++], b.containers[j++]);
+            }
+        }
+        return n;
+    }
+
+    @Override
+    boolean intersects(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.intersects(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        int i = 0;
+        int j = 0;
+        while (i < count && j < b.count) {
+            if (keys[i] < b.keys[j]) {
+                i++;
+            } else if (keys[i] > b.keys[j]) {
+                j++;
+            } else if (Container.andCardinality(containers[i++], b.containers[j++]) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    boolean isSubsetOf(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.isSubsetOf(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        if (cardinality > b.cardinality) {
+            return false;
+        }
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < b.count && b.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j == b.count || b.keys[j] != keys[i]) {
+                return false;
+            }
+            Container c = containers[i];
+            if (Container.andCardinality(c, b.containers[j]) != c.cardinality()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    int rank(int value) {
+        int[] before = chunkRanks();
+        int i = indexOf(key(value));
+        if (i >= 0) {
+            return before[i] + containers[i].rank(low(value));
+        }
+        i = -i - 1;
+        return i < count ? before[i] : cardinality;
+    }
+
+    @Override
+    int select(int k) {
+        // Containers are never empty, so the counts strictly increase.
+        int[] before = chunkRanks();
+        int lo = 0;
+        int hi = count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (before[mid] <= k) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return ((keys[lo] << 16) | containers[lo].select(k - before[lo])) ^ Integer.MIN_VALUE;
+    }
+
+    /** Walks whole chunks with forEach and the two boundary chunks with next. */
+    @Override
+    void forEachInRange(int lo, int hi, IntConsumer action) {
+        int loKey = key(lo);
+        int hiKey = key(hi);
+        int i = indexOf(loKey);
+        for (i = i >= 0 ? i : -i - 1; i < count && keys[i] <= hiKey; i++) {
+            int from = keys[i] == loKey ? low(lo) : 0;
+            int to = keys[i] == hiKey ? low(hi) : 0xFFFF;
+            Container c = containers[i];
+            int high = keys[i] << 16;
+            if (from == 0 && to == 0xFFFF) {
+                c.forEach(high, action);
+                continue;
+            }
+            for (int x = c.next(from); x >= 0 && x <= to; x = c.next(x + 1)) {
+                action.accept((high | x) ^ Integer.MIN_VALUE);
+            }
+        }
+    }
+
+    /** Returns the per-container element counts, building them if a change dropped them. */
+    private int[] chunkRanks() {
+        if (ranks == null) {
+            int[] before = new int[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                before[i] = n;
+                n += containers[i].cardinality();
+            }
+            ranks = before;
+        }
+        return ranks;
+    }
+
+    @Override
+    IntStore diff(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.diff(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        RoaringStore result = new RoaringStore(new char[Math.max(count, 1)],
+                new Container[Math.max(count, 1)], 0, 0);
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            while (j < b.count && b.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < b.count && b.keys[j] == keys[i]) {
+                result.append(keys[i], Container.andNot(containers[i], b.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    IntStore complement(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.complement(other);
+        }
+        return other.diff(this);
+    }
+
+    @Override
+    boolean sameElements(IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.sameElements(other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        if (cardinality != b.cardinality || count != b.count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != b.keys[i]) {
+                return false;
+            }
+            Container x = containers[i];
+            Container y = b.containers[i];
+            if (x.cardinality() != y.cardinality()
+                    || Container.and(x, y).cardinality() != x.cardinality()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    IntStore parallel(Op op, IntStore other) {
+        if (!(other instanceof RoaringStore)) {
+            return super.parallel(op, other);
+        }
+        RoaringStore b = (RoaringStore) other;
+        if (op == Op.COMPLEMENT) {
+            return b.parallel(Op.DIFF, this);
+        }
+        // Pair up containers by key; combining the pairs is independent work.
+        int max = count + b.count;
+        char[] pairKeys = new char[max];
+        Container[] left = new Container[max];
+        Container[] right = new Container[max];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count || j < b.count) {
+            int key;
+            Container x = null;
+            Container y = null;
+            if (j >= b.count || (i < count && keys[i] < b.keys[j])) {
+                key = keys[i];
+                x = containers[i++];
+            } else if (i >= count || keys[i] > b.keys[j]) {
+                key = b.keys[j];
+                y = b.containers[j++];
+            } else {
+                key = keys[i];
+                x = containers[i++];
+                y = b.containers[j++];
+            }
+            boolean keep = op == Op.UNION
+                    || (op == Op.INTERSECT ? x != null && y != null : x != null);
+            if (keep) {
+                pairKeys[n] = (char) key;
+                left[n] = x;
+                right[n] = y;
+                n++;
+            }
+        }
+        int pairs = n;
+        Container[] combined = new Container[pairs];
+        int segments = ParallelSupport.segments(pairs, MIN_CONTAINERS_PER_SEGMENT);
+        ParallelSupport.forEach(segments, k -> {
+            for (int p = ParallelSupport.bound(pairs, segments, k),
+                    to = ParallelSupport.bound(pairs, segments, k + 1); p < to; p++) {
+                combined[p] = combine(op, left[p], right[p]);
+            }
+        });
+        RoaringStore result = new RoaringStore(new char[Math.max(pairs, 1)],
+                new Container[Math.max(pairs, 1)], 0, 0);
+        for (int p = 0; p < pairs; p++) {
+            result.append(pairKeys[p], combined[p]);
+        }
+        return result;
+    }
+
+    private static Container combine(Op op, Container x, Container y) {
+        if (y == null) {
+            return x.copy();
+        }
+        if (x == null) {
+            return y.copy();
+        }
+        switch (op) {
+            case UNION:
+                return Container.or(x, y);
+            case INTERSECT:
+                return Container.and(x, y);
+            default:
+                return Container.andNot(x, y);
+        }
+    }
+
+    /** Appends a container with a key larger than all present; skips empty containers. */
+    private void append(int key, Container c) {
+        if (c.cardinality() == 0) {
+            return;
+        }
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, count * 2));
+            containers = Arrays.copyOf(containers, Math.max(4, count * 2));
+        }
+        keys[count] = (char) key;
+        containers[count] = c;
+        count++;
+        cardinality += c.cardinality();
+    }
+
+    // ---------------------------------------------------------------
+    // containers
+    // ---------------------------------------------------------------
+
+    /**
+     * Holds the low 16 bits of the values of one chunk. Mutators return the
+     * container to use afterwards, which may be a converted one.
+     */
+    abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int x);
+
+        abstract Container add(int x);
+
+        abstract Container remove(int x);
+
+        abstract int first();
+
+        abstract int last();
+
+        /** Returns the smallest member at or above x (0 to 65536), or -1 if there is none. */
+        abstract int next(int x);
+
+        /** Returns the number of members below x (0 to 65536). */
+        abstract int rank(int x);
+
+        /** Returns the member with j smaller members, for j below the cardinality. */
+        abstract int select(int j);
+
+        /** Passes each value, rebuilt from the shifted key, in ascending order. */
+        abstract void forEach(int high, IntConsumer action);
+
+        /** Returns a new 1024-word bitmap with this container's bits set. */
+        abstract long[] toWords();
+
+        abstract Container copy();
+
+        static Container or(Container a, Container b) {
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+                return ArrayContainer.or((ArrayContainer) a, (ArrayContainer) b);
+            }
+            if (a instanceof RunContainer && b instanceof RunContainer) {
+                return RunContainer.or((RunContainer) a, (RunContainer) b);
+            }
+            // Start from whichever side is already a bitmap to save one conversion.
+            Container base = b instanceof BitmapContainer ? b : a;
+            Container other = base == a ? b : a;
+            long[] words = base.toWords();
+            other.orInto(words);
+            return fromWords(words);
+        }
+
+        static Container and(Container a, Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).filter(b, true);
+            }
+            if (b instanceof ArrayContainer) {
+                return ((ArrayContainer) b).filter(a, true);
+            }
+            if (a instanceof RunContainer && b instanceof RunContainer) {
+                return RunContainer.and((RunContainer) a, (RunContainer) b);
+            }
+            long[] words = a.toWords();
+            b.andInto(words);
+            return fromWords(words);
+        }
+
+        /** Returns the size of the intersection of two containers. */
+        static int andCardinality(Container a, Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).countShared(b);
+            }
+            if (b instanceof ArrayContainer) {
+                return ((ArrayContainer) b).countShared(a);
+            }
+            if (a instanceof BitmapContainer && b instanceof BitmapContainer) {
+                return ((BitmapContainer) a).andCardinality((BitmapContainer) b);
+            }
+            return and(a, b).cardinality();
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).filter(b, false);
+            }
+            long[] words = a.toWords();
+            b.andNotInto(words);
+            return fromWords(words);
+        }
+
+        /** ORs this container's bits into a 1024-word bitmap. */
+        abstract void orInto(long[] words);
+
+        /** ANDs a 1024-word bitmap with this container's bits. */
+        void andInto(long[] words) {
+            SetKernels.INSTANCE.and(words, 0, toWords(), 0, words, 0, BITMAP_WORDS);
+        }
+
+        /** Clears this container's bits from a 1024-word bitmap. */
+        abstract void andNotInto(long[] words);
+
+        /** Packs a 1024-word bitmap into the smallest container. */
+        static Container fromWords(long[] words) {
+            int card = 0;
+            int runs = 0;
+            long previous = 0;
+            for (long word : words) {
+                card += Long.bitCount(word);
+                // A run starts at each set bit whose lower neighbour is clear.
+                runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+            if (runs * 4 + 2 < Math.min(card * 2, BITMAP_WORDS * 8)) {
+                return RunContainer.fromWords(words, runs, card);
+            }
+            if (card <= MAX_ARRAY) {
+                return ArrayContainer.fromWords(words, card);
+            }
+            return new BitmapContainer(words, card);
+        }
+
+        static void setRange(long[] words, int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            int first = from >>> 6;
+            int last = (to - 1) >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> -to;
+            if (first == last) {
+                words[first] |= firstMask & lastMask;
+                return;
+            }
+            words[first] |= firstMask;
+            for (int w = first + 1; w < last; w++) {
+                words[w] = -1L;
+            }
+            words[last] |= lastMask;
+        }
+
+        static void clearRange(long[] words, int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            int first = from >>> 6;
+            int last = (to - 1) >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> -to;
+            if (first == last) {
+                words[first] &= ~(firstMask & lastMask);
+                return;
+            }
+            words[first] &= ~firstMask;
+            for (int w = first + 1; w < last; w++) {
+                words[w] = 0;
+            }
+            words[last] &= ~lastMask;
+        }
+    }
+
+    /** Sorted array of up to {@value #MAX_ARRAY} 16-bit values. */
+    static final class ArrayContainer extends Container {
+
+        private char[] content;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] content, int cardinality) {
+            this.content = content;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer fromWords(long[] words, int card) {
+            char[] content = new char[Math.max(card, 1)];
+            int n = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    content[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(content, n);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int x) {
+            return Arrays.binarySearch(content, 0, cardinality, (char) x) >= 0;
+        }
+
+        @Override
+        Container add(int x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, (char) x);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality >= MAX_ARRAY) {
+                long[] words = toWords();
+                words[x >>> 6] |= 1L << x;
+                return new BitmapContainer(words, cardinality + 1);
+            }
+            i = -i - 1;
+            if (cardinality == content.length) {
+                content = Arrays.copyOf(content, Math.min(cardinality * 2, MAX_ARRAY));
+            }
+            System.arraycopy(content, i, content, i + 1, cardinality - i);
+            content[i] = (char) x;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(int x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, (char) x);
+            if (i >= 0) {
+                System.arraycopy(content, i + 1, content, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int first() {
+            return content[0];
+        }
+
+        @Override
+        int last() {
+            return content[cardinality - 1];
+        }
+
+        @Override
+        int next(int x) {
+            if (x > 0xFFFF) {
+                return -1;
+            }
+            int i = Arrays.binarySearch(content, 0, cardinality, (char) x);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < cardinality ? content[i] : -1;
+        }
+
+        @Override
+        int rank(int x) {
+            if (x > 0xFFFF) {
+                return cardinality;
+            }
+            int i = Arrays.binarySearch(content, 0, cardinality, (char) x);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        @Override
+        int select(int j) {
+            return content[j];
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept((high | content[i]) ^ Integer.MIN_VALUE);
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                words[content[i] >>> 6] |= 1L << content[i];
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                words[content[i] >>> 6] &= ~(1L << content[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(content, Math.max(cardinality, 1)), cardinality);
+        }
+
+        /** Keeps the values that are (or are not) in the other container. */
+        Container filter(Container other, boolean keepShared) {
+            char[] result = new char[Math.max(cardinality, 1)];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(content[i]) == keepShared) {
+                    result[n++] = content[i];
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        int countShared(Container other) {
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(content[i])) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        static Container or(ArrayContainer a, ArrayContainer b) {
+            if (a.cardinality + b.cardinality > MAX_ARRAY) {
+                long[] words = a.toWords();
+                b.orInto(words);
+                return fromWords(words);
+            }
+            char[] result = new char[Math.max(a.cardinality + b.cardinality, 1)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.cardinality && j < b.cardinality) {
+                char x = a.content[i];
+                char y = b.content[j];
+                if (x < y) {
+                    result[n++] = x;
+                    i++;
+                } else if (x > y) {
+                    result[n++] = y;
+                    j++;
+                } else {
+                    result[n++] = x;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < a.cardinality) {
+                result[n++] = a.content[i++];
+            }
+            while (j < b.cardinality) {
+                result[n++] = b.content[j++];
+            }
+            return new ArrayContainer(result, n);
+        }
+    }
+
+    /** 65536-bit bitmap for dense chunks. */
+    static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int x) {
+            return (words[x >>> 6] & (1L << x)) != 0;
+        }
+
+        @Override
+        Container add(int x) {
+            long bit = 1L << x;
+            if ((words[x >>> 6] & bit) == 0) {
+                words[x >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(int x) {
+            long bit = 1L << x;
+            if ((words[x >>> 6] & bit) == 0) {
+                return this;
+            }
+            words[x >>> 6] &= ~bit;
+            cardinality--;
+            return cardinality <= MAX_ARRAY ? ArrayContainer.fromWords(words, cardinality) : this;
+        }
+
+        @Override
+        int first() {
+            int w = 0;
+            while (words[w] == 0) {
+                w++;
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(words[w]);
+        }
+
+        @Override
+        int last() {
+            int w = BITMAP_WORDS - 1;
+            while (words[w] == 0) {
+                w--;
+            }
+            return (w << 6) + 63 - Long.numberOfLeadingZeros(words[w]);
+        }
+
+        @Override
+        int next(int x) {
+            if (x > 0xFFFF) {
+                return -1;
+            }
+            int w = x >>> 6;
+            long word = words[w] & (-1L << x);
+            while (word == 0) {
+                if (++w == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int rank(int x) {
+            if (x > 0xFFFF) {
+                return cardinality;
+            }
+            int n = 0;
+            for (int w = 0; w < x >>> 6; w++) {
+                n += Long.bitCount(words[w]);
+            }
+            return n + Long.bitCount(words[x >>> 6] & ((1L << x) - 1));
+        }
+
+        @Override
+        int select(int j) {
+            for (int w = 0; ; w++) {
+                int bits = Long.bitCount(words[w]);
+                if (j < bits) {
+                    return (w << 6) + BitmapStore.selectBit(words[w], j);
+                }
+                j -= bits;
+            }
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept((high | ((w << 6) + Long.numberOfTrailingZeros(word)))
+                            ^ Integer.MIN_VALUE);
+                    word &= word - 1;
+                }
+            }
+        }
+
+        int andCardinality(BitmapContainer other) {
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                n += Long.bitCount(words[w] & other.words[w]);
+            }
+            return n;
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void orInto(long[] target) {
+            SetKernels.INSTANCE.or(target, 0, words, 0, target, 0, BITMAP_WORDS);
+        }
+
+        @Override
+        void andInto(long[] target) {
+            SetKernels.INSTANCE.and(target, 0, words, 0, target, 0, BITMAP_WORDS);
+        }
+
+        @Override
+        void andNotInto(long[] target) {
+            SetKernels.INSTANCE.andNot(target, 0, words, 0, target, 0, BITMAP_WORDS);
+        }
+    }
+
+    /**
+     * Sorted, non-overlapping, non-adjacent runs. Run {@code r} covers
+     * {@code runs[2r]} to {@code runs[2r] + runs[2r+1]} inclusive.
+     */
+    static final class RunContainer extends Container {
+
+        private char[] runs;
+        private int nRuns;
+        private int cardinality;
+
+        RunContainer(char[] runs, int nRuns, int cardinality) {
+            this.runs = runs;
+            this.nRuns = nRuns;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer fromWords(long[] words, int nRuns, int card) {
+            char[] runs = new char[Math.max(nRuns, 1) * 2];
+            int r = 0;
+            int x = nextSet(words, 0);
+            while (x >= 0) {
+                int end = nextClear(words, x);
+                runs[2 * r] = (char) x;
+                runs[2 * r + 1] = (char) (end - 1 - x);
+                r++;
+                x = end < 65536 ? nextSet(words, end) : -1;
+            }
+            return new RunContainer(runs, r, card);
+        }
+
+        private static int nextSet(long[] words, int from) {
+            int w = from >>> 6;
+            long word = words[w] & (-1L << from);
+            while (word == 0) {
+                if (++w == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        private static int nextClear(long[] words, int from) {
+            int w = from >>> 6;
+            long word = ~words[w] & (-1L << from);
+            while (word == 0) {
+                if (++w == BITMAP_WORDS) {
+                    return 65536;
+                }
+                word = ~words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        private int start(int r) {
+            return runs[2 * r];
+        }
+
+        private int end(int r) {
+            return runs[2 * r] + runs[2 * r + 1];
+        }
+
+        /** Index of the last run starting at or before x, or -1. */
+        private int runIndex(int x) {
+            int lo = 0;
+            int hi = nRuns - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (start(mid) <= x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return hi;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int x) {
+            int r = runIndex(x);
+            return r >= 0 && x <= end(r);
+        }
+
+        @Override
+        Container add(int x) {
+            int r = runIndex(x);
+            if (r >= 0 && x <= end(r)) {
+                return this;
+            }
+            boolean joinsNext = r + 1 < nRuns && start(r + 1) == x + 1;
+            if (r >= 0 && end(r) + 1 == x) {
+                runs[2 * r + 1]++;
+                if (joinsNext) {
+                    runs[2 * r + 1] = (char) (runs[2 * r + 1] + runs[2 * (r + 1) + 1] + 1);
+                    deleteRun(r + 1);
+                }
+            } else if (joinsNext) {
+                runs[2 * (r + 1)]--;
+                runs[2 * (r + 1) + 1]++;
+            } else {
+                insertRun(r + 1, x, 0);
+            }
+            cardinality++;
+            return nRuns > MAX_RUNS ? new BitmapContainer(toWords(), cardinality) : this;
+        }
+
+        @Override
+        Container remove(int x) {
+            int r = runIndex(x);
+            if (r < 0 || x > end(r)) {
+                return this;
+            }
+            int s = start(r);
+            int e = end(r);
+            if (s == e) {
+                deleteRun(r);
+            } else if (x == s) {
+                runs[2 * r]++;
+                runs[2 * r + 1]--;
+            } else if (x == e) {
+                runs[2 * r + 1]--;
+            } else {
+                runs[2 * r + 1] = (char) (x - 1 - s);
+                insertRun(r + 1, x + 1, e - x - 1);
+            }
+            cardinality--;
+            return nRuns > MAX_RUNS ? new BitmapContainer(toWords(), cardinality) : this;
+        }
+
+        private void insertRun(int r, int start, int length) {
+            if (2 * nRuns + 2 > runs.length) {
+                runs = Arrays.copyOf(runs, Math.max(4, runs.length * 2));
+            }
+            System.arraycopy(runs, 2 * r, runs, 2 * r + 2, 2 * (nRuns - r));
+            runs[2 * r] = (char) start;
+            runs[2 * r + 1] = (char) length;
+            nRuns++;
+        }
+
+        private void deleteRun(int r) {
+            System.arraycopy(runs, 2 * r + 2, runs, 2 * r, 2 * (nRuns - r - 1));
+            nRuns--;
+        }
+
+        @Override
+        int first() {
+            return start(0);
+        }
+
+        @Override
+        int last() {
+            return end(nRuns - 1);
+        }
+
+        @Override
+        int next(int x) {
+            int r = runIndex(x);
+            if (r >= 0 && x <= end(r)) {
+                return x;
+            }
+            return r + 1 < nRuns ? start(r + 1) : -1;
+        }
+
+        @Override
+        int rank(int x) {
+            int n = 0;
+            for (int r = 0; r < nRuns && start(r) < x; r++) {
+                n += Math.min(end(r) + 1, x) - start(r);
+            }
+            return n;
+        }
+
+        @Override
+        int select(int j) {
+            for (int r = 0; ; r++) {
+                int length = end(r) - start(r) + 1;
+                if (j < length) {
+                    return start(r) + j;
+                }
+                j -= length;
+            }
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int r = 0; r < nRuns; r++) {
+                for (int x = start(r), e = end(r); x <= e; x++) {
+                    action.accept((high | x) ^ Integer.MIN_VALUE);
+                }
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+
+        @Override
+        Container copy() {
+            return new RunContainer(Arrays.copyOf(runs, Math.max(2 * nRuns, 2)), nRuns, cardinality);
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int r = 0; r < nRuns; r++) {
+                setRange(words, start(r), end(r) + 1);
+            }
+        }
+
+        @Override
+        void andNotInto(long[] words) {
+            for (int r = 0; r < nRuns; r++) {
+                clearRange(words, start(r), end(r) + 1);
+            }
+        }
+
+        static Container or(RunContainer a, RunContainer b) {
+            char[] result = new char[2 * (a.nRuns + b.nRuns)];
+            int n = 0;
+            int card = 0;
+            int i = 0;
+            int j = 0;
+            int curStart = -1;
+            int curEnd = -2;
+            while (i < a.nRuns || j < b.nRuns) {
+                int s;
+                int e;
+                if (j >= b.nRuns || (i < a.nRuns && a.start(i) <= b.start(j))) {
+                    s = a.start(i);
+                    e = a.end(i);
+                    i++;
+                } else {
+                    s = b.start(j);
+                    e = b.end(j);
+                    j++;
+                }
+                if (s <= curEnd + 1) {
+                    curEnd = Math.max(curEnd, e);
+                } else {
+                    if (curStart >= 0) {
+                        result[2 * n] = (char) curStart;
+                        result[2 * n + 1] = (char) (curEnd - curStart);
+                        card += curEnd - curStart + 1;
+                        n++;
+                    }
+                    curStart = s;
+                    curEnd = e;
+                }
+            }
+            if (curStart >= 0) {
+                result[2 * n] = (char) curStart;
+                result[2 * n + 1] = (char) (curEnd - curStart);
+                card += curEnd - curStart + 1;
+                n++;
+            }
+            return new RunContainer(result, n, card).optimize();
+        }
+
+        static Container and(RunContainer a, RunContainer b) {
+            char[] result = new char[Math.max(2 * (a.nRuns + b.nRuns), 2)];
+            int n = 0;
+            int card = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.nRuns && j < b.nRuns) {
+                int s = Math.max(a.start(i), b.start(j));
+                int e = Math.min(a.end(i), b.end(j));
+                if (s <= e) {
+                    result[2 * n] = (char) s;
+                    result[2 * n + 1] = (char) (e - s);
+                    card += e - s + 1;
+                    n++;
+                }
+                if (a.end(i) < b.end(j)) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return new RunContainer(result, n, card).optimize();
+        }
+
+        /** Converts to a smaller container when runs are not paying off. */
+        Container optimize() {
+            if (nRuns > MAX_RUNS) {
+                return new BitmapContainer(toWords(), cardinality);
+            }
+            if (cardinality <= MAX_ARRAY && nRuns * 4 + 2 >= cardinality * 2) {
+                return ArrayContainer.fromWords(toWords(), cardinality);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Walks a range of containers in ascending order; splits by halving the
+     * range. A partly consumed container stays with the prefix.
+     */
+    private static final class Chunks extends StoreSpliterator {
+
+        private final char[] keys;
+        private final Container[] containers;
+        private int index;
+        private final int fence;
+        /** Low 16 bits at which to resume in containers[index]. */
+        private int low;
+
+        Chunks(char[] keys, Container[] containers, int index, int fence, long estimate) {
+            super(SORTED_CHARACTERISTICS, estimate, true);
+            this.keys = keys;
+            this.containers = containers;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private Chunks(Chunks parent, int fence, long estimate) {
+            super(SORTED_CHARACTERISTICS, estimate, false);
+            this.keys = parent.keys;
+            this.containers = parent.containers;
+            this.index = parent.index;
+            this.fence = fence;
+            this.low = parent.low;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            while (index < fence) {
+                int x = containers[index].next(low);
+                if (x >= 0) {
+                    low = x + 1;
+                    advanced();
+                    action.accept(((keys[index] << 16) | x) ^ Integer.MIN_VALUE);
+                    return true;
+                }
+                index++;
+                low = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (index < fence && low > 0) {
+                Container c = containers[index];
+                int high = keys[index] << 16;
+                for (int x = c.next(low); x >= 0; x = c.next(x + 1)) {
+                    action.accept((high | x) ^ Integer.MIN_VALUE);
+                }
+                index++;
+                low = 0;
+            }
+            for (; index < fence; index++) {
+                containers[index].forEach(keys[index] << 16, action);
+            }
+            finished();
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int mid = (index + 1 + fence) >>> 1;
+            if (mid >= fence || mid <= index) {
+                return null;
+            }
+            Chunks prefix = new Chunks(this, mid, split());
+            index = mid;
+            low = 0;
+            return prefix;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.howard.edu.lsp.assignment6;
+
+/**
+ * The data-parallel inner loops of the set algebra: word-wise OR, AND and
+ * AND-NOT of bitmaps, bit counting, and the merge that intersects two
+ * sorted arrays of similar size.
+ *
+ * <p>This class is the scalar implementation. {@link #INSTANCE} is the
+ * {@code VectorSetKernels} subclass instead when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and that class is on the class
+ * path; {@code -Dorg.howard.edu.lsp.assignment6.vector=false} forces the
+ * scalar kernels. Both produce the same results. VectorSetKernels lives in
+ * the separate source root src-vector/, since compiling it needs the same
+ * flag; scripts/vector-kernels.sh builds both roots.</p>
+ *
+ * <p>The word kernels work on a[aFrom, aFrom + n) and b[bFrom, bFrom + n),
+ * write out[outFrom, outFrom + n) and return the number of bits set in what
+ * they wrote, so callers get the result's cardinality in the same pass.
+ * out may be a or b with the same offset.</p>
+ */
+class SetKernels {
+
+    /** System property that turns the vector kernels off when "false". */
+    static final String VECTOR_PROPERTY = "org.howard.edu.lsp.assignment6.vector";
+
+    /** The kernels in use: vectorized when available, else scalar. */
+    static final SetKernels INSTANCE = load();
+
+    SetKernels() {
+    }
+
+    private static SetKernels load() {
+        SetKernels vector = Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true")) ? vector() : null;
+        return vector != null ? vector : new SetKernels();
+    }
+
+    /**
+     * Creates the vector kernels, ignoring {@link #VECTOR_PROPERTY}.
+     * @return the VectorSetKernels, or null if the class was not compiled or
+     *         the JVM lacks the jdk.incubator.vector module
+     */
+    static SetKernels vector() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            return (SetKernels) Class.forName(SetKernels.class.getPackageName() + ".VectorSetKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a short name for the implementation, for benchmark output.
+     * @return "scalar" or the vector shape
+     */
+    String name() {
+        return "scalar";
+    }
+
+    int or(long[] a, int aFrom, long[] b, int bFrom, long[] out, int outFrom, int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            long word = a[aFrom + i] | b[bFrom + i];
+            out[outFrom + i] = word;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    int and(long[] a, int aFrom, long[] b, int bFrom, long[] out, int outFrom, int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            long word = a[aFrom + i] & b[bFrom + i];
+            out[outFrom + i] = word;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    int andNot(long[] a, int aFrom, long[] b, int bFrom, long[] out, int outFrom, int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            long word = a[aFrom + i] & ~b[bFrom + i];
+            out[outFrom + i] = word;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /** Returns the number of bits set in words[from, to). */
+    int bitCount(long[] words, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the values in both a[aFrom, aTo) and b[bFrom, bTo), ascending,
+     * to out starting at outFrom and returns how many were written. Both
+     * ranges must be sorted without duplicates. out may be a or b with the
+     * same start, as the write position never passes either read position.
+     */
+    int intersect(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] out, int outFrom) {
+        int n = outFrom;
+        int i = aFrom;
+        int j = bFrom;
+        while (i < aTo && j < bTo) {
+            int x = a[i];
+            int y = b[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                out[n++] = x;
+                i++;
+                j++;
+            }
+        }
+        return n - outFrom;
+    }
+}
@@ -0,0 +1,102 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH comparison of the scalar and Vector API {@link SetKernels}.
+ *
+ * <p>{@code words} is the bitmap length in 64-bit words: 1024 is one
+ * Roaring bitmap container, the others whole BitmapStores. {@code values}
+ * is the length of each sorted array; both are drawn from a range twice
+ * that length, so about half of each array is in the other. The forked JVM
+ * gets {@code --add-modules jdk.incubator.vector}; {@code kernels=vector}
+ * fails if the vector kernels still cannot be loaded, for instance when
+ * src-vector/ was left out of the build (see scripts/vector-kernels.sh).
+ * On AVX2 and AVX-512 hosts compare, for example:</p>
+ * <pre>
+ *   java -cp &lt;classes+jmh&gt; org.openjdk.jmh.Main SetKernelsBenchmark -p words=65536
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class SetKernelsBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    @Param({"1024", "65536", "1048576"})
+    public int words;
+
+    @Param({"1000", "1000000"})
+    public int values;
+
+    private SetKernels k;
+    private long[] a;
+    private long[] b;
+    private long[] out;
+    private int[] sortedA;
+    private int[] sortedB;
+    private int[] common;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (kernels.equals("scalar")) {
+            k = new SetKernels();
+        } else {
+            k = SetKernels.vector();
+            if (k == null) {
+                throw new IllegalStateException("vector kernels unavailable; is src-vector/ compiled?");
+            }
+        }
+        Random random = new Random(42);
+        a = random.longs(words).toArray();
+        b = random.longs(words).toArray();
+        out = new long[words];
+        sortedA = random.ints(0, 2 * values).distinct().limit(values).sorted().toArray();
+        sortedB = random.ints(0, 2 * values).distinct().limit(values).sorted().toArray();
+        common = new int[values];
+    }
+
+    @Benchmark
+    public int or() {
+        return k.or(a, 0, b, 0, out, 0, words);
+    }
+
+    @Benchmark
+    public int and() {
+        return k.and(a, 0, b, 0, out, 0, words);
+    }
+
+    @Benchmark
+    public int andNot() {
+        return k.andNot(a, 0, b, 0, out, 0, words);
+    }
+
+    @Benchmark
+    public int bitCount() {
+        return k.bitCount(a, 0, words);
+    }
+
+    @Benchmark
+    public int intersect() {
+        return k.intersect(sortedA, 0, values, sortedB, 0, values, common, 0);
+    }
+}
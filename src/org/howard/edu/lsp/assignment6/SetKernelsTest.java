@@ -0,0 +1,138 @@
+package org.howard.edu.lsp.assignment6;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit 5 test cases for SetKernels. The edge cases run against both
+ * implementations; the randomized ones compare the vector kernels with
+ * the scalar ones and are skipped unless src-vector/ is compiled and the
+ * JVM runs with {@code --add-modules jdk.incubator.vector}.
+ */
+public class SetKernelsTest {
+
+    private final SetKernels scalar = new SetKernels();
+    private final SetKernels vector = SetKernels.vector();
+
+    private List<SetKernels> implementations() {
+        List<SetKernels> implementations = new ArrayList<>();
+        implementations.add(scalar);
+        if (vector != null) {
+            implementations.add(vector);
+        }
+        return implementations;
+    }
+
+    private void assumeVector() {
+        assumeTrue(vector != null, "vector kernels unavailable");
+    }
+
+    // ---------------------------------------------------------------
+    // word kernels
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("or()/and()/andNot()/bitCount() - normal: vector matches scalar at every length and offset")
+    public void testWordKernels() {
+        assumeVector();
+        Random random = new Random(50);
+        for (int n = 0; n < 70; n++) {
+            long[] a = random.longs(n + 5).toArray();
+            long[] b = random.longs(n + 5).toArray();
+            int aFrom = random.nextInt(5);
+            int bFrom = random.nextInt(5);
+            for (int op = 0; op < 3; op++) {
+                long[] expected = new long[n + 3];
+                long[] actual = new long[n + 3];
+                int expectedCount = apply(scalar, op, a, aFrom, b, bFrom, expected, n);
+                int actualCount = apply(vector, op, a, aFrom, b, bFrom, actual, n);
+                assertArrayEquals(expected, actual, "op " + op + " n " + n);
+                assertEquals(expectedCount, actualCount, "op " + op + " n " + n);
+                assertEquals(expectedCount, vector.bitCount(actual, 3, n + 3), "bitCount n " + n);
+            }
+        }
+    }
+
+    private static int apply(SetKernels k, int op, long[] a, int aFrom, long[] b, int bFrom,
+            long[] out, int n) {
+        switch (op) {
+            case 0:
+                return k.or(a, aFrom, b, bFrom, out, 3, n);
+            case 1:
+                return k.and(a, aFrom, b, bFrom, out, 3, n);
+            default:
+                return k.andNot(a, aFrom, b, bFrom, out, 3, n);
+        }
+    }
+
+    @Test
+    @DisplayName("and() - edge: writing over an input in place")
+    public void testWordKernelsInPlace() {
+        for (SetKernels kernels : implementations()) {
+            long[] a = {-1L, 0xF0F0L, 7L, Long.MIN_VALUE, 1L, -1L, 3L, 12L, 9L};
+            long[] b = {0xFFL, 0xFFL, 5L, -1L, 0L, 1L, 2L, 4L, 8L};
+            long[] expected = new long[a.length];
+            int count = 0;
+            for (int i = 0; i < a.length; i++) {
+                expected[i] = a[i] & b[i];
+                count += Long.bitCount(expected[i]);
+            }
+            assertEquals(count, kernels.and(a, 0, b, 0, a, 0, a.length), kernels.name());
+            assertArrayEquals(expected, a, kernels.name());
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // sorted-array intersection
+    // ---------------------------------------------------------------
+
+    @Test
+    @DisplayName("intersect() - normal: vector matches the scalar merge for any overlap and length")
+    public void testIntersect() {
+        assumeVector();
+        Random random = new Random(51);
+        for (int round = 0; round < 500; round++) {
+            int range = 1 + random.nextInt(round % 5 == 0 ? 50 : 5_000);
+            int[] a = random.ints(random.nextInt(300), 0, range).sorted().distinct().toArray();
+            int[] b = random.ints(random.nextInt(300), 0, range).sorted().distinct().toArray();
+            int[] expected = new int[Math.min(a.length, b.length)];
+            int[] actual = new int[expected.length];
+            int n = scalar.intersect(a, 0, a.length, b, 0, b.length, expected, 0);
+            assertEquals(n, vector.intersect(a, 0, a.length, b, 0, b.length, actual, 0), "round " + round);
+            assertArrayEquals(expected, actual, "round " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("intersect() - edge: identical, disjoint and in-place inputs, extreme values")
+    public void testIntersectEdgeCases() {
+        int[] a = new int[100];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = Integer.MIN_VALUE + i * 43_000_000;
+        }
+        int[] odd = new int[64];
+        int[] even = new int[64];
+        for (int i = 0; i < 64; i++) {
+            odd[i] = 2 * i + 1;
+            even[i] = 2 * i;
+        }
+        for (SetKernels kernels : implementations()) {
+            int[] out = new int[a.length];
+            assertEquals(a.length, kernels.intersect(a, 0, a.length, a.clone(), 0, a.length, out, 0), kernels.name());
+            assertArrayEquals(a, out, kernels.name());
+            assertEquals(0, kernels.intersect(odd, 0, 64, even, 0, 64, out, 0), kernels.name());
+            int[] copy = a.clone();
+            int n = kernels.intersect(copy, 0, copy.length, Arrays.copyOfRange(a, 10, 90), 0, 80, copy, 0);
+            assertEquals(80, n, kernels.name());
+            assertArrayEquals(Arrays.copyOfRange(a, 10, 90), Arrays.copyOf(copy, n), kernels.name());
+        }
+    }
+}
@@ -0,0 +1,632 @@
+package org.howard.edu.lsp.assignment6;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Sorted {@code int[]} representation.
+ *
+ * <p>Elements are kept in ascending order with no duplicates, so min and max
+ * are O(1), contains is a binary search, toString and equals need no
+ * sorting, and the set operations are linear merges. When one operand is
+ * much smaller than the other, the merge walks the small one and gallops
+ * (exponential then binary search) through the large one, so the cost is
+ * O(small * log(large / small)) plus whatever the result has to copy.
+ * add and remove shift the tail of the array, so they are O(n).</p>
+ */
+class SortedArrayStore extends IntStore {
+
+    private static final int[] NO_VALUES = new int[0];
+
+    /** Size ratio above which merges gallop instead of stepping. */
+    static final int GALLOP_RATIO = 16;
+
+    /** Smallest number of elements worth a parallel segment of its own. */
+    private static final int MIN_VALUES_PER_SEGMENT = 4096;
+
+    /** Largest array the VM reliably allocates, so the most elements a store can hold. */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private int[] values;
+    private int size;
+
+    /** Creates an empty store. */
+    SortedArrayStore() {
+        this(NO_VALUES, 0);
+    }
+
+    private SortedArrayStore(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    @Override
+    boolean add(int value) {
+        int i = Arrays.binarySearch(values, 0, size, value);
+        if (i >= 0) {
+            return false;
+        }
+        i = -i - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(8, size * 2));
+        }
+        System.arraycopy(values, i, values, i + 1, size - i);
+        values[i] = value;
+        size++;
+        return true;
+    }
+
+    @Override
+    boolean remove(int value) {
+        int i = Arrays.binarySearch(values, 0, size, value);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        size--;
+        return true;
+    }
+
+    @Override
+    void clear() {
+        values = NO_VALUES;
+        size = 0;
+    }
+
+    @Override
+    int min() {
+        return values[0];
+    }
+
+    @Override
+    int max() {
+        return values[size - 1];
+    }
+
+    @Override
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    @Override
+    IntStore copy() {
+        return new SortedArrayStore(Arrays.copyOf(values, size), size);
+    }
+
+    @Override
+    IntStore empty() {
+        return new SortedArrayStore();
+    }
+
+    @Override
+    int[] toSortedArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(values, 0, size, SORTED_CHARACTERISTICS);
+    }
+
+    @Override
+    void addAll(int[] batch) {
+        int[] sorted = batch.clone();
+        Arrays.sort(sorted);
+        mergeIn(sorted, dedupe(sorted));
+    }
+
+    @Override
+    void addRange(int from, int to) {
+        long n = (long) to - from;
+        if (n > MAX_SIZE - size) {
+            throw new IllegalArgumentException("Range of " + n + " values does not fit in a sorted array holding "
+                    + size + " elements (at most " + MAX_SIZE + ")");
+        }
+        int[] range = new int[(int) n];
+        for (int i = 0; i < range.length; i++) {
+            range[i] = from + i;
+        }
+        mergeIn(range, range.length);
+    }
+
+    @Override
+    void removeAll(int[] batch) {
+        int[] sorted = batch.clone();
+        Arrays.sort(sorted);
+        size = diff(values, 0, size, sorted, 0, dedupe(sorted), values, 0);
+    }
+
+    @Override
+    void unionInPlace(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            super.unionInPlace(other);
+            return;
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        mergeIn(b.values, b.size);
+    }
+
+    /**
+     * Merges the sorted operands pairwise in rounds, as in a merge sort, so
+     * k operands take log k passes over the data rather than k. Operands of
+     * other representations are added afterwards.
+     */
+    @Override
+    void unionAll(IntStore[] operands) {
+        int[][] runs = new int[operands.length + 1][];
+        int[] lengths = new int[operands.length + 1];
+        runs[0] = values;
+        lengths[0] = size;
+        int k = 1;
+        for (IntStore operand : operands) {
+            if (operand instanceof SortedArrayStore) {
+                runs[k] = ((SortedArrayStore) operand).values;
+                lengths[k++] = operand.size();
+            }
+        }
+        while (k > 1) {
+            int m = 0;
+            for (int i = 0; i + 1 < k; i += 2) {
+                int[] out = new int[lengths[i] + lengths[i + 1]];
+                lengths[m] = union(runs[i], 0, lengths[i], runs[i + 1], 0, lengths[i + 1], out, 0);
+                runs[m++] = out;
+            }
+            if (k % 2 == 1) {
+                runs[m] = runs[k - 1];
+                lengths[m++] = lengths[k - 1];
+            }
+            k = m;
+        }
+        values = runs[0];
+        size = lengths[0];
+        for (IntStore operand : operands) {
+            if (!(operand instanceof SortedArrayStore)) {
+                super.unionInPlace(operand);
+            }
+        }
+    }
+
+    @Override
+    int intersectionSize(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.intersectionSize(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        return countCommon(values, size, b.values, b.size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    boolean intersects(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.intersects(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        if (size == 0 || b.size == 0 || values[size - 1] < b.values[0] || b.values[b.size - 1] < values[0]) {
+            return false;
+        }
+        return countCommon(values, size, b.values, b.size, 1) > 0;
+    }
+
+    /** Gallops through other for each element, stopping at the first one missing. */
+    @Override
+    boolean isSubsetOf(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.isSubsetOf(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        if (size > b.size) {
+            return false;
+        }
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            j = gallop(b.values, j, b.size, values[i]);
+            if (j == b.size || b.values[j] != values[i]) {
+                return false;
+            }
+            j++;
+        }
+        return true;
+    }
+
+    // The array is its own rank index: rank is a binary search, select a lookup.
+
+    @Override
+    int rank(int value) {
+        return lowerBound(values, size, value);
+    }
+
+    @Override
+    int select(int k) {
+        return values[k];
+    }
+
+    @Override
+    void forEachInRange(int lo, int hi, IntConsumer action) {
+        for (int i = lowerBound(values, size, lo); i < size && values[i] <= hi; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    // intersect and diff never write past the position they are reading
+    // from, so they can use this store's own array as the output.
+
+    @Override
+    void intersectInPlace(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            super.intersectInPlace(other);
+            return;
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        size = intersect(values, 0, size, b.values, 0, b.size, values, 0);
+    }
+
+    @Override
+    void diffInPlace(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            super.diffInPlace(other);
+            return;
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        size = diff(values, 0, size, b.values, 0, b.size, values, 0);
+    }
+
+    @Override
+    void removeMatching(IntPredicate filter) {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(values[i])) {
+                values[n++] = values[i];
+            }
+        }
+        size = n;
+    }
+
+    /** Removes repeats from a sorted array in place and returns the new length. */
+    private static int dedupe(int[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || sorted[n - 1] != sorted[i]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Merges the sorted, repeat-free b[0, bSize) into this store. The merge
+     * runs from the back of a buffer with room for both, so it never
+     * overwrites an element before reading it; values found in both leave
+     * a gap that is closed with one copy at the end.
+     */
+    private void mergeIn(int[] b, int bSize) {
+        if (bSize == 0) {
+            return;
+        }
+        int total = size + bSize;
+        if (values.length < total) {
+            values = Arrays.copyOf(values, total);
+        }
+        int i = size - 1;
+        int j = bSize - 1;
+        int k = total - 1;
+        while (j >= 0) {
+            if (i >= 0 && values[i] >= b[j]) {
+                if (values[i] == b[j]) {
+                    j--;
+                }
+                values[k--] = values[i--];
+            } else {
+                values[k--] = b[j--];
+            }
+        }
+        // values[0, i] is still in place; values[k + 1, total) holds the rest.
+        System.arraycopy(values, k + 1, values, i + 1, total - k - 1);
+        size = i + 1 + total - k - 1;
+    }
+
+    /**
+     * Returns the first index in [from, to) whose value is at least key, or
+     * {@code to}. Probes from, from+1, from+3, from+7, ... then binary
+     * searches the last gap, so the cost is logarithmic in the distance moved.
+     */
+    static int gallop(int[] a, int from, int to, int key) {
+        if (from >= to || a[from] >= key) {
+            return from;
+        }
+        int lo = from;
+        int step = 1;
+        int hi = from + step;
+        while (hi < to && a[hi] < key) {
+            lo = hi;
+            step <<= 1;
+            hi = from + step;
+        }
+        hi = Math.min(hi, to);
+        // a[lo] < key, and a[hi] >= key or hi == to.
+        lo++;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean unequal(int small, int large) {
+        return (long) small * GALLOP_RATIO < large;
+    }
+
+    @Override
+    IntStore union(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.union(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        int[] result = new int[size + b.size];
+        int n = union(values, 0, size, b.values, 0, b.size, result, 0);
+        return new SortedArrayStore(result, n);
+    }
+
+    @Override
+    IntStore intersect(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.intersect(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        int[] result = new int[Math.min(size, b.size)];
+        int n = intersect(values, 0, size, b.values, 0, b.size, result, 0);
+        return new SortedArrayStore(result, n);
+    }
+
+    @Override
+    IntStore diff(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.diff(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        int[] result = new int[size];
+        int n = diff(values, 0, size, b.values, 0, b.size, result, 0);
+        return new SortedArrayStore(result, n);
+    }
+
+    // The merges below work on a[aFrom, aTo) and b[bFrom, bTo), write to out
+    // starting at outFrom and return the number of values written, so the
+    // parallel path can run them on matching slices of both arrays.
+
+    static int union(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+            int[] out, int outFrom) {
+        if (aTo - aFrom > bTo - bFrom) {
+            return union(b, bFrom, bTo, a, aFrom, aTo, out, outFrom);
+        }
+        int n = outFrom;
+        int i = aFrom;
+        int j = bFrom;
+        if (unequal(aTo - aFrom, bTo - bFrom)) {
+            // Copy the blocks of the large array that fall between small elements.
+            for (; i < aTo; i++) {
+                int v = a[i];
+                int k = gallop(b, j, bTo, v);
+                System.arraycopy(b, j, out, n, k - j);
+                n += k - j;
+                out[n++] = v;
+                j = k < bTo && b[k] == v ? k + 1 : k;
+            }
+        } else {
+            while (i < aTo && j < bTo) {
+                int x = a[i];
+                int y = b[j];
+                if (x < y) {
+                    out[n++] = x;
+                    i++;
+                } else if (x > y) {
+                    out[n++] = y;
+                    j++;
+                } else {
+                    out[n++] = x;
+                    i++;
+                    j++;
+                }
+            }
+        }
+        System.arraycopy(a, i, out, n, aTo - i);
+        n += aTo - i;
+        System.arraycopy(b, j, out, n, bTo - j);
+        n += bTo - j;
+        return n - outFrom;
+    }
+
+    static int intersect(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+            int[] out, int outFrom) {
+        if (aTo - aFrom > bTo - bFrom) {
+            return intersect(b, bFrom, bTo, a, aFrom, aTo, out, outFrom);
+        }
+        int n = outFrom;
+        int i = aFrom;
+        int j = bFrom;
+        if (unequal(aTo - aFrom, bTo - bFrom)) {
+            for (; i < aTo && j < bTo; i++) {
+                int v = a[i];
+                j = gallop(b, j, bTo, v);
+                if (j < bTo && b[j] == v) {
+                    out[n++] = v;
+                    j++;
+                }
+            }
+            return n - outFrom;
+        }
+        return SetKernels.INSTANCE.intersect(a, aFrom, aTo, b, bFrom, bTo, out, outFrom);
+    }
+
+    /**
+     * Counts the values in both a[0, aSize) and b[0, bSize), stopping once
+     * the count reaches limit. Same merge as {@link #intersect}, without output.
+     */
+    private static int countCommon(int[] a, int aSize, int[] b, int bSize, int limit) {
+        if (aSize > bSize) {
+            return countCommon(b, bSize, a, aSize, limit);
+        }
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        if (unequal(aSize, bSize)) {
+            for (; i < aSize && j < bSize && count < limit; i++) {
+                j = gallop(b, j, bSize, a[i]);
+                if (j < bSize && b[j] == a[i]) {
+                    count++;
+                    j++;
+                }
+            }
+            return count;
+        }
+        while (i < aSize && j < bSize && count < limit) {
+            int x = a[i];
+            int y = b[j];
+            if (x <= y) {
+                i++;
+            }
+            if (x >= y) {
+                j++;
+            }
+            if (x == y) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int diff(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+            int[] out, int outFrom) {
+        int n = outFrom;
+        if (unequal(bTo - bFrom, aTo - aFrom)) {
+            // Few removals: copy the blocks of a between b's elements.
+            int i = aFrom;
+            for (int j = bFrom; j < bTo && i < aTo; j++) {
+                int k = gallop(a, i, aTo, b[j]);
+                System.arraycopy(a, i, out, n, k - i);
+                n += k - i;
+                i = k < aTo && a[k] == b[j] ? k + 1 : k;
+            }
+            System.arraycopy(a, i, out, n, aTo - i);
+            n += aTo - i;
+            return n - outFrom;
+        }
+        boolean gallopOther = unequal(aTo - aFrom, bTo - bFrom);
+        int j = bFrom;
+        for (int i = aFrom; i < aTo; i++) {
+            int v = a[i];
+            if (gallopOther) {
+                j = gallop(b, j, bTo, v);
+            } else {
+                while (j < bTo && b[j] < v) {
+                    j++;
+                }
+            }
+            if (j >= bTo || b[j] != v) {
+                out[n++] = v;
+            }
+        }
+        return n - outFrom;
+    }
+
+    @Override
+    IntStore complement(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.complement(other);
+        }
+        return other.diff(this);
+    }
+
+    @Override
+    boolean sameElements(IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.sameElements(other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        return Arrays.equals(values, 0, size, b.values, 0, b.size);
+    }
+
+    /**
+     * Splits the value space at evenly spaced elements of the larger array,
+     * so every segment merges matching slices of both arrays into its own
+     * buffer; the buffers are then concatenated in order.
+     */
+    @Override
+    IntStore parallel(Op op, IntStore other) {
+        if (!(other instanceof SortedArrayStore)) {
+            return super.parallel(op, other);
+        }
+        SortedArrayStore b = (SortedArrayStore) other;
+        if (op == Op.COMPLEMENT) {
+            return b.parallel(Op.DIFF, this);
+        }
+        SortedArrayStore large = size >= b.size ? this : b;
+        int segments = ParallelSupport.segments(size + b.size, MIN_VALUES_PER_SEGMENT);
+        // Segment k covers values in [pivot k, pivot k + 1); cut both arrays there.
+        int[] aCut = new int[segments + 1];
+        int[] bCut = new int[segments + 1];
+        aCut[segments] = size;
+        bCut[segments] = b.size;
+        for (int k = 1; k < segments; k++) {
+            int pivot = large.values[ParallelSupport.bound(large.size, segments, k)];
+            aCut[k] = lowerBound(values, size, pivot);
+            bCut[k] = lowerBound(b.values, b.size, pivot);
+        }
+        int[][] parts = new int[segments][];
+        int[] lengths = new int[segments];
+        ParallelSupport.forEach(segments, k -> {
+            int aFrom = aCut[k];
+            int aTo = aCut[k + 1];
+            int bFrom = bCut[k];
+            int bTo = bCut[k + 1];
+            switch (op) {
+                case UNION:
+                    parts[k] = new int[aTo - aFrom + bTo - bFrom];
+                    lengths[k] = union(values, aFrom, aTo, b.values, bFrom, bTo, parts[k], 0);
+                    break;
+                case INTERSECT:
+                    parts[k] = new int[Math.min(aTo - aFrom, bTo - bFrom)];
+                    lengths[k] = intersect(values, aFrom, aTo, b.values, bFrom, bTo, parts[k], 0);
+                    break;
+                default:
+                    parts[k] = new int[aTo - aFrom];
+                    lengths[k] = diff(values, aFrom, aTo, b.values, bFrom, bTo, parts[k], 0);
+                    break;
+            }
+        });
+        int total = 0;
+        for (int length : lengths) {
+            total += length;
+        }
+        int[] result = new int[total];
+        int n = 0;
+        for (int k = 0; k < segments; k++) {
+            System.arraycopy(parts[k], 0, result, n, lengths[k]);
+            n += lengths[k];
+        }
+        return new SortedArrayStore(result, n);
+    }
+
+    /** First index in a[0, n) whose value is at least key. */
+    private static int lowerBound(int[] a, int n, int key) {
+        int i = Arrays.binarySearch(a, 0, n, key);
+        return i >= 0 ? i : -i - 1;
+    }
+}